@@ -0,0 +1,143 @@
+package com.rxjava.alt.benchmarks;
+
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.schedulers.IOThreadScheduler;
+import com.rxjava.alt.schedulers.Scheduler;
+import com.rxjava.alt.schedulers.VirtualThreadScheduler;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Сравнение IOThreadScheduler и VirtualThreadScheduler на всплеске блокирующих вызовов:
+// subscriptions подписок одновременно выполняют блокирующий вызов длиной blockMillis.
+// Время одного прогона — это пропускная способность (чем меньше, тем больше подписок в секунду),
+// а вспомогательные счётчики показывают рост RSS и пиковое число платформенных потоков за итерацию.
+// Каждый Scheduler меряется в своём форке, поэтому значения разных Scheduler'ов не смешиваются.
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockingIoSchedulerBenchmark {
+
+    @Param({"io", "virtual"})
+    public String scheduler;
+
+    @Param({"10000"})
+    public int subscriptions;
+
+    @Param({"20"})
+    public int blockMillis;
+
+    private Scheduler target;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        target = "io".equals(scheduler) ? new IOThreadScheduler() : new VirtualThreadScheduler();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        target.shutdown();
+        target.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    // Показатели памяти и потоков. Пик потоков сбрасывается перед каждой итерацией, а пик RSS (VmHWM)
+    // сбросить нельзя, поэтому за итерацию считается прирост текущего RSS от её начала;
+    // VmHWM выводится отдельно как пик за всю жизнь форка, вместе с прогревом
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long rssGrowthKb;
+        public long lifetimePeakRssKb;
+        public long peakPlatformThreads;
+        private long startRssKb;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            ManagementFactory.getThreadMXBean().resetPeakThreadCount();
+            startRssKb = readStatusKb("VmRSS:");
+            rssGrowthKb = 0;
+            lifetimePeakRssKb = 0;
+            peakPlatformThreads = 0;
+        }
+
+        void record() {
+            rssGrowthKb = readStatusKb("VmRSS:") - startRssKb;
+            lifetimePeakRssKb = readStatusKb("VmHWM:");
+            peakPlatformThreads = ManagementFactory.getThreadMXBean().getPeakThreadCount();
+        }
+    }
+
+    @Benchmark
+    public void concurrentBlockingSubscriptions(Footprint footprint) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(subscriptions);
+        Observer<Integer> observer = new Observer<Integer>() {
+            @Override public void onNext(Integer item) {}
+            @Override public void onError(Throwable t) {
+                latch.countDown();
+            }
+            @Override public void onComplete() {
+                latch.countDown();
+            }
+        };
+
+        for (int i = 0; i < subscriptions; i++) {
+            int value = i;
+            Observable.<Integer>create(emitter -> {
+                        emitter.onNext(value);
+                        emitter.onComplete();
+                        return () -> {};
+                    })
+                    .observeOn(target)
+                    // Блокирующий вызов (запрос к БД, HTTP и т.п.) выполняется в потоке Scheduler'а
+                    .map(v -> {
+                        try {
+                            Thread.sleep(blockMillis);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return v;
+                    })
+                    .subscribe(observer);
+        }
+
+        latch.await();
+        footprint.record();
+    }
+
+    // Значение из /proc/self/status в килобайтах; -1, если ОС его не предоставляет
+    static long readStatusKb(String key) {
+        try {
+            List<String> lines = Files.readAllLines(Path.of("/proc/self/status"));
+            for (String line : lines) {
+                if (line.startsWith(key)) {
+                    return Long.parseLong(line.substring(key.length()).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | RuntimeException ignored) {
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,96 @@
+package com.rxjava.alt.benchmarks;
+
+import com.rxjava.alt.core.Flowable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.Subscriber;
+import com.rxjava.alt.core.Subscription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Синхронный flatMap с разным размером внутренних потоков (нс на выданный элемент).
+// Всего всегда ITEMS элементов: innerSize=1 — много коротких внутренних потоков (стоимость подписки),
+// innerSize=1000 — мало длинных (стоимость передачи элемента через очередь/быстрый путь).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlatMapFanOutBenchmark {
+    static final int ITEMS = 100_000;
+
+    @Param({"1", "10", "1000"})
+    public int innerSize;
+
+    private Observable<Integer> observable;
+    private Flowable<Integer> flowable;
+
+    @Setup
+    public void setUp() {
+        int outer = ITEMS / innerSize;
+        Observable<Integer> inner = Observable.create(emitter -> {
+            for (int i = 0; i < innerSize; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+            return () -> {};
+        });
+        observable = Observable.<Integer>create(emitter -> {
+            for (int i = 0; i < outer; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+            return () -> {};
+        }).flatMap(v -> inner);
+
+        Flowable<Integer> flowableInner = Flowable.range(0, innerSize);
+        flowable = Flowable.range(0, outer).flatMap(v -> flowableInner);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void observable(Blackhole bh) {
+        observable.subscribe(new Observer<Integer>() {
+            @Override public void onNext(Integer item) {
+                bh.consume(item);
+            }
+            @Override public void onError(Throwable t) {
+                bh.consume(t);
+            }
+            @Override public void onComplete() {
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void flowable(Blackhole bh) {
+        flowable.subscribe(new Subscriber<Integer>() {
+            @Override public void onSubscribe(Subscription s) {
+                s.request(Long.MAX_VALUE);
+            }
+            @Override public void onNext(Integer item) {
+                bh.consume(item);
+            }
+            @Override public void onError(Throwable t) {
+                bh.consume(t);
+            }
+            @Override public void onComplete() {
+            }
+        });
+    }
+}
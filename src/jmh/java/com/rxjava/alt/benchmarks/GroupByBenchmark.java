@@ -0,0 +1,88 @@
+package com.rxjava.alt.benchmarks;
+
+import com.rxjava.alt.core.GroupedObservable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Разведение потока по keys ключам: filters — по подписке с filter на каждый ключ (каждый элемент
+// проходит keys фильтров), groupBy — одна подписка и один поиск группы на элемент.
+// Время на элемент у filters растёт с keys линейно, у groupBy почти не зависит от keys
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GroupByBenchmark {
+    static final int ITEMS = 100_000;
+
+    @Param({"4", "16", "64"})
+    public int keys;
+
+    private Observable<Integer> source;
+
+    @Setup
+    public void setUp() {
+        source = Observable.create(emitter -> {
+            for (int i = 0; i < ITEMS; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+            return () -> {};
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void filters(Blackhole bh) {
+        Observer<Integer> sink = sink(bh);
+        for (int k = 0; k < keys; k++) {
+            int key = k;
+            source.filter(i -> i % keys == key).subscribe(sink);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void groupBy(Blackhole bh) {
+        Observer<Integer> sink = sink(bh);
+        source.groupBy(i -> i % keys).subscribe(new Observer<GroupedObservable<Integer, Integer>>() {
+            @Override public void onNext(GroupedObservable<Integer, Integer> group) {
+                group.subscribe(sink);
+            }
+            @Override public void onError(Throwable t) {
+                bh.consume(t);
+            }
+            @Override public void onComplete() {
+            }
+        });
+    }
+
+    private static Observer<Integer> sink(Blackhole bh) {
+        return new Observer<Integer>() {
+            @Override public void onNext(Integer item) {
+                bh.consume(item);
+            }
+            @Override public void onError(Throwable t) {
+                bh.consume(t);
+            }
+            @Override public void onComplete() {
+            }
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package com.rxjava.alt.benchmarks;
+
+import com.rxjava.alt.core.Flowable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.Subscriber;
+import com.rxjava.alt.core.Subscription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Стоимость одного элемента в длинной цепочке map/filter (нс на элемент).
+// fused=true — цепочка собрана обычными map/filter и сливается в одну стадию;
+// fused=false — каждая стадия отдельным Observable.create + subscribe, как было до слияния.
+// flowableRange — та же цепочка поверх Flowable.range с запросом Long.MAX_VALUE (от fused не зависит).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapFilterChainBenchmark {
+    static final int ITEMS = 100_000;
+
+    @Param({"1", "5", "10"})
+    public int stages;
+
+    @Param({"true", "false"})
+    public boolean fused;
+
+    private Observable<Integer> chain;
+    private Flowable<Integer> flowableChain;
+
+    @Setup
+    public void setUp() {
+        Observable<Integer> source = Observable.create(emitter -> {
+            for (int i = 0; i < ITEMS; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+            return () -> {};
+        });
+        Observable<Integer> c = source;
+        // Чередуем map и filter; filter пропускает всё, чтобы каждая стадия видела каждый элемент
+        for (int i = 0; i < stages; i++) {
+            if (i % 2 == 0) {
+                c = fused ? c.map(v -> v + 1) : unfusedMap(c, v -> v + 1);
+            } else {
+                c = fused ? c.filter(v -> v >= 0) : unfusedFilter(c, v -> v >= 0);
+            }
+        }
+        chain = c;
+
+        Flowable<Integer> f = Flowable.range(0, ITEMS);
+        for (int i = 0; i < stages; i++) {
+            f = i % 2 == 0 ? f.map(v -> v + 1) : f.filter(v -> v >= 0);
+        }
+        flowableChain = f;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void chain(Blackhole bh) {
+        chain.subscribe(new Observer<Integer>() {
+            @Override public void onNext(Integer item) {
+                bh.consume(item);
+            }
+            @Override public void onError(Throwable t) {
+                bh.consume(t);
+            }
+            @Override public void onComplete() {
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void flowableRange(Blackhole bh) {
+        flowableChain.subscribe(new Subscriber<Integer>() {
+            @Override public void onSubscribe(Subscription s) {
+                s.request(Long.MAX_VALUE);
+            }
+            @Override public void onNext(Integer item) {
+                bh.consume(item);
+            }
+            @Override public void onError(Throwable t) {
+                bh.consume(t);
+            }
+            @Override public void onComplete() {
+            }
+        });
+    }
+
+    // Стадия без слияния: своя подписка и своя safe-обёртка на каждый map
+    static <T, R> Observable<R> unfusedMap(Observable<T> source, Function<? super T, ? extends R> mapper) {
+        return Observable.create(obs -> source.subscribe(new Observer<T>() {
+            @Override public void onNext(T item) {
+                obs.onNext(mapper.apply(item));
+            }
+            @Override public void onError(Throwable t) {
+                obs.onError(t);
+            }
+            @Override public void onComplete() {
+                obs.onComplete();
+            }
+        }));
+    }
+
+    static <T> Observable<T> unfusedFilter(Observable<T> source, Predicate<? super T> predicate) {
+        return Observable.create(obs -> source.subscribe(new Observer<T>() {
+            @Override public void onNext(T item) {
+                if (predicate.test(item)) {
+                    obs.onNext(item);
+                }
+            }
+            @Override public void onError(Throwable t) {
+                obs.onError(t);
+            }
+            @Override public void onComplete() {
+                obs.onComplete();
+            }
+        }));
+    }
+}
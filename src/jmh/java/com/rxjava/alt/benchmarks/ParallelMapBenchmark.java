@@ -0,0 +1,98 @@
+package com.rxjava.alt.benchmarks;
+
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.schedulers.ComputationScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Тяжёлый по CPU map (нс на элемент): observeOn — вся работа на одном потоке ComputationScheduler,
+// parallel — та же работа, разложенная на rails рельс через parallel(rails).runOn(...).sequential().
+// При rails, не превышающем число ядер, время на элемент должно падать почти пропорционально rails.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelMapBenchmark {
+    static final int ITEMS = 10_000;
+
+    @Param({"1", "2", "4"})
+    public int rails;
+
+    // Условная «стоимость» обработки одного элемента в единицах Blackhole.consumeCPU
+    @Param({"1000"})
+    public int work;
+
+    private ComputationScheduler scheduler;
+    private Observable<Integer> source;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scheduler = new ComputationScheduler();
+        source = Observable.create(emitter -> {
+            for (int i = 0; i < ITEMS; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+            return () -> {};
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private Integer heavy(Integer v) {
+        Blackhole.consumeCPU(work);
+        return v;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void observeOn(Blackhole bh) throws InterruptedException {
+        await(source.observeOn(scheduler).map(this::heavy), bh);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void parallel(Blackhole bh) throws InterruptedException {
+        await(source.parallel(rails).runOn(scheduler).map(this::heavy).sequential(), bh);
+    }
+
+    private static void await(Observable<Integer> flow, Blackhole bh) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        flow.subscribe(new Observer<Integer>() {
+            @Override public void onNext(Integer item) {
+                bh.consume(item);
+            }
+            @Override public void onError(Throwable t) {
+                bh.consume(t);
+                done.countDown();
+            }
+            @Override public void onComplete() {
+                done.countDown();
+            }
+        });
+        done.await();
+    }
+}
@@ -0,0 +1,81 @@
+package com.rxjava.alt.benchmarks;
+
+import com.rxjava.alt.core.LongObservable;
+import com.rxjava.alt.core.LongObserver;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// range -> map -> filter -> sum по long: Observable<Long> против LongObservable (нс на элемент).
+// Выделения памяти на элемент видно с профилировщиком: -prof gc (gc.alloc.rate.norm).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrimitiveStreamBenchmark {
+    static final int ITEMS = 100_000;
+
+    private Observable<Long> boxed;
+    private LongObservable primitive;
+
+    @Setup
+    public void setUp() {
+        // Значения начинаются с 1000, чтобы не попадать в кэш Long.valueOf
+        boxed = Observable.<Long>create(emitter -> {
+            for (long i = 1000; i < 1000 + ITEMS; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+            return () -> {};
+        }).map(v -> v * 3).filter(v -> (v & 1) == 0);
+        primitive = LongObservable.range(1000, ITEMS).map(v -> v * 3).filter(v -> (v & 1) == 0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void boxed(Blackhole bh) {
+        boxed.subscribe(new Observer<Long>() {
+            private long sum;
+
+            @Override public void onNext(Long item) {
+                sum += item;
+            }
+            @Override public void onError(Throwable t) {
+                bh.consume(t);
+            }
+            @Override public void onComplete() {
+                bh.consume(sum);
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void primitive(Blackhole bh) {
+        primitive.sum().subscribe(new LongObserver() {
+            @Override public void onNext(long value) {
+                bh.consume(value);
+            }
+            @Override public void onError(Throwable t) {
+                bh.consume(t);
+            }
+            @Override public void onComplete() {
+            }
+        });
+    }
+}
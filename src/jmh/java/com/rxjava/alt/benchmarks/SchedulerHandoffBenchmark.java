@@ -0,0 +1,103 @@
+package com.rxjava.alt.benchmarks;
+
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.schedulers.ComputationScheduler;
+import com.rxjava.alt.schedulers.IOThreadScheduler;
+import com.rxjava.alt.schedulers.Scheduler;
+import com.rxjava.alt.schedulers.SingleThreadScheduler;
+import com.rxjava.alt.schedulers.VirtualThreadScheduler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Стоимость перехода в поток Scheduler'а для каждой реализации (мкс на операцию).
+// subscribeOn — задержка от subscribe до завершения в чужом потоке для потока из одного элемента;
+// observeOn — стоимость одного элемента при передаче пачки из BATCH элементов через очередь Worker'а.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchedulerHandoffBenchmark {
+    static final int BATCH = 1000;
+
+    @Param({"single", "computation", "io", "virtual"})
+    public String scheduler;
+
+    private Scheduler target;
+    private Observable<Integer> one;
+    private Observable<Integer> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        target = switch (scheduler) {
+            case "single" -> new SingleThreadScheduler();
+            case "computation" -> new ComputationScheduler();
+            case "io" -> new IOThreadScheduler();
+            default -> new VirtualThreadScheduler();
+        };
+        one = Observable.<Integer>create(emitter -> {
+            emitter.onNext(1);
+            emitter.onComplete();
+            return () -> {};
+        }).subscribeOn(target);
+        batch = Observable.<Integer>create(emitter -> {
+            for (int i = 0; i < BATCH; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+            return () -> {};
+        }).observeOn(target);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        target.shutdown();
+        target.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public void subscribeOn(Blackhole bh) throws InterruptedException {
+        await(one, bh);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void observeOn(Blackhole bh) throws InterruptedException {
+        await(batch, bh);
+    }
+
+    static void await(Observable<Integer> source, Blackhole bh) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        source.subscribe(new Observer<Integer>() {
+            @Override public void onNext(Integer item) {
+                bh.consume(item);
+            }
+            @Override public void onError(Throwable t) {
+                bh.consume(t);
+                latch.countDown();
+            }
+            @Override public void onComplete() {
+                latch.countDown();
+            }
+        });
+        latch.await();
+    }
+}
@@ -0,0 +1,96 @@
+package com.rxjava.alt.benchmarks;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Flowable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.Subscriber;
+import com.rxjava.alt.core.Subscription;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Накладные расходы подписки без элементов (нс на пару subscribe + dispose):
+// сколько стоит создать и сразу отменить подписку на источник и на короткую цепочку операторов.
+// Все источники ничего не выпускают, поэтому измеряется только сборка/разборка подписки.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SubscribeDisposeBenchmark {
+
+    private Observable<Integer> never;
+    private Observable<Integer> neverChain;
+    private Flowable<Integer> flowableNever;
+
+    @Setup
+    public void setUp() {
+        never = Observable.create(emitter -> () -> {});
+        neverChain = never.map(v -> v + 1).filter(v -> v > 0).flatMap(v -> never);
+        flowableNever = Flowable.create(s -> s.onSubscribe(new Subscription() {
+            @Override public void request(long n) {
+            }
+            @Override public void cancel() {
+            }
+        }));
+    }
+
+    @Benchmark
+    public void observable(Blackhole bh) {
+        Disposable d = never.subscribe(new NoopObserver(bh));
+        d.dispose();
+    }
+
+    @Benchmark
+    public void observableChain(Blackhole bh) {
+        Disposable d = neverChain.subscribe(new NoopObserver(bh));
+        d.dispose();
+    }
+
+    @Benchmark
+    public void flowable(Blackhole bh) {
+        flowableNever.map(v -> v + 1).subscribe(new Subscriber<Integer>() {
+            @Override public void onSubscribe(Subscription s) {
+                s.request(1);
+                s.cancel();
+            }
+            @Override public void onNext(Integer item) {
+                bh.consume(item);
+            }
+            @Override public void onError(Throwable t) {
+                bh.consume(t);
+            }
+            @Override public void onComplete() {
+            }
+        });
+    }
+
+    static final class NoopObserver implements Observer<Integer> {
+        private final Blackhole bh;
+
+        NoopObserver(Blackhole bh) {
+            this.bh = bh;
+        }
+
+        @Override public void onNext(Integer item) {
+            bh.consume(item);
+        }
+        @Override public void onError(Throwable t) {
+            bh.consume(t);
+        }
+        @Override public void onComplete() {
+        }
+    }
+}
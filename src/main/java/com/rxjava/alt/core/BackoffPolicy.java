@@ -0,0 +1,39 @@
+package com.rxjava.alt.core;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Политика повторов для retryWhen: по номеру попытки и ошибке решает, через сколько
+// переподписаться на источник. Попытки считаются подряд: элемент от источника сбрасывает счёт
+@FunctionalInterface
+public interface BackoffPolicy {
+
+    // Задержка перед повторной попыткой attempt (1 — первая) в наносекундах;
+    // отрицательное значение — больше не повторять и отдать error подписчику
+    long delayNanos(int attempt, Throwable error);
+
+    static BackoffPolicy exponential(Duration initial, Duration max, int maxAttempts) {
+        return exponential(initial, max, 2.0, 0.5, maxAttempts);
+    }
+
+    // initial * multiplier^(attempt-1), но не больше max. jitter из [0, 1] — доля задержки, на которую
+    // она случайно уменьшается: клиенты, упавшие одновременно, возвращаются вразнобой, а не разом
+    static BackoffPolicy exponential(Duration initial, Duration max, double multiplier, double jitter, int maxAttempts) {
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("multiplier >= 1 required but it was " + multiplier);
+        }
+        if (jitter < 0.0 || jitter > 1.0) {
+            throw new IllegalArgumentException("jitter in [0, 1] required but it was " + jitter);
+        }
+        long initialNanos = initial.toNanos();
+        long maxNanos = max.toNanos();
+        return (attempt, error) -> {
+            if (attempt > maxAttempts) {
+                return -1L;
+            }
+            double base = Math.min((double) maxNanos, initialNanos * Math.pow(multiplier, attempt - 1));
+            double factor = jitter == 0.0 ? 1.0 : 1.0 - jitter * ThreadLocalRandom.current().nextDouble();
+            return (long) (base * factor);
+        };
+    }
+}
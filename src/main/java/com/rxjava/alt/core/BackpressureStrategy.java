@@ -0,0 +1,14 @@
+package com.rxjava.alt.core;
+
+// Стратегия перехода из Observable (без обратного давления) во Flowable,
+// когда источник выпускает быстрее, чем подписчик запрашивает
+public enum BackpressureStrategy {
+    // Копим все элементы в неограниченной очереди до появления спроса
+    BUFFER,
+    // Отбрасываем элементы, на которые нет спроса
+    DROP,
+    // Храним только последний элемент и отдаём его при появлении спроса
+    LATEST,
+    // Сигнализируем MissingBackpressureException, если спроса нет
+    ERROR
+}
@@ -0,0 +1,135 @@
+package com.rxjava.alt.core;
+
+import com.rxjava.alt.internal.OpenHashSet;
+
+// Набор Disposable, отменяемых разом. Добавление и удаление — O(1) (множество с открытой адресацией),
+// поэтому завершившиеся дочерние подписки можно сразу убирать и набор не растёт бесконечно.
+// Флаг отмены volatile: проверки и добавление в уже отменённый набор обходятся без блокировки,
+// а сами дочерние Disposable отменяются вне блокировки.
+public final class CompositeDisposable implements Disposable {
+    // Защищено this; создаётся при первом добавлении
+    private OpenHashSet<Disposable> resources;
+    private volatile boolean disposed;
+
+    public CompositeDisposable() {
+    }
+
+    public CompositeDisposable(Disposable... disposables) {
+        resources = new OpenHashSet<>(disposables.length + 1, 0.75f);
+        for (Disposable d : disposables) {
+            resources.add(d);
+        }
+    }
+
+    // Если набор уже отменён, d сразу отменяется и возвращается false
+    public boolean add(Disposable d) {
+        if (!disposed) {
+            synchronized (this) {
+                if (!disposed) {
+                    OpenHashSet<Disposable> set = resources;
+                    if (set == null) {
+                        set = new OpenHashSet<>();
+                        resources = set;
+                    }
+                    set.add(d);
+                    return true;
+                }
+            }
+        }
+        d.dispose();
+        return false;
+    }
+
+    // Убирает d из набора и отменяет его
+    public boolean remove(Disposable d) {
+        if (delete(d)) {
+            d.dispose();
+            return true;
+        }
+        return false;
+    }
+
+    // Убирает d из набора, не отменяя — для дочерних подписок, которые завершились сами
+    public boolean delete(Disposable d) {
+        if (disposed) {
+            return false;
+        }
+        synchronized (this) {
+            if (disposed) {
+                return false;
+            }
+            OpenHashSet<Disposable> set = resources;
+            return set != null && set.remove(d);
+        }
+    }
+
+    // Отменяет все текущие элементы, но набор остаётся рабочим
+    public void clear() {
+        if (disposed) {
+            return;
+        }
+        OpenHashSet<Disposable> set;
+        synchronized (this) {
+            if (disposed) {
+                return;
+            }
+            set = resources;
+            resources = null;
+        }
+        dispose(set);
+    }
+
+    public int size() {
+        if (disposed) {
+            return 0;
+        }
+        synchronized (this) {
+            OpenHashSet<Disposable> set = resources;
+            return disposed || set == null ? 0 : set.size();
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        OpenHashSet<Disposable> set;
+        synchronized (this) {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            set = resources;
+            resources = null;
+        }
+        dispose(set);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    // Ошибка одного элемента не мешает отменить остальные; первая пробрасывается в конце
+    private static void dispose(OpenHashSet<Disposable> set) {
+        if (set == null) {
+            return;
+        }
+        RuntimeException error = null;
+        for (Object o : set.keys()) {
+            if (o instanceof Disposable d) {
+                try {
+                    d.dispose();
+                } catch (RuntimeException ex) {
+                    if (error == null) {
+                        error = ex;
+                    }
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+}
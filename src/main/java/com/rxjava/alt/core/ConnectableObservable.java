@@ -0,0 +1,32 @@
+package com.rxjava.alt.core;
+
+import com.rxjava.alt.operators.MulticastOperator;
+import java.util.function.Consumer;
+
+// Observable, который не подписывается на источник сам: подписчики только встают в очередь
+// раздачи, а единственная подписка на источник запускается вызовом connect().
+// Так один запуск источника обслуживает всех подписчиков (см. Observable.publish()/replay()).
+public abstract class ConnectableObservable<T> extends Observable<T> {
+
+    protected ConnectableObservable(OnSubscribe<T> onSubscribe) {
+        super(onSubscribe);
+    }
+
+    // Подключается к источнику, если ещё не подключён. dispose() у результата отключает
+    public abstract Disposable connect();
+
+    // То же, но подключение передаётся в onConnect до подписки на источник, а не после неё:
+    // так его можно отменить, даже если синхронный источник выдал бы всё прямо в connect().
+    // Реализация по умолчанию передаёт его после — наследникам стоит переопределить
+    public void connect(Consumer<? super Disposable> onConnect) {
+        onConnect.accept(connect());
+    }
+
+    // Забывает завершённое или отключённое подключение: новые подписчики будут ждать следующего connect()
+    public abstract void reset();
+
+    // Подключается при первом подписчике и отключается, когда отписался последний
+    public Observable<T> refCount() {
+        return MulticastOperator.refCount(this);
+    }
+}
@@ -0,0 +1,125 @@
+package com.rxjava.alt.core;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.operators.PrimitiveOperators;
+
+// Поток примитивных double. Устроен как Observable<T>, но значения от источника до подписчика
+// передаются как double: ни onNext, ни map/filter не упаковывают их в Double и не выделяют память на элемент.
+public class DoubleObservable {
+    private final OnSubscribe onSubscribe;
+
+    protected DoubleObservable(OnSubscribe onSubscribe) {
+        this.onSubscribe = onSubscribe;
+    }
+
+    public static DoubleObservable create(OnSubscribe onSubscribe) {
+        return new DoubleObservable(onSubscribe);
+    }
+
+    @FunctionalInterface
+    public interface OnSubscribe {
+        Disposable call(DoubleObserver observer);
+    }
+
+    public static DoubleObservable fromArray(double... values) {
+        return create(obs -> {
+            for (double v : values) {
+                obs.onNext(v);
+            }
+            obs.onComplete();
+            return () -> {};
+        });
+    }
+
+    public Disposable subscribe(DoubleObserver observer) {
+        SafeDoubleObserver safeObserver = new SafeDoubleObserver(observer);
+        safeObserver.setUpstream(onSubscribe.call(safeObserver));
+        return safeObserver;
+    }
+
+    // То же, что Observable.SafeObserver, но без упаковки значения
+    static final class SafeDoubleObserver extends AtomicReference<Disposable> implements DoubleObserver, Disposable {
+        private final DoubleObserver observer;
+        private volatile boolean unsubscribed;
+
+        SafeDoubleObserver(DoubleObserver observer) {
+            this.observer = observer;
+        }
+
+        void setUpstream(Disposable d) {
+            if (d != null && !compareAndSet(null, d)) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public void onNext(double value) {
+            if (!unsubscribed) {
+                try {
+                    observer.onNext(value);
+                } catch (Throwable t) {
+                    dispose();
+                    observer.onError(t);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!unsubscribed) {
+                observer.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!unsubscribed) {
+                observer.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            unsubscribed = true;
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return unsubscribed;
+        }
+    }
+
+    /** Операторы: каждая стадия — один DoubleObserver, значение между стадиями не упаковывается. */
+
+    public DoubleObservable map(DoubleUnaryOperator mapper) {
+        return PrimitiveOperators.map(this, mapper);
+    }
+
+    public DoubleObservable filter(DoublePredicate predicate) {
+        return PrimitiveOperators.filter(this, predicate);
+    }
+
+    // Сворачивает поток в одно значение; на пустом потоке выдаёт identity
+    public DoubleObservable reduce(double identity, DoubleBinaryOperator accumulator) {
+        return PrimitiveOperators.reduce(this, identity, accumulator);
+    }
+
+    public DoubleObservable sum() {
+        return reduce(0.0, Double::sum);
+    }
+
+    // Переход к обычному Observable: здесь значения упаковываются
+    public Observable<Double> boxed() {
+        return mapToObj(Double::valueOf);
+    }
+
+    public <R> Observable<R> mapToObj(DoubleFunction<? extends R> mapper) {
+        return PrimitiveOperators.mapToObj(this, mapper);
+    }
+}
@@ -0,0 +1,8 @@
+package com.rxjava.alt.core;
+
+// Слушатель потока примитивных double: значение приходит без упаковки в Double
+public interface DoubleObserver {
+    void onNext(double value);
+    void onError(Throwable t);
+    void onComplete();
+}
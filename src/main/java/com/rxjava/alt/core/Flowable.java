@@ -0,0 +1,284 @@
+package com.rxjava.alt.core;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import com.rxjava.alt.internal.BackpressureHelper;
+import com.rxjava.alt.operators.BackpressureOperator;
+import com.rxjava.alt.operators.FilterOperator;
+import com.rxjava.alt.operators.FlatMapOperator;
+import com.rxjava.alt.operators.FlowOperator;
+import com.rxjava.alt.operators.MapOperator;
+import com.rxjava.alt.operators.ObserveOnOperator;
+import com.rxjava.alt.schedulers.Scheduler;
+
+// Реактивный поток с обратным давлением: источник выпускает не больше элементов,
+// чем подписчик запросил через Subscription.request(n)
+public class Flowable<T> {
+    // Размер предвыборки по умолчанию для observeOn/flatMap
+    public static final int BUFFER_SIZE = 128;
+
+    // Функция, которая при подписке передаёт Subscriber его Subscription и запускает выпуск
+    private final OnSubscribe<T> onSubscribe;
+
+    protected Flowable(OnSubscribe<T> onSubscribe) {
+        this.onSubscribe = onSubscribe;
+    }
+
+    // Метод для создания Flowable. Источник обязан вызвать subscriber.onSubscribe(...)
+    // и выпускать не больше, чем запрошено
+    public static <T> Flowable<T> create(OnSubscribe<T> onSubscribe) {
+        return new Flowable<>(onSubscribe);
+    }
+
+    @FunctionalInterface
+    public interface OnSubscribe<T> {
+        void call(Subscriber<? super T> subscriber);
+    }
+
+    // Источник из Iterable: каждый элемент выдаётся только по запросу
+    public static <T> Flowable<T> fromIterable(Iterable<? extends T> items) {
+        return create(subscriber -> {
+            Iterator<? extends T> it;
+            try {
+                it = items.iterator();
+            } catch (Throwable t) {
+                subscriber.onSubscribe(EmptySubscription.INSTANCE);
+                subscriber.onError(t);
+                return;
+            }
+            subscriber.onSubscribe(new IteratorSubscription<>(subscriber, it));
+        });
+    }
+
+    // Flowable поверх Flow.Publisher: запросы request(n) уходят издателю без изменений
+    public static <T> Flowable<T> fromPublisher(Flow.Publisher<T> publisher) {
+        return FlowOperator.toFlowable(publisher);
+    }
+
+    // Источник целых чисел [start, start + count)
+    public static Flowable<Integer> range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        return fromIterable(() -> new Iterator<Integer>() {
+            private final long end = (long) start + count;
+            private long index = start;
+
+            @Override
+            public boolean hasNext() {
+                return index < end;
+            }
+
+            @Override
+            public Integer next() {
+                if (index >= end) {
+                    throw new NoSuchElementException();
+                }
+                return (int) index++;
+            }
+        });
+    }
+
+    // Подписка на Flowable
+    public void subscribe(Subscriber<? super T> subscriber) {
+        // Как и в Observable, оборачиваем подписчика: после cancel() события до него не доходят
+        onSubscribe.call(new SafeSubscriber<>(subscriber));
+    }
+
+    /** Ниже — операторы, которые возвращают новый Flowable,
+     обёрнутый над существующим. Все они соблюдают спрос подписчика. */
+
+    public <R> Flowable<R> map(Function<? super T, ? extends R> mapper) {
+        return MapOperator.map(this, mapper);
+    }
+
+    public Flowable<T> filter(Predicate<? super T> predicate) {
+        return FilterOperator.filter(this, predicate);
+    }
+
+    public <R> Flowable<R> flatMap(Function<? super T, ? extends Flowable<? extends R>> mapper) {
+        return flatMap(mapper, BUFFER_SIZE, BUFFER_SIZE);
+    }
+
+    // maxConcurrency — сколько внутренних потоков подписано одновременно,
+    // prefetch — сколько элементов запрашиваем у каждого внутреннего потока заранее
+    public <R> Flowable<R> flatMap(Function<? super T, ? extends Flowable<? extends R>> mapper,
+                                   int maxConcurrency, int prefetch) {
+        return FlatMapOperator.flatMap(this, mapper, maxConcurrency, prefetch);
+    }
+
+    // Запускает OnSubscribe.call в указанном Scheduler; запросы request(n) уходят напрямую к источнику
+    public Flowable<T> subscribeOn(Scheduler scheduler) {
+        return Flowable.create(subscriber -> scheduler.execute(() -> subscribe(subscriber)));
+    }
+
+    public Flowable<T> observeOn(Scheduler scheduler) {
+        return observeOn(scheduler, BUFFER_SIZE);
+    }
+
+    // Переключает доставку событий в scheduler. У источника запрашивается не больше prefetch
+    // элементов сверх уже доставленных, поэтому очередь между потоками ограничена
+    public Flowable<T> observeOn(Scheduler scheduler, int prefetch) {
+        return ObserveOnOperator.observeOn(this, scheduler, prefetch);
+    }
+
+    // Переход к Observable: запрашиваем всё сразу (Long.MAX_VALUE)
+    public Observable<T> toObservable() {
+        return BackpressureOperator.toObservable(this);
+    }
+
+    // Flow.Publisher с теми же правилами спроса; каждый Flow.Subscriber получает свою подписку на этот Flowable
+    public Flow.Publisher<T> toPublisher() {
+        return FlowOperator.toPublisher(this);
+    }
+
+    // Пустая подписка для источников, которые сразу завершаются или падают
+    enum EmptySubscription implements Subscription {
+        INSTANCE;
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+
+    // Выдаёт элементы итератора строго по запросу. Выпуск выполняет тот поток,
+    // чей request(n) перевёл счётчик спроса из нуля, — так нет рекурсии request -> onNext -> request.
+    // request(n <= 0) входит в выпуск как запрос одного элемента, а ошибку отдаёт тот, кто выпускает
+    static final class IteratorSubscription<T> implements Subscription {
+        private final Subscriber<? super T> subscriber;
+        private final Iterator<? extends T> iterator;
+        private final AtomicLong requested = new AtomicLong();
+        private volatile boolean cancelled;
+        private volatile Throwable badRequest;
+
+        IteratorSubscription(Subscriber<? super T> subscriber, Iterator<? extends T> iterator) {
+            this.subscriber = subscriber;
+            this.iterator = iterator;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0L) {
+                badRequest = new IllegalArgumentException("n > 0 required but it was " + n);
+                n = 1L;
+            }
+            if (BackpressureHelper.add(requested, n) == 0L) {
+                emit(n);
+            }
+        }
+
+        private void emit(long r) {
+            long e = 0L;
+            for (;;) {
+                while (e != r) {
+                    if (cancelled) {
+                        return;
+                    }
+                    Throwable bad = badRequest;
+                    if (bad != null) {
+                        cancelled = true;
+                        subscriber.onError(bad);
+                        return;
+                    }
+                    T item;
+                    try {
+                        if (!iterator.hasNext()) {
+                            subscriber.onComplete();
+                            return;
+                        }
+                        item = iterator.next();
+                    } catch (Throwable t) {
+                        subscriber.onError(t);
+                        return;
+                    }
+                    subscriber.onNext(item);
+                    e++;
+                }
+                if (cancelled) {
+                    return;
+                }
+                // Проверяем, закончился ли итератор, не дожидаясь следующего запроса
+                try {
+                    if (!iterator.hasNext()) {
+                        subscriber.onComplete();
+                        return;
+                    }
+                } catch (Throwable t) {
+                    subscriber.onError(t);
+                    return;
+                }
+                r = requested.get();
+                if (e == r) {
+                    r = requested.addAndGet(-e);
+                    if (r == 0L) {
+                        return;
+                    }
+                    e = 0L;
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    // Обёртка, которая прекращает доставку событий после cancel() или терминального сигнала
+    static final class SafeSubscriber<T> implements Subscriber<T>, Subscription {
+        private final Subscriber<? super T> actual;
+        private final AtomicBoolean done = new AtomicBoolean();
+        private Subscription upstream;
+
+        SafeSubscriber(Subscriber<? super T> actual) {
+            this.actual = actual;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            this.upstream = s;
+            actual.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!done.get()) {
+                actual.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done.compareAndSet(false, true)) {
+                actual.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (done.compareAndSet(false, true)) {
+                actual.onComplete();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            done.set(true);
+            upstream.cancel();
+        }
+    }
+}
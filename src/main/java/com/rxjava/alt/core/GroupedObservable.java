@@ -0,0 +1,20 @@
+package com.rxjava.alt.core;
+
+// Группа из groupBy: Observable значений с одним ключом. Допускает одного подписчика;
+// элементы, пришедшие до подписки, ждут в ограниченной очереди группы
+public class GroupedObservable<K, T> extends Observable<T> {
+    private final K key;
+
+    protected GroupedObservable(K key, OnSubscribe<T> onSubscribe) {
+        super(onSubscribe);
+        this.key = key;
+    }
+
+    public static <K, T> GroupedObservable<K, T> create(K key, OnSubscribe<T> onSubscribe) {
+        return new GroupedObservable<>(key, onSubscribe);
+    }
+
+    public K getKey() {
+        return key;
+    }
+}
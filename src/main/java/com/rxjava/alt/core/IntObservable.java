@@ -0,0 +1,140 @@
+package com.rxjava.alt.core;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.operators.PrimitiveOperators;
+
+// Поток примитивных int. Устроен как Observable<T>, но значения от источника до подписчика
+// передаются как int: ни onNext, ни map/filter не упаковывают их в Integer и не выделяют память на элемент.
+public class IntObservable {
+    private final OnSubscribe onSubscribe;
+
+    protected IntObservable(OnSubscribe onSubscribe) {
+        this.onSubscribe = onSubscribe;
+    }
+
+    public static IntObservable create(OnSubscribe onSubscribe) {
+        return new IntObservable(onSubscribe);
+    }
+
+    @FunctionalInterface
+    public interface OnSubscribe {
+        Disposable call(IntObserver observer);
+    }
+
+    // Последовательность start, start + 1, ..., start + count - 1
+    public static IntObservable range(int start, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        return create(obs -> {
+            int end = start + count;
+            for (int i = start; i != end; i++) {
+                obs.onNext(i);
+            }
+            obs.onComplete();
+            return () -> {};
+        });
+    }
+
+    public static IntObservable fromArray(int... values) {
+        return create(obs -> {
+            for (int v : values) {
+                obs.onNext(v);
+            }
+            obs.onComplete();
+            return () -> {};
+        });
+    }
+
+    public Disposable subscribe(IntObserver observer) {
+        SafeIntObserver safeObserver = new SafeIntObserver(observer);
+        safeObserver.setUpstream(onSubscribe.call(safeObserver));
+        return safeObserver;
+    }
+
+    // То же, что Observable.SafeObserver, но без упаковки значения
+    static final class SafeIntObserver extends AtomicReference<Disposable> implements IntObserver, Disposable {
+        private final IntObserver observer;
+        private volatile boolean unsubscribed;
+
+        SafeIntObserver(IntObserver observer) {
+            this.observer = observer;
+        }
+
+        void setUpstream(Disposable d) {
+            if (d != null && !compareAndSet(null, d)) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public void onNext(int value) {
+            if (!unsubscribed) {
+                try {
+                    observer.onNext(value);
+                } catch (Throwable t) {
+                    dispose();
+                    observer.onError(t);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!unsubscribed) {
+                observer.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!unsubscribed) {
+                observer.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            unsubscribed = true;
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return unsubscribed;
+        }
+    }
+
+    /** Операторы: каждая стадия — один IntObserver, значение между стадиями не упаковывается. */
+
+    public IntObservable map(IntUnaryOperator mapper) {
+        return PrimitiveOperators.map(this, mapper);
+    }
+
+    public IntObservable filter(IntPredicate predicate) {
+        return PrimitiveOperators.filter(this, predicate);
+    }
+
+    // Сворачивает поток в одно значение; на пустом потоке выдаёт identity
+    public IntObservable reduce(int identity, IntBinaryOperator accumulator) {
+        return PrimitiveOperators.reduce(this, identity, accumulator);
+    }
+
+    public IntObservable sum() {
+        return reduce(0, Integer::sum);
+    }
+
+    // Переход к обычному Observable: здесь значения упаковываются
+    public Observable<Integer> boxed() {
+        return mapToObj(Integer::valueOf);
+    }
+
+    public <R> Observable<R> mapToObj(IntFunction<? extends R> mapper) {
+        return PrimitiveOperators.mapToObj(this, mapper);
+    }
+}
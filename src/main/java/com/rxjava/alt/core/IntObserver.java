@@ -0,0 +1,8 @@
+package com.rxjava.alt.core;
+
+// Слушатель потока примитивных int: значение приходит без упаковки в Integer
+public interface IntObserver {
+    void onNext(int value);
+    void onError(Throwable t);
+    void onComplete();
+}
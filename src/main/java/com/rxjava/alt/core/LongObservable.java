@@ -0,0 +1,154 @@
+package com.rxjava.alt.core;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.operators.PrimitiveOperators;
+import com.rxjava.alt.operators.WindowedStatsOperator;
+import com.rxjava.alt.schedulers.Scheduler;
+
+// Поток примитивных long. Устроен как Observable<T>, но значения от источника до подписчика
+// передаются как long: ни onNext, ни map/filter не упаковывают их в Long и не выделяют память на элемент.
+public class LongObservable {
+    private final OnSubscribe onSubscribe;
+
+    protected LongObservable(OnSubscribe onSubscribe) {
+        this.onSubscribe = onSubscribe;
+    }
+
+    public static LongObservable create(OnSubscribe onSubscribe) {
+        return new LongObservable(onSubscribe);
+    }
+
+    @FunctionalInterface
+    public interface OnSubscribe {
+        Disposable call(LongObserver observer);
+    }
+
+    // Последовательность start, start + 1, ..., start + count - 1
+    public static LongObservable range(long start, long count) {
+        if (count < 0L) {
+            throw new IllegalArgumentException("count >= 0 required but it was " + count);
+        }
+        return create(obs -> {
+            long end = start + count;
+            for (long i = start; i != end; i++) {
+                obs.onNext(i);
+            }
+            obs.onComplete();
+            return () -> {};
+        });
+    }
+
+    public static LongObservable fromArray(long... values) {
+        return create(obs -> {
+            for (long v : values) {
+                obs.onNext(v);
+            }
+            obs.onComplete();
+            return () -> {};
+        });
+    }
+
+    public Disposable subscribe(LongObserver observer) {
+        SafeLongObserver safeObserver = new SafeLongObserver(observer);
+        safeObserver.setUpstream(onSubscribe.call(safeObserver));
+        return safeObserver;
+    }
+
+    // То же, что Observable.SafeObserver, но без упаковки значения
+    static final class SafeLongObserver extends AtomicReference<Disposable> implements LongObserver, Disposable {
+        private final LongObserver observer;
+        private volatile boolean unsubscribed;
+
+        SafeLongObserver(LongObserver observer) {
+            this.observer = observer;
+        }
+
+        void setUpstream(Disposable d) {
+            if (d != null && !compareAndSet(null, d)) {
+                d.dispose();
+            }
+        }
+
+        @Override
+        public void onNext(long value) {
+            if (!unsubscribed) {
+                try {
+                    observer.onNext(value);
+                } catch (Throwable t) {
+                    dispose();
+                    observer.onError(t);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!unsubscribed) {
+                observer.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!unsubscribed) {
+                observer.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            unsubscribed = true;
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return unsubscribed;
+        }
+    }
+
+    /** Операторы: каждая стадия — один LongObserver, значение между стадиями не упаковывается. */
+
+    public LongObservable map(LongUnaryOperator mapper) {
+        return PrimitiveOperators.map(this, mapper);
+    }
+
+    public LongObservable filter(LongPredicate predicate) {
+        return PrimitiveOperators.filter(this, predicate);
+    }
+
+    // Сворачивает поток в одно значение; на пустом потоке выдаёт identity
+    public LongObservable reduce(long identity, LongBinaryOperator accumulator) {
+        return PrimitiveOperators.reduce(this, identity, accumulator);
+    }
+
+    public LongObservable sum() {
+        return reduce(0L, Long::sum);
+    }
+
+    // Статистика (min/max/mean/p50/p99) по непересекающимся окнам длины window; окна отсчитывает Worker scheduler
+    public Observable<WindowStats> windowedStats(Duration window, Scheduler scheduler) {
+        return windowedStats(window, window, scheduler);
+    }
+
+    // Скользящее окно: раз в step — статистика за последние window (window кратно step)
+    public Observable<WindowStats> windowedStats(Duration window, Duration step, Scheduler scheduler) {
+        return WindowedStatsOperator.windowedStats(this, window.toNanos(), step.toNanos(), TimeUnit.NANOSECONDS, scheduler);
+    }
+
+    // Переход к обычному Observable: здесь значения упаковываются
+    public Observable<Long> boxed() {
+        return mapToObj(Long::valueOf);
+    }
+
+    public <R> Observable<R> mapToObj(LongFunction<? extends R> mapper) {
+        return PrimitiveOperators.mapToObj(this, mapper);
+    }
+}
@@ -0,0 +1,8 @@
+package com.rxjava.alt.core;
+
+// Слушатель потока примитивных long: значение приходит без упаковки в Long
+public interface LongObserver {
+    void onNext(long value);
+    void onError(Throwable t);
+    void onComplete();
+}
@@ -0,0 +1,12 @@
+package com.rxjava.alt.core;
+
+// Ошибка: источник выпустил элемент, который подписчик не запрашивал
+public class MissingBackpressureException extends RuntimeException {
+    public MissingBackpressureException() {
+        super("Could not emit value due to lack of requests");
+    }
+
+    public MissingBackpressureException(String message) {
+        super(message);
+    }
+}
@@ -1,21 +1,52 @@
 package com.rxjava.alt.core;
 
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.CountDownLatch;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import com.rxjava.alt.instrumentation.Instrumentation;
+import com.rxjava.alt.internal.DisposableHelper;
 import com.rxjava.alt.schedulers.Scheduler;
+import com.rxjava.alt.operators.AggregateOperator;
 import com.rxjava.alt.operators.MapOperator;
 import com.rxjava.alt.operators.FilterOperator;
 import com.rxjava.alt.operators.FlatMapOperator;
+import com.rxjava.alt.operators.ConcatMapOperator;
+import com.rxjava.alt.operators.SwitchMapOperator;
+import com.rxjava.alt.operators.BufferOperator;
+import com.rxjava.alt.operators.PrimitiveOperators;
+import com.rxjava.alt.operators.WindowOperator;
+import com.rxjava.alt.operators.GroupByOperator;
+import com.rxjava.alt.operators.BackpressureOperator;
+import com.rxjava.alt.operators.FlowOperator;
+import com.rxjava.alt.operators.ObserveOnOperator;
+import com.rxjava.alt.operators.MulticastOperator;
+import com.rxjava.alt.operators.ParallelOperator;
+import com.rxjava.alt.subjects.PublishSubject;
+import com.rxjava.alt.subjects.ReplaySubject;
+import com.rxjava.alt.operators.SubscribeOnOperator;
+import com.rxjava.alt.operators.ThrottleOperator;
+import com.rxjava.alt.operators.TimeoutOperator;
+import com.rxjava.alt.operators.RetryOperator;
 
 // Основной класс реактивного потока, который будем "слушать"
 public class Observable<T> {
     // Функция, которая при подписке запустит выпуск элементов
     private final OnSubscribe<T> onSubscribe;
 
-    private Observable(OnSubscribe<T> onSubscribe) {
+    // protected — чтобы операторы могли объявлять собственные подклассы Observable
+    // (например, слитые цепочки map/filter), которые распознаются при сборке следующего оператора
+    protected Observable(OnSubscribe<T> onSubscribe) {
         this.onSubscribe = onSubscribe;
     }
 
@@ -24,6 +55,16 @@ public class Observable<T> {
         return new Observable<>(onSubscribe);
     }
 
+    // Observable поверх Flow.Publisher: у издателя запрашивается Flowable.BUFFER_SIZE элементов,
+    // и спрос пополняется по мере выдачи, так что в пути их не больше этого числа
+    public static <T> Observable<T> fromPublisher(Flow.Publisher<T> publisher) {
+        return fromPublisher(publisher, Flowable.BUFFER_SIZE);
+    }
+
+    public static <T> Observable<T> fromPublisher(Flow.Publisher<T> publisher, int prefetch) {
+        return FlowOperator.toObservable(publisher, prefetch);
+    }
+
     // Интерфейс-обёртка для выпуска объектов
     // при вызове call() передаем Observer, через который вызываем onNext/onError/onComplete
     @FunctionalInterface
@@ -33,30 +74,77 @@ public class Observable<T> {
 
     // Подписка на Observable
     public Disposable subscribe(Observer<? super T> observer) {
-        // Создаём флаг отмены подписки, пока он false, мы будем передавать события observer
-        AtomicBoolean unsubscribed = new AtomicBoolean(false);
-
-        // Будем проверять флаг перед каждым вызовом, чтобы не вызывать методы после dispose()
-        Observer<T> safeObserver = wrapObserver(observer, unsubscribed);
+        // Будем проверять флаг отмены перед каждым вызовом, чтобы не вызывать методы после dispose().
+        // Этот же объект — Disposable для пользователя: он готов заранее, потому что Disposable источника
+        // появится только после возврата из call(), а отписаться могут и раньше
+        // Если инструментирование включено, подписчик оборачивается сборщиком метрик этой стадии
+        SafeObserver<T> safeObserver = new SafeObserver<>(Instrumentation.onSubscribe(onSubscribe, observer));
 
         // Запускаем выпуск из OnSubscribe, передавая ей safeObserver и вызывая onNext/onError/onComplete
-        Disposable upstream = onSubscribe.call(safeObserver);
-
-        // Возвращаем пользователю новый Disposable — он меняет флаг и говорит источнику остановиться
-        return new Disposable() {
-            @Override
-            public void dispose() {
-                // Помечаем отписку
-                unsubscribed.set(true);
-                // Передаём команду остановиться источнику
-                upstream.dispose();
+        safeObserver.setUpstream(onSubscribe.call(safeObserver));
+
+        // Возвращаем пользователю Disposable — он меняет флаг и говорит источнику остановиться
+        return safeObserver;
+    }
+
+    // Observer-обёртка, возвращаемая из subscribe() как Disposable. Сама является ссылкой на Disposable источника.
+    // Исключение из onNext подписчика (или слитой в него цепочки map/filter) не уходит в поток источника:
+    // подписка отменяется, и подписчик один раз получает его в onError. После этого сигналов больше нет
+    static final class SafeObserver<T> extends AtomicReference<Disposable> implements Observer<T>, Disposable {
+        private final Observer<? super T> observer;
+        // Флаг отмены подписки, пока он false, мы будем передавать события observer
+        private volatile boolean unsubscribed;
+
+        SafeObserver(Observer<? super T> observer) {
+            this.observer = observer;
+        }
+
+        void setUpstream(Disposable d) {
+            // Если за время call() уже отписались, сразу отменяем пришедший upstream
+            if (d != null && !compareAndSet(null, d)) {
+                d.dispose();
             }
-            @Override
-            public boolean isDisposed() {
-                // Смотрим, отписался ли уже пользователь
-                return unsubscribed.get();
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!unsubscribed) {
+                try {
+                    observer.onNext(item);
+                } catch (Throwable t) {
+                    dispose();
+                    observer.onError(t);
+                }
             }
-        };
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!unsubscribed) {
+                observer.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!unsubscribed) {
+                observer.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            // Помечаем отписку
+            unsubscribed = true;
+            // Передаём команду остановиться источнику
+            DisposableHelper.dispose(this);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            // Смотрим, отписался ли уже пользователь
+            return unsubscribed;
+        }
     }
 
 
@@ -74,109 +162,249 @@ public class Observable<T> {
         return FilterOperator.filter(this, predicate);
     }
 
+    // Переход к потокам примитивов: дальше по цепочке значения идут без упаковки
+    public IntObservable mapToInt(ToIntFunction<? super T> mapper) {
+        return PrimitiveOperators.mapToInt(this, mapper);
+    }
+
+    public LongObservable mapToLong(ToLongFunction<? super T> mapper) {
+        return PrimitiveOperators.mapToLong(this, mapper);
+    }
+
+    public DoubleObservable mapToDouble(ToDoubleFunction<? super T> mapper) {
+        return PrimitiveOperators.mapToDouble(this, mapper);
+    }
+
     // оператор flatMap преобразовывает каждый элемент потока T в новый поток (Observable) элементов типа R, а затем соединяет вложенные потоки в один общий
     public <R> Observable<R> flatMap(Function<? super T, ? extends Observable<? extends R>> mapper) {
         return FlatMapOperator.flatMap(this, mapper);
     }
 
-    // Оператор subscribeOn говорит, что OnSubscribe.call нужно запускать в указанном Scheduler (пуле потоков)
-    public Observable<T> subscribeOn(Scheduler scheduler) {
-        // Создаём новый Observable, чтобы не ломать исходный.
-        return Observable.create(observer -> {
-            AtomicBoolean unsubscribed = new AtomicBoolean(false);
-            AtomicReference<Disposable> ref = new AtomicReference<>();
-            /**
-            Пользователь, вызвав subscribeOn, ожидает сразу получить Disposable,
-             чтобы в любой момент отписаться. Но реальная подписка у нас запускается
-             асинхронно через scheduler.execute. Латч нужен, чтобы дождаться момента,
-             когда ref.set(...) отработал, и мы возвращаем уже корректный Disposable
-             с настоящим upstream внутри.
-             */
-            CountDownLatch latch = new CountDownLatch(1);
-
-            // Запускаем onSubscribe.call(...) в другом потоке.
-            scheduler.execute(() -> {
-                // В этом пуле потоков запускается наша логика выпуска.
-                ref.set(onSubscribe.call(wrapObserver(observer, unsubscribed)));
-                // Обозначаем, что upstream Disposable уже сохранили и мы можем сразу вернуть его пользователю.
-                latch.countDown();
-            });
-
-            // Ждём, пока ref заполнится, чтобы сразу вернуть корректный Disposable
-            try {
-                latch.await();
-            } catch (InterruptedException ignored) {
-            }
+    // flatMap с ограничением: одновременно подписано не больше maxConcurrency внутренних потоков,
+    // prefetch — размер чанка очереди каждого внутреннего потока
+    public <R> Observable<R> flatMap(Function<? super T, ? extends Observable<? extends R>> mapper,
+                                     int maxConcurrency, int prefetch) {
+        return FlatMapOperator.flatMap(this, mapper, maxConcurrency, prefetch);
+    }
 
-            // Возвращаем Disposable, который отменяет upstream и выставляет флаг
-            return new Disposable() {
-                @Override
-                public void dispose() {
-                    unsubscribed.set(true);
-                    ref.get().dispose();
-                }
+    // concatMap — упорядоченный вариант flatMap: внутренние потоки подписываются по одному,
+    // следующий — только после завершения предыдущего
+    public <R> Observable<R> concatMap(Function<? super T, ? extends Observable<? extends R>> mapper) {
+        return concatMap(mapper, Flowable.BUFFER_SIZE);
+    }
 
-                @Override
-                public boolean isDisposed() {
-                    return unsubscribed.get();
-                }
-            };
-        });
+    // Элементы source ждут текущий внутренний поток в неограниченной очереди;
+    // bufferSize — размер её чанка, а не предел
+    public <R> Observable<R> concatMap(Function<? super T, ? extends Observable<? extends R>> mapper, int bufferSize) {
+        return ConcatMapOperator.concatMap(this, mapper, bufferSize);
     }
 
-    // Оператор observeOn переключает поток, в котором будут вызваны onNext/onError/onComplete
-    public Observable<T> observeOn(Scheduler scheduler) {
-        // создаём новый Observable, но теперь оборачиваем передаваемый observer так,
-        // чтобы все onNext/onError/onComplete шли через scheduler.
-        return Observable.create(observer ->
-                subscribe(wrapObserverWithScheduler(observer, scheduler))
-        );
-    }
-
-    // Проверяем флаг unsubscribed перед каждым событием
-    private Observer<T> wrapObserver(Observer<? super T> observer, AtomicBoolean unsubscribed) {
-        return new Observer<T>() {
-            @Override
-            public void onNext(T item) {
-                if (!unsubscribed.get()) {
-                    observer.onNext(item);
-                }
-            }
+    // switchMap — на каждый новый элемент отменяет предыдущий внутренний поток и переключается на новый
+    public <R> Observable<R> switchMap(Function<? super T, ? extends Observable<? extends R>> mapper) {
+        return SwitchMapOperator.switchMap(this, mapper, Flowable.BUFFER_SIZE);
+    }
 
-            @Override
-            public void onError(Throwable t) {
-                if (!unsubscribed.get()) {
-                    observer.onError(t);
-                }
-            }
+    // reduce — сворачивает поток в одно значение и выдаёт его при завершении (пустой поток — без значения)
+    public Observable<T> reduce(BinaryOperator<T> reducer) {
+        return AggregateOperator.reduce(this, reducer);
+    }
 
-            @Override
-            public void onComplete() {
-                if (!unsubscribed.get()) {
-                    observer.onComplete();
-                }
-            }
-        };
+    // seed общий для всех подписок и должен быть неизменяемым; изменяемый контейнер — через collect
+    public <R> Observable<R> reduce(R seed, BiFunction<R, ? super T, R> reducer) {
+        return AggregateOperator.reduce(this, seed, reducer);
     }
 
-    // Переключаем контекст выполнения каждого метода через указанный Scheduler.
-    private Observer<T> wrapObserverWithScheduler(Observer<? super T> observer, Scheduler scheduler) {
-        return new Observer<T>() {
-            @Override
-            public void onNext(T item) {
-                // Вызов observer.onNext(item) внутри scheduler
-                scheduler.execute(() -> observer.onNext(item));
-            }
+    // scan — как reduce, но выдаёт каждое промежуточное значение
+    public Observable<T> scan(BinaryOperator<T> accumulator) {
+        return AggregateOperator.scan(this, accumulator);
+    }
 
-            @Override
-            public void onError(Throwable t) {
-                scheduler.execute(() -> observer.onError(t));
-            }
+    public <R> Observable<R> scan(R seed, BiFunction<R, ? super T, R> accumulator) {
+        return AggregateOperator.scan(this, seed, accumulator);
+    }
 
-            @Override
-            public void onComplete() {
-                scheduler.execute(observer::onComplete);
-            }
-        };
+    public Observable<Long> count() {
+        return AggregateOperator.count(this);
+    }
+
+    // collect — складывает элементы в контейнер, создаваемый supplier'ом на каждую подписку
+    public <R> Observable<R> collect(Supplier<? extends R> supplier, BiConsumer<? super R, ? super T> collector) {
+        return AggregateOperator.collect(this, supplier, collector);
+    }
+
+    // windowedStats — min/max/mean/p50/p99 значений value по окнам window (см. LongObservable.windowedStats);
+    // значения идут дальше без упаковки
+    public Observable<WindowStats> windowedStats(ToLongFunction<? super T> value, Duration window, Scheduler scheduler) {
+        return mapToLong(value).windowedStats(window, scheduler);
+    }
+
+    public Observable<WindowStats> windowedStats(ToLongFunction<? super T> value, Duration window, Duration step,
+                                                 Scheduler scheduler) {
+        return mapToLong(value).windowedStats(window, step, scheduler);
+    }
+
+    // buffer — собирает элементы в списки по count штук (последний список может быть короче)
+    public Observable<List<T>> buffer(int count) {
+        return BufferOperator.buffer(this, count);
+    }
+
+    // Списки по времени: раз в time выдаётся всё, что накопилось; таймер работает на Worker'е scheduler
+    public Observable<List<T>> buffer(long time, TimeUnit unit, Scheduler scheduler) {
+        return BufferOperator.buffer(this, time, unit, scheduler, 0);
+    }
+
+    // По времени или по количеству — что наступит раньше; после досрочной выдачи отсчёт времени начинается заново
+    public Observable<List<T>> buffer(long time, TimeUnit unit, Scheduler scheduler, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return BufferOperator.buffer(this, time, unit, scheduler, count);
+    }
+
+    // window — как buffer, но каждая пачка выдаётся сразу вложенным Observable (окно с одним подписчиком)
+    public Observable<Observable<T>> window(int count) {
+        return WindowOperator.window(this, count, Flowable.BUFFER_SIZE);
+    }
+
+    public Observable<Observable<T>> window(long time, TimeUnit unit, Scheduler scheduler) {
+        return WindowOperator.window(this, time, unit, scheduler, Flowable.BUFFER_SIZE);
+    }
+
+    // groupBy — разводит элементы по группам с одним ключом за одну подписку на источник.
+    // Каждая группа — GroupedObservable с одним подписчиком и очередью до Flowable.BUFFER_SIZE элементов
+    public <K> Observable<GroupedObservable<K, T>> groupBy(Function<? super T, ? extends K> keySelector) {
+        return groupBy(keySelector, v -> v);
+    }
+
+    public <K, V> Observable<GroupedObservable<K, V>> groupBy(Function<? super T, ? extends K> keySelector,
+                                                           Function<? super T, ? extends V> valueSelector) {
+        return GroupByOperator.groupBy(this, keySelector, valueSelector, Flowable.BUFFER_SIZE, 0L, TimeUnit.NANOSECONDS, null);
+    }
+
+    // Группа, в которую idleTtl не приходило элементов, завершается и забывается (проверка идёт на Worker'е scheduler);
+    // следующий элемент с её ключом откроет новую группу
+    public <K, V> Observable<GroupedObservable<K, V>> groupBy(Function<? super T, ? extends K> keySelector,
+                                                           Function<? super T, ? extends V> valueSelector,
+                                                           int bufferSize, long idleTtl, TimeUnit unit, Scheduler scheduler) {
+        if (idleTtl <= 0L) {
+            throw new IllegalArgumentException("idleTtl > 0 required but it was " + idleTtl);
+        }
+        return GroupByOperator.groupBy(this, keySelector, valueSelector, bufferSize, idleTtl, unit, scheduler);
+    }
+
+    // throttleFirst — выдаёт элемент и затем time отбрасывает все следующие
+    public Observable<T> throttleFirst(long time, TimeUnit unit) {
+        return ThrottleOperator.throttleFirst(this, time, unit);
+    }
+
+    // sample — раз в period выдаёт последний пришедший за период элемент
+    public Observable<T> sample(long period, TimeUnit unit, Scheduler scheduler) {
+        return ThrottleOperator.sample(this, period, unit, scheduler);
+    }
+
+    // То же, что sample
+    public Observable<T> throttleLast(long period, TimeUnit unit, Scheduler scheduler) {
+        return ThrottleOperator.sample(this, period, unit, scheduler);
+    }
+
+    // debounce — выдаёт элемент, только если после него источник молчал timeout
+    public Observable<T> debounce(long timeout, TimeUnit unit, Scheduler scheduler) {
+        return ThrottleOperator.debounce(this, timeout, unit, scheduler);
+    }
+
+    // timeout — TimeoutException, если источник молчит дольше time (до первого элемента или между элементами)
+    public Observable<T> timeout(long time, TimeUnit unit, Scheduler scheduler) {
+        return TimeoutOperator.timeout(this, time, unit, scheduler, null);
+    }
+
+    // По таймауту источник отменяется, и дальше подписчик получает элементы fallback
+    public Observable<T> timeout(long time, TimeUnit unit, Scheduler scheduler, Observable<? extends T> fallback) {
+        return TimeoutOperator.timeout(this, time, unit, scheduler, fallback);
+    }
+
+    // retry — после ошибки подписывается на источник заново, не больше times раз; затем ошибка уходит подписчику
+    public Observable<T> retry(long times) {
+        return RetryOperator.retry(this, times);
+    }
+
+    // retryWhen — повторная подписка после ошибки через задержку, которую назначает policy;
+    // ожидание — отложенная задача на scheduler
+    public Observable<T> retryWhen(BackoffPolicy policy, Scheduler scheduler) {
+        return RetryOperator.retryWhen(this, policy, scheduler);
+    }
+
+    // repeat — после завершения подписывается на источник заново; всего times подписок
+    public Observable<T> repeat(long times) {
+        return RetryOperator.repeat(this, times);
+    }
+
+    // publish — один запуск источника на всех подписчиков: подписка на результат лишь ставит
+    // в очередь раздачи, а источник запускается вызовом connect()
+    public ConnectableObservable<T> publish() {
+        return MulticastOperator.multicast(this, PublishSubject::create);
+    }
+
+    // То же, что publish(), но новые подписчики сначала получают до bufferSize последних элементов
+    public ConnectableObservable<T> replay(int bufferSize) {
+        return MulticastOperator.multicast(this, () -> ReplaySubject.createWithSize(bufferSize));
+    }
+
+    // cache — источник запускается один раз при первой подписке, а все элементы запоминаются
+    // и проигрываются каждому следующему подписчику
+    public Observable<T> cache() {
+        return MulticastOperator.cache(this, Integer.MAX_VALUE);
+    }
+
+    // Запоминаются только maxSize последних элементов — память ограничена даже для длинного источника
+    public Observable<T> cache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        return MulticastOperator.cache(this, maxSize);
+    }
+
+    // share = publish().refCount(): источник запускается при первом подписчике и останавливается после последнего
+    public Observable<T> share() {
+        return publish().refCount();
+    }
+
+    // parallel — разбивает поток на рельсы по числу ядер; вместе с runOn(scheduler) поэлементная
+    // работа (map/filter/reduce) идёт параллельно, а sequential()/sorted() собирают результат обратно
+    public ParallelObservable<T> parallel() {
+        return parallel(Runtime.getRuntime().availableProcessors());
+    }
+
+    // Элементы раздаются по parallelism рельсам по кругу
+    public ParallelObservable<T> parallel(int parallelism) {
+        return ParallelOperator.from(this, parallelism);
+    }
+
+    // Переход к Flowable с обратным давлением: strategy определяет, что делать с элементами,
+    // которые подписчик ещё не запросил (копить, отбрасывать, держать последний или падать)
+    public Flowable<T> toFlowable(BackpressureStrategy strategy) {
+        return BackpressureOperator.toFlowable(this, strategy);
+    }
+
+    // Flow.Publisher для JDK-компонентов (HttpClient, SubmissionPublisher); элементы сверх спроса
+    // Flow.Subscriber'а обрабатываются по strategy, как в toFlowable
+    public Flow.Publisher<T> toPublisher(BackpressureStrategy strategy) {
+        return FlowOperator.toPublisher(toFlowable(strategy));
+    }
+
+    // Оператор subscribeOn говорит, что OnSubscribe.call нужно запускать в указанном Scheduler (пуле потоков).
+    // subscribe() возвращается сразу: Disposable источника подставится в возвращённый Disposable, когда появится
+    public Observable<T> subscribeOn(Scheduler scheduler) {
+        return SubscribeOnOperator.subscribeOn(this, scheduler);
+    }
+
+    // Оператор observeOn переключает поток, в котором будут вызваны onNext/onError/onComplete
+    public Observable<T> observeOn(Scheduler scheduler) {
+        return observeOn(scheduler, Flowable.BUFFER_SIZE);
+    }
+
+    // События складываются в очередь подписки, а в scheduler уходит одна задача, которая выдаёт
+    // их по порядку пачками до bufferSize элементов — вместо отдельной задачи на каждый сигнал
+    public Observable<T> observeOn(Scheduler scheduler, int bufferSize) {
+        return ObserveOnOperator.observeOn(this, scheduler, bufferSize);
     }
 }
@@ -0,0 +1,69 @@
+package com.rxjava.alt.core;
+
+import com.rxjava.alt.io.ByteBufferPool;
+import com.rxjava.alt.io.FileSinks;
+import com.rxjava.alt.io.FileSources;
+import com.rxjava.alt.io.LineSplitter;
+import com.rxjava.alt.operators.Memoizer;
+import com.rxjava.alt.schedulers.Scheduler;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.Function;
+
+// Статические помощники, которые не относятся к одному конкретному Observable
+public final class Observables {
+
+    private Observables() {
+    }
+
+    // Кэширует результаты loader по ключу (LRU, не больше maxEntries записей, каждая живёт ttl).
+    // Одновременные подписчики на один ключ делят одну подписку на loader.apply(key)
+    public static <K, V> Memoizer<K, V> memoize(Function<? super K, ? extends Observable<V>> loader,
+                                                int maxEntries, Duration ttl) {
+        return memoize(loader, maxEntries, ttl, Memoizer.Eviction.LRU);
+    }
+
+    public static <K, V> Memoizer<K, V> memoize(Function<? super K, ? extends Observable<V>> loader,
+                                                int maxEntries, Duration ttl, Memoizer.Eviction eviction) {
+        return new Memoizer<>(loader, maxEntries, ttl, eviction);
+    }
+
+    // Куски файла по chunkSize байт как read-only срезы отображённой памяти; читаются на Schedulers.io()
+    public static Observable<ByteBuffer> fromMappedFile(Path path, int chunkSize) {
+        return FileSources.fromMappedFile(path, chunkSize);
+    }
+
+    public static Observable<ByteBuffer> fromMappedFile(Path path, int chunkSize, Scheduler scheduler) {
+        return FileSources.fromMappedFile(path, chunkSize, scheduler);
+    }
+
+    // Содержимое канала в переиспользуемом direct-буфере из пула: валидно только внутри onNext
+    public static Observable<ByteBuffer> fromChannel(ReadableByteChannel channel) {
+        return FileSources.fromChannel(channel);
+    }
+
+    public static Observable<ByteBuffer> fromChannel(ReadableByteChannel channel, ByteBufferPool pool, Scheduler scheduler) {
+        return FileSources.fromChannel(channel, pool, scheduler);
+    }
+
+    // Строки как окна поверх входных кусков, без String и без копирования
+    public static Observable<ByteBuffer> splitLines(Observable<ByteBuffer> chunks) {
+        return LineSplitter.lines(chunks);
+    }
+
+    // Пишет буферы в channel пачками на Worker'е scheduler; в очереди не больше maxInFlight буферов.
+    // Выдаёт число записанных байтов, когда записано всё
+    public static Observable<Long> write(Observable<ByteBuffer> buffers, WritableByteChannel channel,
+                                         int maxInFlight, Scheduler scheduler) {
+        return FileSinks.write(buffers, channel, maxInFlight, scheduler);
+    }
+
+    public static Observable<Long> write(Observable<ByteBuffer> buffers, AsynchronousFileChannel channel,
+                                         long position, int maxInFlight) {
+        return FileSinks.write(buffers, channel, position, maxInFlight);
+    }
+}
@@ -0,0 +1,88 @@
+package com.rxjava.alt.core;
+
+import com.rxjava.alt.operators.ParallelOperator;
+import com.rxjava.alt.schedulers.Scheduler;
+import java.util.Comparator;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Поток, разбитый на несколько независимых «рельс» (rails). Подписка принимает массив Observer'ов —
+// по одному на рельсу, и каждая рельса выдаёт свою часть элементов последовательно.
+// После runOn(scheduler) каждая рельса работает на своём Worker'е, поэтому map/filter/reduce
+// выполняются параллельно, а sequential()/sorted() собирают рельсы обратно в один Observable.
+public class ParallelObservable<T> {
+    private final int parallelism;
+    private final OnSubscribe<T> onSubscribe;
+
+    protected ParallelObservable(int parallelism, OnSubscribe<T> onSubscribe) {
+        this.parallelism = parallelism;
+        this.onSubscribe = onSubscribe;
+    }
+
+    public static <T> ParallelObservable<T> create(int parallelism, OnSubscribe<T> onSubscribe) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism > 0 required but it was " + parallelism);
+        }
+        return new ParallelObservable<>(parallelism, onSubscribe);
+    }
+
+    // Как Observable.OnSubscribe, но получает Observer'ы всех рельс сразу
+    @FunctionalInterface
+    public interface OnSubscribe<T> {
+        Disposable call(Observer<? super T>[] rails);
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    // Длина массива должна совпадать с parallelism()
+    public Disposable subscribe(Observer<? super T>[] rails) {
+        if (rails.length != parallelism) {
+            throw new IllegalArgumentException("parallelism " + parallelism + " expected but it was " + rails.length);
+        }
+        return onSubscribe.call(rails);
+    }
+
+    // Каждая рельса получает свой Worker: на ComputationScheduler это разные циклы событий (ядра)
+    public ParallelObservable<T> runOn(Scheduler scheduler) {
+        return runOn(scheduler, Flowable.BUFFER_SIZE);
+    }
+
+    // bufferSize — размер чанка очереди рельсы и пачки, после которой рельса уступает поток
+    public ParallelObservable<T> runOn(Scheduler scheduler, int bufferSize) {
+        return ParallelOperator.runOn(this, scheduler, bufferSize);
+    }
+
+    public <R> ParallelObservable<R> map(Function<? super T, ? extends R> mapper) {
+        return ParallelOperator.map(this, mapper);
+    }
+
+    public ParallelObservable<T> filter(Predicate<? super T> predicate) {
+        return ParallelOperator.filter(this, predicate);
+    }
+
+    // Свёртка внутри каждой рельсы: каждая выдаёт один результат, начиная со своего seed.get()
+    public <R> ParallelObservable<R> reduce(Supplier<R> seed, BiFunction<R, ? super T, R> reducer) {
+        return ParallelOperator.reduce(this, seed, reducer);
+    }
+
+    // Свёртка всего потока: рельсы сворачиваются параллельно, затем их результаты — reducer'ом между собой.
+    // Поэтому reducer должен быть ассоциативным; для пустого потока результат пустой
+    public Observable<T> reduce(BinaryOperator<T> reducer) {
+        return ParallelOperator.reduce(this, reducer);
+    }
+
+    // Сливает рельсы в один поток в порядке поступления элементов (исходный порядок не сохраняется)
+    public Observable<T> sequential() {
+        return ParallelOperator.sequential(this);
+    }
+
+    // Каждая рельса копит и сортирует свои элементы параллельно, затем отсортированные рельсы сливаются
+    public Observable<T> sorted(Comparator<? super T> comparator) {
+        return ParallelOperator.sorted(this, comparator);
+    }
+}
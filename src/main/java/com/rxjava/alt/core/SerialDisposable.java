@@ -0,0 +1,41 @@
+package com.rxjava.alt.core;
+
+import com.rxjava.alt.internal.DisposableHelper;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Ячейка для одного Disposable, который со временем заменяется другим (таймер, текущая попытка и т.п.).
+// Все операции — CAS без блокировок; после dispose() любой новый Disposable отменяется сразу.
+public final class SerialDisposable implements Disposable {
+    private final AtomicReference<Disposable> resource = new AtomicReference<>();
+
+    public SerialDisposable() {
+    }
+
+    public SerialDisposable(Disposable initial) {
+        resource.lazySet(initial);
+    }
+
+    // Ставит next и отменяет предыдущий
+    public boolean set(Disposable next) {
+        return DisposableHelper.set(resource, next);
+    }
+
+    // Ставит next, не отменяя предыдущий (например, когда тот уже завершился сам)
+    public boolean replace(Disposable next) {
+        return DisposableHelper.replace(resource, next);
+    }
+
+    public Disposable get() {
+        return resource.get();
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(resource);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return DisposableHelper.isDisposed(resource.get());
+    }
+}
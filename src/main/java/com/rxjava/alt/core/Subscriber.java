@@ -0,0 +1,10 @@
+package com.rxjava.alt.core;
+
+// Слушатель Flowable: в отличие от Observer сначала получает Subscription
+// и сам решает, сколько элементов готов принять через request(n)
+public interface Subscriber<T> {
+    void onSubscribe(Subscription s);
+    void onNext(T item);
+    void onError(Throwable t);
+    void onComplete();
+}
@@ -0,0 +1,10 @@
+package com.rxjava.alt.core;
+
+// Связь между Flowable и Subscriber: через неё подписчик запрашивает элементы и отменяет подписку
+public interface Subscription {
+    // Подписчик готов принять ещё n элементов (n > 0), запросы суммируются
+    void request(long n);
+
+    // Отмена подписки: источник должен прекратить выпуск и освободить ресурсы
+    void cancel();
+}
@@ -0,0 +1,52 @@
+package com.rxjava.alt.core;
+
+// Статистика значений за одно окно windowedStats. Перцентили взяты из лог-линейной гистограммы
+// (как LatencyHistogram), поэтому точны до 1/16 значения и не меньше истинного.
+// В пустом окне count == 0, а остальные поля — нули
+public final class WindowStats {
+    private final long count;
+    private final long min;
+    private final long max;
+    private final double mean;
+    private final long p50;
+    private final long p99;
+
+    public WindowStats(long count, long min, long max, double mean, long p50, long p99) {
+        this.count = count;
+        this.min = min;
+        this.max = max;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p99 = p99;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long min() {
+        return min;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public double mean() {
+        return mean;
+    }
+
+    public long p50() {
+        return p50;
+    }
+
+    public long p99() {
+        return p99;
+    }
+
+    @Override
+    public String toString() {
+        return "WindowStats{count=" + count + ", min=" + min + ", max=" + max + ", mean=" + mean
+                + ", p50=" + p50 + ", p99=" + p99 + '}';
+    }
+}
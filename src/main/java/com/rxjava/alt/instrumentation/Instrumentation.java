@@ -0,0 +1,64 @@
+package com.rxjava.alt.instrumentation;
+
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.schedulers.Scheduler;
+
+// Точка подключения инструментирования. По умолчанию выключено: в горячем пути остаётся одно чтение
+// volatile-поля на подписку или задачу Scheduler'а, а на элементы не тратится ничего.
+public final class Instrumentation {
+    private static volatile InstrumentationListener listener;
+
+    // Имена стадий вычисляются один раз на класс
+    private static final ClassValue<String> STAGE_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return stageName(type.getName());
+        }
+    };
+
+    private Instrumentation() {
+    }
+
+    public static void enable(InstrumentationListener l) {
+        if (l == null) {
+            throw new NullPointerException("listener is null");
+        }
+        listener = l;
+    }
+
+    // Уже созданные обёртки продолжают писать в свои метрики до конца своих подписок
+    public static void disable() {
+        listener = null;
+    }
+
+    public static boolean isEnabled() {
+        return listener != null;
+    }
+
+    // source — OnSubscribe подписываемого Observable; по его классу определяется имя стадии
+    public static <T> Observer<T> onSubscribe(Object source, Observer<T> observer) {
+        InstrumentationListener l = listener;
+        if (l == null) {
+            return observer;
+        }
+        return l.onSubscribe(STAGE_NAMES.get(source.getClass()), observer);
+    }
+
+    public static Runnable onSchedule(Scheduler scheduler, Runnable task) {
+        InstrumentationListener l = listener;
+        if (l == null) {
+            return task;
+        }
+        return l.onSchedule(scheduler.getClass().getSimpleName(), task);
+    }
+
+    // Лямбда внутри FlatMapOperator.flatMap имеет класс вида
+    // com.rxjava.alt.operators.FlatMapOperator$$Lambda/0x...: оставляем простое имя внешнего класса
+    static String stageName(String className) {
+        int lambda = className.indexOf("$$");
+        String name = lambda >= 0 ? className.substring(0, lambda) : className;
+        name = name.substring(name.lastIndexOf('.') + 1);
+        int nested = name.indexOf('$');
+        return nested > 0 ? name.substring(0, nested) : name;
+    }
+}
@@ -0,0 +1,17 @@
+package com.rxjava.alt.instrumentation;
+
+import com.rxjava.alt.core.Observer;
+
+// SPI инструментирования. Реализация подключается через Instrumentation.enable(...)
+// и получает управление в момент подписки и планирования задачи — но не на каждый элемент:
+// всё, что нужно мерить на элементах, она делает в возвращаемой обёртке.
+public interface InstrumentationListener {
+
+    // Вызывается из Observable.subscribe. stage — имя стадии (обычно класс оператора, создавшего Observable).
+    // Возвращает Observer, которого получит источник стадии: сам observer или обёртку над ним
+    <T> Observer<T> onSubscribe(String stage, Observer<T> observer);
+
+    // Вызывается из Scheduler.execute до постановки задачи в очередь.
+    // Возвращает задачу, которую Scheduler выполнит вместо task
+    Runnable onSchedule(String scheduler, Runnable task);
+}
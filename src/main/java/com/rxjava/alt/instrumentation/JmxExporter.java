@@ -0,0 +1,117 @@
+package com.rxjava.alt.instrumentation;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+// Публикует MetricsRegistry в JMX одним MBean'ом com.rxjava.alt:type=Metrics,name=<name>.
+// Набор атрибутов строится при каждом обращении, поэтому стадии и Scheduler'ы, появившиеся
+// после регистрации, сразу видны в jconsole/VisualVM. Атрибуты называются
+// stage.<стадия>.<метрика> и scheduler.<Scheduler>.<метрика>; время — в наносекундах.
+public final class JmxExporter implements DynamicMBean {
+    private final MetricsRegistry registry;
+
+    private JmxExporter(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    public static ObjectName register(MetricsRegistry registry, String name) throws JMException {
+        ObjectName objectName = new ObjectName("com.rxjava.alt:type=Metrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new JmxExporter(registry), objectName);
+        return objectName;
+    }
+
+    public static void unregister(ObjectName objectName) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        if (server.isRegistered(objectName)) {
+            server.unregisterMBean(objectName);
+        }
+    }
+
+    private Map<String, Supplier<Object>> attributes() {
+        Map<String, Supplier<Object>> a = new LinkedHashMap<>();
+        for (StageMetrics s : registry.stages()) {
+            String p = "stage." + s.name() + ".";
+            a.put(p + "subscriptions", s::subscriptions);
+            a.put(p + "items", s::items);
+            a.put(p + "itemsPerSecond", s::itemsPerSecond);
+            a.put(p + "errors", s::errors);
+            a.put(p + "onNextP50Nanos", () -> s.onNextLatency().percentile(50));
+            a.put(p + "onNextP99Nanos", () -> s.onNextLatency().percentile(99));
+            a.put(p + "onNextMaxNanos", () -> s.onNextLatency().max());
+        }
+        for (SchedulerMetrics s : registry.schedulers()) {
+            String p = "scheduler." + s.name() + ".";
+            a.put(p + "queueDepth", s::queueDepth);
+            a.put(p + "activeThreads", s::activeThreads);
+            a.put(p + "completed", s::completed);
+            a.put(p + "waitP50Nanos", () -> s.waitTime().percentile(50));
+            a.put(p + "waitP99Nanos", () -> s.waitTime().percentile(99));
+            a.put(p + "waitMaxNanos", () -> s.waitTime().max());
+        }
+        return a;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Supplier<Object> value = attributes().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException(attribute);
+        }
+        return value.get();
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] names) {
+        Map<String, Supplier<Object>> a = attributes();
+        AttributeList list = new AttributeList();
+        for (String name : names) {
+            Supplier<Object> value = a.get(name);
+            if (value != null) {
+                list.add(new Attribute(name, value.get()));
+            }
+        }
+        return list;
+    }
+
+    // Метрики только для чтения
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    // Операций у MBean'а нет — сообщаем так же, как JMX сообщает о неизвестном методе
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> infos = new ArrayList<>();
+        for (Map.Entry<String, Supplier<Object>> e : attributes().entrySet()) {
+            String type = e.getKey().endsWith("PerSecond") ? "double" : "long";
+            infos.add(new MBeanAttributeInfo(e.getKey(), type, e.getKey(), true, false, false));
+        }
+        return new MBeanInfo(JmxExporter.class.getName(), "RxJavaAlt metrics",
+                infos.toArray(new MBeanAttributeInfo[0]), null, null, null);
+    }
+}
@@ -0,0 +1,92 @@
+package com.rxjava.alt.instrumentation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Гистограмма задержек в стиле HdrHistogram: лог-линейные корзины фиксированного размера.
+// Значения до 32 хранятся точно, дальше каждая степень двойки делится на 16 корзин,
+// то есть относительная погрешность не больше 1/16. Весь диапазон long — 976 счётчиков.
+// record() ничего не выделяет и не берёт блокировок, поэтому годится для горячего пути.
+public final class LatencyHistogram {
+    private static final int SUB_BUCKETS = 16;
+    private static final int LINEAR = 2 * SUB_BUCKETS;
+    // Число корзин; раскладка корзин (index/highestValue) открыта для гистограмм без атомиков в операторах
+    public static final int BUCKETS = LINEAR + (63 - 4) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        if (value < 0L) {
+            value = 0L;
+        }
+        counts.incrementAndGet(index(value));
+        total.increment();
+        sum.add(value);
+        long m = max.get();
+        while (value > m && !max.compareAndSet(m, value)) {
+            m = max.get();
+        }
+    }
+
+    public static int index(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        // shift подбирается так, чтобы value >> shift попало в [16, 32)
+        int shift = 63 - Long.numberOfLeadingZeros(value) - 4;
+        return LINEAR + (shift - 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    // Верхняя граница корзины — так перцентиль не занижается
+    public static long highestValue(int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        int shift = (index - LINEAR) / SUB_BUCKETS + 1;
+        long mantissa = (index - LINEAR) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    public long max() {
+        return max.get();
+    }
+
+    public double mean() {
+        long n = total.sum();
+        return n == 0 ? 0.0 : (double) sum.sum() / n;
+    }
+
+    // percentile в диапазоне (0, 100]; 0, если записей нет
+    public long percentile(double percentile) {
+        long n = total.sum();
+        if (n == 0) {
+            return 0L;
+        }
+        long target = Math.max(1L, (long) Math.ceil(n * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestValue(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0L);
+        }
+        total.reset();
+        sum.reset();
+        max.set(0L);
+    }
+}
@@ -0,0 +1,155 @@
+package com.rxjava.alt.instrumentation;
+
+import com.rxjava.alt.core.Observer;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Реестр метрик в памяти и одновременно InstrumentationListener:
+// Instrumentation.enable(registry) — и метрики стадий и Scheduler'ов начинают копиться здесь.
+// Стадии с одинаковым именем (один и тот же оператор в разных цепочках) суммируются.
+// Скорость стадий замеряется раз в период на общем потоке-таймере, а не при чтении
+public final class MetricsRegistry implements InstrumentationListener {
+    private final ConcurrentHashMap<String, StageMetrics> stages = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, SchedulerMetrics> schedulers = new ConcurrentHashMap<>();
+
+    public MetricsRegistry() {
+        this(1, TimeUnit.SECONDS);
+    }
+
+    public MetricsRegistry(long samplePeriod, TimeUnit unit) {
+        if (samplePeriod <= 0L) {
+            throw new IllegalArgumentException("samplePeriod > 0 required but it was " + samplePeriod);
+        }
+        Sampler.start(this, unit.toNanos(samplePeriod));
+    }
+
+    @Override
+    public <T> Observer<T> onSubscribe(String stage, Observer<T> observer) {
+        StageMetrics m = stage(stage);
+        m.subscriptions.increment();
+        return new InstrumentedObserver<>(observer, m);
+    }
+
+    @Override
+    public Runnable onSchedule(String scheduler, Runnable task) {
+        SchedulerMetrics m = scheduler(scheduler);
+        m.submitted.increment();
+        long submittedAt = System.nanoTime();
+        return () -> {
+            m.recordStart(System.nanoTime() - submittedAt);
+            try {
+                task.run();
+            } finally {
+                m.completed.increment();
+            }
+        };
+    }
+
+    public StageMetrics stage(String name) {
+        return stages.computeIfAbsent(name, StageMetrics::new);
+    }
+
+    public SchedulerMetrics scheduler(String name) {
+        return schedulers.computeIfAbsent(name, SchedulerMetrics::new);
+    }
+
+    public Collection<StageMetrics> stages() {
+        return Collections.unmodifiableCollection(stages.values());
+    }
+
+    public Collection<SchedulerMetrics> schedulers() {
+        return Collections.unmodifiableCollection(schedulers.values());
+    }
+
+    public void clear() {
+        stages.clear();
+        schedulers.clear();
+    }
+
+    void sample() {
+        long now = System.nanoTime();
+        for (StageMetrics s : stages.values()) {
+            s.sample(now);
+        }
+    }
+
+    // Периодический замер. Таймер держит реестр по слабой ссылке: брошенный реестр
+    // собирается GC, и его задача снимается при следующем срабатывании
+    static final class Sampler implements Runnable {
+        // Поток-таймер один на все реестры и создаётся при первом из них
+        private static final ScheduledThreadPoolExecutor TIMER = create();
+
+        private final WeakReference<MetricsRegistry> registry;
+        private volatile ScheduledFuture<?> future;
+
+        private Sampler(MetricsRegistry registry) {
+            this.registry = new WeakReference<>(registry);
+        }
+
+        private static ScheduledThreadPoolExecutor create() {
+            ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread t = new Thread(r, "MetricsRegistry-sampler");
+                t.setDaemon(true);
+                return t;
+            });
+            timer.setRemoveOnCancelPolicy(true);
+            return timer;
+        }
+
+        static void start(MetricsRegistry registry, long periodNanos) {
+            Sampler sampler = new Sampler(registry);
+            sampler.future = TIMER.scheduleAtFixedRate(sampler, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void run() {
+            MetricsRegistry r = registry.get();
+            if (r != null) {
+                r.sample();
+                return;
+            }
+            ScheduledFuture<?> f = future;
+            if (f != null) {
+                f.cancel(false);
+            }
+        }
+    }
+
+    // Меряет время onNext подписчика; на элемент — два System.nanoTime() и запись в гистограмму
+    static final class InstrumentedObserver<T> implements Observer<T> {
+        private final Observer<T> actual;
+        private final StageMetrics metrics;
+
+        InstrumentedObserver(Observer<T> actual, StageMetrics metrics) {
+            this.actual = actual;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void onNext(T item) {
+            long start = System.nanoTime();
+            try {
+                actual.onNext(item);
+            } finally {
+                metrics.recordNext(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            metrics.errors.increment();
+            actual.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            metrics.completions.increment();
+            actual.onComplete();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.rxjava.alt.instrumentation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Телеметрия Scheduler'а, снятая с его задач: глубина очереди (отправлено, но не начато),
+// число потоков, занятых задачами прямо сейчас, и время ожидания задачи в очереди
+public final class SchedulerMetrics {
+    private final String name;
+    final LongAdder submitted = new LongAdder();
+    final LongAdder started = new LongAdder();
+    final LongAdder completed = new LongAdder();
+    private final LatencyHistogram waitTime = new LatencyHistogram();
+
+    SchedulerMetrics(String name) {
+        this.name = name;
+    }
+
+    void recordStart(long waitNanos) {
+        started.increment();
+        waitTime.record(waitNanos);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long submitted() {
+        return submitted.sum();
+    }
+
+    public long completed() {
+        return completed.sum();
+    }
+
+    // Счётчики читаются не атомарно вместе, поэтому под нагрузкой значение приблизительное
+    public long queueDepth() {
+        return Math.max(0L, submitted.sum() - started.sum());
+    }
+
+    public long activeThreads() {
+        return Math.max(0L, started.sum() - completed.sum());
+    }
+
+    public LatencyHistogram waitTime() {
+        return waitTime;
+    }
+}
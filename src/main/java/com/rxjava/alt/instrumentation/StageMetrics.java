@@ -0,0 +1,66 @@
+package com.rxjava.alt.instrumentation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Метрики одной стадии (оператора): сколько элементов она выдала и сколько времени
+// подписчик ниже по цепочке тратил на каждый onNext
+public final class StageMetrics {
+    private final String name;
+    final LongAdder subscriptions = new LongAdder();
+    final LongAdder items = new LongAdder();
+    final LongAdder errors = new LongAdder();
+    final LongAdder completions = new LongAdder();
+    private final LatencyHistogram onNextLatency = new LatencyHistogram();
+
+    // Предыдущий замер; меняет только поток-сэмплер реестра
+    private long lastSampleNanos = System.nanoTime();
+    private long lastSampleItems;
+    private volatile double itemsPerSecond;
+
+    StageMetrics(String name) {
+        this.name = name;
+    }
+
+    void recordNext(long latencyNanos) {
+        items.increment();
+        onNextLatency.record(latencyNanos);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public long subscriptions() {
+        return subscriptions.sum();
+    }
+
+    public long items() {
+        return items.sum();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+
+    public long completions() {
+        return completions.sum();
+    }
+
+    public LatencyHistogram onNextLatency() {
+        return onNextLatency;
+    }
+
+    // Скорость за последний период замера реестра (по умолчанию секунда); до первого замера — 0.
+    // Чтение ничего не сбрасывает, поэтому опрашивать метрику можно из любого числа мест
+    public double itemsPerSecond() {
+        return itemsPerSecond;
+    }
+
+    void sample(long now) {
+        long current = items.sum();
+        long elapsed = now - lastSampleNanos;
+        itemsPerSecond = elapsed <= 0 ? 0.0 : (current - lastSampleItems) * 1e9 / elapsed;
+        lastSampleNanos = now;
+        lastSampleItems = current;
+    }
+}
@@ -0,0 +1,48 @@
+package com.rxjava.alt.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Вспомогательные методы для учёта спроса request(n) без переполнения long.
+// Long.MAX_VALUE означает неограниченный спрос.
+public final class BackpressureHelper {
+
+    private BackpressureHelper() {
+    }
+
+    // Складывает два неотрицательных значения, ограничивая сумму Long.MAX_VALUE
+    public static long addCap(long a, long b) {
+        long r = a + b;
+        return r < 0L ? Long.MAX_VALUE : r;
+    }
+
+    // Атомарно добавляет n к счётчику спроса, возвращает предыдущее значение
+    public static long add(AtomicLong requested, long n) {
+        for (;;) {
+            long r = requested.get();
+            if (r == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            long u = addCap(r, n);
+            if (requested.compareAndSet(r, u)) {
+                return r;
+            }
+        }
+    }
+
+    // Атомарно вычитает n выпущенных элементов, неограниченный спрос не трогаем
+    public static long produced(AtomicLong requested, long n) {
+        for (;;) {
+            long current = requested.get();
+            if (current == Long.MAX_VALUE) {
+                return Long.MAX_VALUE;
+            }
+            long update = current - n;
+            if (update < 0L) {
+                update = 0L;
+            }
+            if (requested.compareAndSet(current, update)) {
+                return update;
+            }
+        }
+    }
+}
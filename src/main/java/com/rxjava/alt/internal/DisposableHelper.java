@@ -0,0 +1,87 @@
+package com.rxjava.alt.internal;
+
+import com.rxjava.alt.core.Disposable;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Операции над AtomicReference<Disposable>, который может получить upstream позже,
+// чем пользователь вызовет dispose(). Отменённое состояние помечается маркером DISPOSED.
+public final class DisposableHelper {
+
+    // Маркер «ссылка уже отменена»
+    public static final Disposable DISPOSED = new Disposable() {
+        @Override
+        public void dispose() {
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return true;
+        }
+    };
+
+    private DisposableHelper() {
+    }
+
+    public static boolean isDisposed(Disposable d) {
+        return d == DISPOSED;
+    }
+
+    // Записывает d, только если ссылка была пуста; если уже отменено — сразу отменяет d
+    public static boolean setOnce(AtomicReference<Disposable> ref, Disposable d) {
+        if (!ref.compareAndSet(null, d)) {
+            d.dispose();
+            return false;
+        }
+        return true;
+    }
+
+    // Заменяет текущее значение на d, отменяя предыдущее
+    public static boolean set(AtomicReference<Disposable> ref, Disposable d) {
+        for (;;) {
+            Disposable current = ref.get();
+            if (current == DISPOSED) {
+                if (d != null) {
+                    d.dispose();
+                }
+                return false;
+            }
+            if (ref.compareAndSet(current, d)) {
+                if (current != null) {
+                    current.dispose();
+                }
+                return true;
+            }
+        }
+    }
+
+    // Заменяет текущее значение на d без отмены предыдущего
+    public static boolean replace(AtomicReference<Disposable> ref, Disposable d) {
+        for (;;) {
+            Disposable current = ref.get();
+            if (current == DISPOSED) {
+                if (d != null) {
+                    d.dispose();
+                }
+                return false;
+            }
+            if (ref.compareAndSet(current, d)) {
+                return true;
+            }
+        }
+    }
+
+    // Переводит ссылку в состояние DISPOSED и отменяет то, что там лежало
+    public static boolean dispose(AtomicReference<Disposable> ref) {
+        Disposable current = ref.get();
+        if (current != DISPOSED) {
+            current = ref.getAndSet(DISPOSED);
+            if (current != DISPOSED) {
+                if (current != null) {
+                    current.dispose();
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,69 @@
+package com.rxjava.alt.internal;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// Неограниченная lock-free очередь «много писателей — один читатель» (алгоритм Вьюкова).
+// offer() — один getAndSet на хвосте, без CAS-циклов и блокировок, поэтому писатели
+// не толкаются друг с другом. poll() и isEmpty() вызывает только поток-читатель.
+public final class MpscLinkedQueue<T> {
+    // Хвост: последний добавленный узел, его меняют писатели
+    private final AtomicReference<Node<T>> producerNode;
+    // Голова: узел-заглушка перед первым элементом, её двигает только читатель
+    private Node<T> consumerNode;
+
+    public MpscLinkedQueue() {
+        Node<T> stub = new Node<>(null);
+        this.consumerNode = stub;
+        this.producerNode = new AtomicReference<>(stub);
+    }
+
+    public boolean offer(T value) {
+        if (value == null) {
+            throw new NullPointerException("Null values are not allowed");
+        }
+        Node<T> node = new Node<>(value);
+        Node<T> prev = producerNode.getAndSet(node);
+        // Между getAndSet и этой записью читатель может увидеть «разрыв» — poll() его дождётся
+        prev.lazySet(node);
+        return true;
+    }
+
+    public T poll() {
+        Node<T> current = consumerNode;
+        Node<T> next = current.get();
+        if (next == null) {
+            if (current == producerNode.get()) {
+                return null;
+            }
+            // Писатель уже сдвинул хвост, но ещё не связал узлы — ждём связывания
+            while ((next = current.get()) == null) {
+                Thread.onSpinWait();
+            }
+        }
+        T value = next.value;
+        next.value = null;
+        consumerNode = next;
+        // Разрываем ссылку с прочитанного узла, чтобы не удерживать цепочку в памяти
+        current.lazySet(current);
+        return value;
+    }
+
+    public boolean isEmpty() {
+        return consumerNode == producerNode.get();
+    }
+
+    public void clear() {
+        while (poll() != null) {
+            // просто вычерпываем
+        }
+    }
+
+    // Узел сам является ссылкой на следующий узел
+    static final class Node<T> extends AtomicReference<Node<T>> {
+        T value;
+
+        Node(T value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.rxjava.alt.internal;
+
+import java.util.Arrays;
+
+// Множество с открытой адресацией (линейное пробирование) без объектов-узлов на каждый элемент:
+// добавление и удаление — O(1) в среднем и без выделения памяти, пока таблицу не нужно расширять.
+// Удаление сдвигает следующие элементы цепочки назад, поэтому маркеры «удалено» не копятся.
+// Не потокобезопасно — снаружи нужна блокировка (см. CompositeDisposable).
+public final class OpenHashSet<T> {
+    private static final int INT_PHI = 0x9E3779B9;
+
+    private final float loadFactor;
+    private int mask;
+    private int size;
+    private int maxSize;
+    private T[] keys;
+
+    public OpenHashSet() {
+        this(16, 0.75f);
+    }
+
+    @SuppressWarnings("unchecked")
+    public OpenHashSet(int capacity, float loadFactor) {
+        this.loadFactor = loadFactor;
+        int c = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.mask = c - 1;
+        this.maxSize = (int) (loadFactor * c);
+        this.keys = (T[]) new Object[c];
+    }
+
+    public boolean add(T value) {
+        T[] a = keys;
+        int m = mask;
+        int pos = mix(value.hashCode()) & m;
+        T curr = a[pos];
+        while (curr != null) {
+            if (curr.equals(value)) {
+                return false;
+            }
+            pos = (pos + 1) & m;
+            curr = a[pos];
+        }
+        a[pos] = value;
+        if (++size >= maxSize) {
+            rehash();
+        }
+        return true;
+    }
+
+    public boolean remove(T value) {
+        T[] a = keys;
+        int m = mask;
+        int pos = mix(value.hashCode()) & m;
+        T curr = a[pos];
+        while (curr != null) {
+            if (curr.equals(value)) {
+                removeEntry(pos, a, m);
+                return true;
+            }
+            pos = (pos + 1) & m;
+            curr = a[pos];
+        }
+        return false;
+    }
+
+    // Освободившуюся ячейку занимает следующий элемент цепочки, если его «родная» позиция
+    // не лежит между освободившейся ячейкой и его текущим местом
+    private void removeEntry(int pos, T[] a, int m) {
+        size--;
+        for (;;) {
+            int last = pos;
+            pos = (pos + 1) & m;
+            T curr;
+            for (;;) {
+                curr = a[pos];
+                if (curr == null) {
+                    a[last] = null;
+                    return;
+                }
+                int slot = mix(curr.hashCode()) & m;
+                if (last <= pos ? (last >= slot || slot > pos) : (last >= slot && slot > pos)) {
+                    break;
+                }
+                pos = (pos + 1) & m;
+            }
+            a[last] = curr;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rehash() {
+        T[] a = keys;
+        int n = a.length << 1;
+        int m = n - 1;
+        T[] b = (T[]) new Object[n];
+        for (T value : a) {
+            if (value != null) {
+                int pos = mix(value.hashCode()) & m;
+                while (b[pos] != null) {
+                    pos = (pos + 1) & m;
+                }
+                b[pos] = value;
+            }
+        }
+        this.mask = m;
+        this.maxSize = (int) (n * loadFactor);
+        this.keys = b;
+    }
+
+    static int mix(int x) {
+        int h = x * INT_PHI;
+        return h ^ (h >>> 16);
+    }
+
+    // Сама таблица: элементы вперемешку с пустыми (null) ячейками
+    public Object[] keys() {
+        return keys;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+}
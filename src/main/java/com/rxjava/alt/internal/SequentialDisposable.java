@@ -0,0 +1,37 @@
+package com.rxjava.alt.internal;
+
+import com.rxjava.alt.core.Disposable;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Внутренний вариант SerialDisposable для цепочек, где следующий шаг начинается после завершения
+// предыдущего (очередной запуск периодической задачи, следующий внутренний поток concatMap).
+// Сам является AtomicReference — на каждую такую цепочку на один объект меньше.
+public final class SequentialDisposable extends AtomicReference<Disposable> implements Disposable {
+
+    public SequentialDisposable() {
+    }
+
+    public SequentialDisposable(Disposable initial) {
+        lazySet(initial);
+    }
+
+    // Ставит next и отменяет предыдущий
+    public boolean update(Disposable next) {
+        return DisposableHelper.set(this, next);
+    }
+
+    // Ставит next, не отменяя предыдущий
+    public boolean replace(Disposable next) {
+        return DisposableHelper.replace(this, next);
+    }
+
+    @Override
+    public void dispose() {
+        DisposableHelper.dispose(this);
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return DisposableHelper.isDisposed(get());
+    }
+}
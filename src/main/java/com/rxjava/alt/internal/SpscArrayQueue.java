@@ -0,0 +1,68 @@
+package com.rxjava.alt.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Ограниченная очередь «один писатель — один читатель» на кольцевом массиве.
+// Емкость округляется вверх до степени двойки, чтобы индекс считался маской, а не делением.
+// offer() вызывает только поток-производитель, poll()/clear() — только поток-потребитель.
+public final class SpscArrayQueue<T> {
+    private final AtomicReferenceArray<T> buffer;
+    private final int mask;
+    // Индексы пишутся через lazySet: второй стороне достаточно увидеть их «когда-нибудь»,
+    // а сам элемент публикуется раньше индекса
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    public SpscArrayQueue(int capacity) {
+        int c = roundToPowerOfTwo(Math.max(1, capacity));
+        this.buffer = new AtomicReferenceArray<>(c);
+        this.mask = c - 1;
+    }
+
+    static int roundToPowerOfTwo(int value) {
+        return 1 << (32 - Integer.numberOfLeadingZeros(value - 1));
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+
+    // Возвращает false, если очередь заполнена
+    public boolean offer(T value) {
+        if (value == null) {
+            throw new NullPointerException("Null values are not allowed");
+        }
+        long index = producerIndex.get();
+        int offset = (int) index & mask;
+        if (buffer.get(offset) != null) {
+            return false;
+        }
+        buffer.lazySet(offset, value);
+        producerIndex.lazySet(index + 1);
+        return true;
+    }
+
+    // Возвращает null, если очередь пуста
+    public T poll() {
+        long index = consumerIndex.get();
+        int offset = (int) index & mask;
+        T value = buffer.get(offset);
+        if (value == null) {
+            return null;
+        }
+        buffer.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1);
+        return value;
+    }
+
+    public boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
+    }
+
+    public void clear() {
+        while (poll() != null) {
+            // просто вычерпываем
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.rxjava.alt.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Неограниченная очередь «один писатель — один читатель» из связанных массивов-чанков.
+// Пока текущий чанк не заполнен, offer() — это одна запись в массив без выделения памяти;
+// новый чанк создаётся раз в chunkSize элементов. Последняя ячейка чанка хранит ссылку на следующий.
+public final class SpscLinkedArrayQueue<T> {
+    private final int chunkSize;
+
+    // Поля писателя
+    private AtomicReferenceArray<Object> producerBuffer;
+    private int producerOffset;
+
+    // Поля читателя
+    private AtomicReferenceArray<Object> consumerBuffer;
+    private int consumerOffset;
+
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+
+    public SpscLinkedArrayQueue(int chunkSize) {
+        this.chunkSize = Math.max(8, chunkSize);
+        AtomicReferenceArray<Object> buffer = new AtomicReferenceArray<>(this.chunkSize + 1);
+        this.producerBuffer = buffer;
+        this.consumerBuffer = buffer;
+    }
+
+    // Всегда успешно: очередь растёт новыми чанками
+    public boolean offer(T value) {
+        if (value == null) {
+            throw new NullPointerException("Null values are not allowed");
+        }
+        AtomicReferenceArray<Object> buffer = producerBuffer;
+        int offset = producerOffset;
+        if (offset == chunkSize) {
+            // Чанк заполнен: сначала кладём элемент в новый чанк, потом публикуем ссылку на него
+            AtomicReferenceArray<Object> next = new AtomicReferenceArray<>(chunkSize + 1);
+            next.lazySet(0, value);
+            buffer.lazySet(chunkSize, next);
+            producerBuffer = next;
+            producerOffset = 1;
+        } else {
+            buffer.lazySet(offset, value);
+            producerOffset = offset + 1;
+        }
+        producerIndex.lazySet(producerIndex.get() + 1);
+        return true;
+    }
+
+    // Возвращает null, если очередь пуста
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        AtomicReferenceArray<Object> buffer = consumerBuffer;
+        int offset = consumerOffset;
+        if (offset == chunkSize) {
+            Object next = buffer.get(chunkSize);
+            if (next == null) {
+                return null;
+            }
+            // Отцепляем прочитанный чанк, чтобы он мог быть собран GC
+            buffer.lazySet(chunkSize, null);
+            buffer = (AtomicReferenceArray<Object>) next;
+            consumerBuffer = buffer;
+            offset = 0;
+        }
+        Object value = buffer.get(offset);
+        if (value == null) {
+            consumerOffset = offset;
+            return null;
+        }
+        buffer.lazySet(offset, null);
+        consumerOffset = offset + 1;
+        consumerIndex.lazySet(consumerIndex.get() + 1);
+        return (T) value;
+    }
+
+    public boolean isEmpty() {
+        return producerIndex.get() == consumerIndex.get();
+    }
+
+    public int size() {
+        return (int) Math.min(Integer.MAX_VALUE, producerIndex.get() - consumerIndex.get());
+    }
+
+    public void clear() {
+        while (poll() != null) {
+            // просто вычерпываем
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.rxjava.alt.io;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Пул direct-буферов одного размера. Direct-буфер дорого выделять и освобождает его только GC,
+// поэтому источники берут буфер из пула на время подписки и возвращают при завершении.
+// Пул ограничен maxPooled свободными буферами: лишние возвращённые просто отдаются GC.
+public final class ByteBufferPool {
+    private static final ByteBufferPool SHARED = new ByteBufferPool(64 * 1024, 64);
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final Queue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    public ByteBufferPool(int bufferSize, int maxPooled) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    // Общий пул буферов по 64 КиБ
+    public static ByteBufferPool shared() {
+        return SHARED;
+    }
+
+    public int bufferSize() {
+        return bufferSize;
+    }
+
+    // Возвращает очищенный буфер: из пула, если есть свободный, иначе новый
+    public ByteBuffer acquire() {
+        ByteBuffer b = free.poll();
+        if (b != null) {
+            pooled.decrementAndGet();
+            b.clear();
+            return b;
+        }
+        return ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    // После release() буфер нельзя использовать: его получит следующий acquire()
+    public void release(ByteBuffer b) {
+        if (!b.isDirect() || b.capacity() != bufferSize) {
+            return;
+        }
+        if (pooled.incrementAndGet() <= maxPooled) {
+            free.offer(b);
+        } else {
+            pooled.decrementAndGet();
+        }
+    }
+
+    // Число свободных буферов в пуле
+    public int available() {
+        return pooled.get();
+    }
+}
@@ -0,0 +1,466 @@
+package com.rxjava.alt.io;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Flowable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.Subscriber;
+import com.rxjava.alt.core.Subscription;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.internal.SpscLinkedArrayQueue;
+import com.rxjava.alt.schedulers.Scheduler;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Терминальные операторы записи потока буферов в канал. Запись идёт не внутри onNext источника:
+// буферы копятся в очереди не больше maxInFlight штук, а писатель забирает их пачкой и отдаёт
+// каналу одним вызовом. Результат — Observable, который после записи всех буферов выдаёт число
+// записанных байтов и завершается (или отдаёт ошибку ввода-вывода).
+// Буферы переходят во владение писателя и должны оставаться валидными до записи: срезы
+// fromMappedFile подходят, буферы fromChannel перед записью нужно скопировать.
+// Канал не закрывается — им владеет вызывающий
+public final class FileSinks {
+    // Предел iovec для writev в Linux
+    private static final int MAX_GATHER = 1024;
+
+    private FileSinks() {
+    }
+
+    // Flowable-источник: у него запрашивается maxInFlight буферов и затем по стольку, сколько записано
+    public static Observable<Long> write(Flowable<ByteBuffer> source, WritableByteChannel channel,
+                                         int maxInFlight, Scheduler scheduler) {
+        checkMaxInFlight(maxInFlight);
+        return Observable.create(obs -> {
+            ChannelWriter writer = new ChannelWriter(obs, maxInFlight, false, channel, scheduler);
+            source.subscribe(writer);
+            return writer;
+        });
+    }
+
+    // Observable-источник спроса не понимает, поэтому onNext, заставший в очереди maxInFlight
+    // буферов, ждёт, пока писатель освободит место. Источник должен работать в своём потоке
+    // (fromMappedFile, subscribeOn), иначе subscribe() вернётся только после выдачи всех буферов
+    public static Observable<Long> write(Observable<ByteBuffer> source, WritableByteChannel channel,
+                                         int maxInFlight, Scheduler scheduler) {
+        checkMaxInFlight(maxInFlight);
+        return Observable.create(obs -> {
+            ChannelWriter writer = new ChannelWriter(obs, maxInFlight, true, channel, scheduler);
+            writer.setUpstream(source.subscribe(writer));
+            return writer;
+        });
+    }
+
+    public static Observable<Long> write(Flowable<ByteBuffer> source, AsynchronousFileChannel channel,
+                                         long position, int maxInFlight) {
+        checkMaxInFlight(maxInFlight);
+        return Observable.create(obs -> {
+            AsyncFileWriter writer = new AsyncFileWriter(obs, maxInFlight, false, channel, position);
+            source.subscribe(writer);
+            return writer;
+        });
+    }
+
+    // Запись в файл с позиции position; ожидание места в очереди — как у write(Observable, WritableByteChannel, ...)
+    public static Observable<Long> write(Observable<ByteBuffer> source, AsynchronousFileChannel channel,
+                                         long position, int maxInFlight) {
+        checkMaxInFlight(maxInFlight);
+        return Observable.create(obs -> {
+            AsyncFileWriter writer = new AsyncFileWriter(obs, maxInFlight, true, channel, position);
+            writer.setUpstream(source.subscribe(writer));
+            return writer;
+        });
+    }
+
+    private static void checkMaxInFlight(int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight > 0 required but it was " + maxInFlight);
+        }
+    }
+
+    // Общая часть писателей: приём сигналов от Flowable или Observable, очередь и спрос.
+    // Сама запись и терминальные сигналы — в drain() наследника, который всегда однопоточен
+    abstract static class WriteSubscriber implements Subscriber<ByteBuffer>, Observer<ByteBuffer>, Disposable {
+        final Observer<? super Long> downstream;
+        final int maxInFlight;
+        final SpscLinkedArrayQueue<ByteBuffer> queue;
+        // Места в очереди для Observable-источника: onNext занимает место, запись освобождает.
+        // У Flowable-источника вместо этого запрашиваем столько, сколько записали
+        final Semaphore slots;
+        final AtomicReference<Subscription> subscription = new AtomicReference<>();
+        final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        final AtomicInteger wip = new AtomicInteger();
+        volatile boolean done;
+        Throwable error;
+        volatile boolean cancelled;
+        // Меняется только внутри drain
+        long written;
+
+        WriteSubscriber(Observer<? super Long> downstream, int maxInFlight, boolean blocking) {
+            this.downstream = downstream;
+            this.maxInFlight = maxInFlight;
+            this.queue = new SpscLinkedArrayQueue<>(Math.min(maxInFlight, 128));
+            this.slots = blocking ? new Semaphore(maxInFlight) : null;
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        abstract void drain();
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (!subscription.compareAndSet(null, s)) {
+                s.cancel();
+                return;
+            }
+            if (cancelled) {
+                s.cancel();
+            } else {
+                s.request(maxInFlight);
+            }
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            if (done || cancelled) {
+                return;
+            }
+            if (slots != null) {
+                try {
+                    slots.acquire();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    cancelUpstream();
+                    onError(new InterruptedIOException("Interrupted while waiting for the writer"));
+                    return;
+                }
+                if (cancelled) {
+                    return;
+                }
+            }
+            queue.offer(buffer);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            drain();
+        }
+
+        // n буферов записано: освобождаем места или запрашиваем замену
+        void consumed(int n) {
+            if (slots != null) {
+                slots.release(n);
+            } else {
+                Subscription s = subscription.get();
+                if (s != null) {
+                    s.request(n);
+                }
+            }
+        }
+
+        void cancelUpstream() {
+            DisposableHelper.dispose(upstream);
+            Subscription s = subscription.get();
+            if (s != null) {
+                s.cancel();
+            }
+        }
+
+        // Будим источник, который ждёт места: он увидит cancelled и выйдет.
+        // Нужно на каждом терминальном пути, иначе onNext останется в acquire() навсегда
+        void releaseSlots() {
+            if (slots != null) {
+                slots.release(maxInFlight);
+            }
+        }
+
+        // Вызывается из drain, когда очередь пуста и источник завершился
+        void signalTerminal() {
+            cancelled = true;
+            releaseSlots();
+            Throwable e = error;
+            if (e != null) {
+                downstream.onError(e);
+            } else {
+                downstream.onNext(written);
+                downstream.onComplete();
+            }
+        }
+
+        // Из drain: ошибка записи отменяет источник, невыписанные буферы выбрасываются
+        void signalWriteError(Throwable ex) {
+            cancelled = true;
+            cancelUpstream();
+            releaseSlots();
+            queue.clear();
+            downstream.onError(ex);
+        }
+
+        @Override
+        public void dispose() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            cancelUpstream();
+            releaseSlots();
+            drain();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return cancelled;
+        }
+    }
+
+    // Писатель в блокирующий канал на Worker'е. Пачка до MAX_GATHER буферов уходит одним
+    // GatheringByteChannel.write(ByteBuffer[]) (FileChannel, SocketChannel), для прочих каналов —
+    // по одному write на буфер. Канал должен быть в блокирующем режиме
+    static final class ChannelWriter extends WriteSubscriber implements Runnable {
+        private final WritableByteChannel channel;
+        private final Scheduler.Worker worker;
+        private final ByteBuffer[] batch;
+
+        ChannelWriter(Observer<? super Long> downstream, int maxInFlight, boolean blocking,
+                      WritableByteChannel channel, Scheduler scheduler) {
+            super(downstream, maxInFlight, blocking);
+            this.channel = channel;
+            this.worker = scheduler.createWorker();
+            this.batch = new ByteBuffer[Math.min(maxInFlight, MAX_GATHER)];
+        }
+
+        @Override
+        void drain() {
+            if (wip.getAndIncrement() == 0) {
+                worker.schedule(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    if (cancelled) {
+                        queue.clear();
+                        worker.dispose();
+                        return;
+                    }
+                    boolean d = done;
+                    if (d && error != null) {
+                        queue.clear();
+                        signalTerminal();
+                        worker.dispose();
+                        return;
+                    }
+                    int n = 0;
+                    ByteBuffer b;
+                    while (n < batch.length && (b = queue.poll()) != null) {
+                        batch[n++] = b;
+                    }
+                    if (n == 0) {
+                        if (d) {
+                            signalTerminal();
+                            worker.dispose();
+                            return;
+                        }
+                        break;
+                    }
+                    try {
+                        writeBatch(n);
+                    } catch (IOException | RuntimeException ex) {
+                        Arrays.fill(batch, 0, n, null);
+                        signalWriteError(ex);
+                        worker.dispose();
+                        return;
+                    }
+                    Arrays.fill(batch, 0, n, null);
+                    consumed(n);
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void writeBatch(int n) throws IOException {
+            if (channel instanceof GatheringByteChannel gathering) {
+                long remaining = 0L;
+                for (int i = 0; i < n; i++) {
+                    remaining += batch[i].remaining();
+                }
+                // Частичная запись сдвигает позиции буферов, повторный вызов продолжает с места остановки
+                while (remaining > 0L) {
+                    long w = gathering.write(batch, 0, n);
+                    remaining -= w;
+                    written += w;
+                }
+            } else {
+                for (int i = 0; i < n; i++) {
+                    ByteBuffer b = batch[i];
+                    while (b.hasRemaining()) {
+                        written += channel.write(b);
+                    }
+                }
+            }
+        }
+    }
+
+    // Писатель в AsynchronousFileChannel: в полёте всегда одна операция записи, следующая
+    // запускается из её CompletionHandler. Векторной записи у асинхронного канала нет, поэтому
+    // мелкие буферы, скопившиеся в очереди, склеиваются в один direct-буфер из ByteBufferPool
+    // и уходят одной операцией; буфер не меньше промежуточного пишется как есть
+    static final class AsyncFileWriter extends WriteSubscriber implements CompletionHandler<Integer, Void> {
+        private final AsynchronousFileChannel channel;
+        private final ByteBufferPool pool = ByteBufferPool.shared();
+        private ByteBuffer staging;
+        // Буфер текущей операции записи и число исходных буферов в нём; null — записи нет
+        private volatile ByteBuffer current;
+        private int currentCount;
+        // Буфер, не поместившийся в промежуточный: он пойдёт первым в следующую запись
+        private ByteBuffer carry;
+        private long position;
+        private volatile Throwable writeError;
+
+        AsyncFileWriter(Observer<? super Long> downstream, int maxInFlight, boolean blocking,
+                        AsynchronousFileChannel channel, long position) {
+            super(downstream, maxInFlight, blocking);
+            this.channel = channel;
+            this.position = position;
+            this.staging = pool.acquire();
+        }
+
+        @Override
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                Throwable we = writeError;
+                if (we != null && !cancelled) {
+                    signalWriteError(we);
+                }
+                if (cancelled) {
+                    queue.clear();
+                    carry = null;
+                    // Идущая запись ещё читает промежуточный буфер: вернём его из её CompletionHandler
+                    if (current == null) {
+                        releaseStaging();
+                    }
+                } else if (current == null) {
+                    boolean d = done;
+                    if (d && error != null) {
+                        queue.clear();
+                        carry = null;
+                        signalTerminal();
+                        releaseStaging();
+                    } else {
+                        ByteBuffer first = pollNext();
+                        if (first != null) {
+                            startWrite(first);
+                        } else if (d) {
+                            signalTerminal();
+                            releaseStaging();
+                        }
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private ByteBuffer pollNext() {
+            ByteBuffer b = carry;
+            if (b != null) {
+                carry = null;
+                return b;
+            }
+            return queue.poll();
+        }
+
+        private void startWrite(ByteBuffer first) {
+            ByteBuffer target = first;
+            int count = 1;
+            int capacity = staging.capacity();
+            if (first.remaining() < capacity) {
+                ByteBuffer next;
+                while ((next = pollNext()) != null) {
+                    int free = count == 1 ? capacity - first.remaining() : staging.remaining();
+                    if (next.remaining() > free) {
+                        carry = next;
+                        break;
+                    }
+                    if (count == 1) {
+                        staging.clear();
+                        staging.put(first);
+                    }
+                    staging.put(next);
+                    count++;
+                }
+                if (count > 1) {
+                    staging.flip();
+                    target = staging;
+                }
+            }
+            currentCount = count;
+            current = target;
+            channel.write(target, position, null, this);
+        }
+
+        private void releaseStaging() {
+            ByteBuffer s = staging;
+            if (s != null) {
+                staging = null;
+                pool.release(s);
+            }
+        }
+
+        @Override
+        public void completed(Integer n, Void attachment) {
+            position += n;
+            written += n;
+            ByteBuffer c = current;
+            if (!cancelled && c.hasRemaining()) {
+                channel.write(c, position, null, this);
+                return;
+            }
+            int count = currentCount;
+            current = null;
+            consumed(count);
+            drain();
+        }
+
+        @Override
+        public void failed(Throwable ex, Void attachment) {
+            writeError = ex;
+            current = null;
+            drain();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.rxjava.alt.io;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.schedulers.Scheduler;
+import com.rxjava.alt.schedulers.Schedulers;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Источники байтов из файлов и каналов без копирования в промежуточные массивы и без String на строку.
+// Чтение идёт циклом в потоке Scheduler'а (по умолчанию Schedulers.io()): subscribe() возвращается
+// сразу, а dispose() выставляет флаг, который цикл проверяет перед каждым куском, — чтение
+// останавливается посреди файла, не дочитывая его до конца.
+public final class FileSources {
+
+    private FileSources() {
+    }
+
+    public static Observable<ByteBuffer> fromMappedFile(Path path, int chunkSize) {
+        return fromMappedFile(path, chunkSize, Schedulers.io());
+    }
+
+    // Отображает файл в память и выдаёт его куски по chunkSize байт (последний может быть короче)
+    // как read-only срезы MappedByteBuffer: данные не копируются, а срез остаётся валидным
+    // и после onNext. Файл больше 2 ГиБ отображается по частям
+    public static Observable<ByteBuffer> fromMappedFile(Path path, int chunkSize, Scheduler scheduler) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize > 0 required but it was " + chunkSize);
+        }
+        return Observable.create(obs -> {
+            ReadTask task = new ReadTask(obs) {
+                @Override
+                void read() throws IOException {
+                    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                        long size = channel.size();
+                        // Отображаем частями, кратными chunkSize, чтобы куски не резались на границе частей
+                        long region = Math.max(chunkSize, (long) (Integer.MAX_VALUE / chunkSize) * chunkSize);
+                        for (long offset = 0; offset < size && !disposed; offset += region) {
+                            int length = (int) Math.min(region, size - offset);
+                            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                            for (int pos = 0; pos < length; pos += chunkSize) {
+                                if (disposed) {
+                                    return;
+                                }
+                                downstream.onNext(mapped.slice(pos, Math.min(chunkSize, length - pos)));
+                            }
+                        }
+                    }
+                }
+            };
+            scheduler.execute(task);
+            return task;
+        });
+    }
+
+    public static Observable<ByteBuffer> fromChannel(ReadableByteChannel channel) {
+        return fromChannel(channel, ByteBufferPool.shared(), Schedulers.io());
+    }
+
+    // Читает канал в direct-буфер из pool и выдаёт прочитанное read-only представлением этого буфера.
+    // Буфер переиспользуется для следующего чтения, поэтому содержимое валидно только внутри onNext:
+    // чтобы передать данные в другой поток (observeOn), их нужно скопировать.
+    // Канал закрывается, когда чтение закончено или отменено
+    public static Observable<ByteBuffer> fromChannel(ReadableByteChannel channel, ByteBufferPool pool, Scheduler scheduler) {
+        return Observable.create(obs -> {
+            ReadTask task = new ReadTask(obs) {
+                @Override
+                void read() throws IOException {
+                    ByteBuffer buffer = pool.acquire();
+                    try (channel) {
+                        while (!disposed) {
+                            buffer.clear();
+                            int n = channel.read(buffer);
+                            if (n < 0) {
+                                return;
+                            }
+                            if (n > 0) {
+                                buffer.flip();
+                                downstream.onNext(buffer.asReadOnlyBuffer());
+                            }
+                        }
+                    } finally {
+                        pool.release(buffer);
+                    }
+                }
+
+                @Override
+                void skipped() {
+                    try {
+                        channel.close();
+                    } catch (IOException ignored) {
+                        // Подписчик уже отписался — сообщать об ошибке закрытия некому
+                    }
+                }
+            };
+            scheduler.execute(task);
+            return task;
+        });
+    }
+
+    // Цикл чтения, выполняемый в Scheduler'е, и одновременно Disposable подписки
+    abstract static class ReadTask implements Runnable, Disposable {
+        final Observer<? super ByteBuffer> downstream;
+        volatile boolean disposed;
+
+        ReadTask(Observer<? super ByteBuffer> downstream) {
+            this.downstream = downstream;
+        }
+
+        abstract void read() throws IOException;
+
+        // Отписались раньше, чем задача запустилась: read() не вызывается, и ресурсы,
+        // которые он закрыл бы сам, освобождаются здесь
+        void skipped() {
+        }
+
+        @Override
+        public void run() {
+            if (disposed) {
+                skipped();
+                return;
+            }
+            try {
+                read();
+            } catch (IOException | RuntimeException ex) {
+                if (!disposed) {
+                    disposed = true;
+                    downstream.onError(ex);
+                }
+                return;
+            }
+            if (!disposed) {
+                disposed = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
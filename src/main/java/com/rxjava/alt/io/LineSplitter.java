@@ -0,0 +1,84 @@
+package com.rxjava.alt.io;
+
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import java.nio.ByteBuffer;
+
+// Разбивает поток кусков байтов на строки (разделитель '\n', завершающий '\r' отбрасывается).
+// Строка выдаётся не копией, а окном (position/limit) поверх входного куска: на кусок создаётся
+// один duplicate(), который переставляется от строки к строке. Поэтому строка валидна только
+// до возврата из onNext — сохранять её нужно копией. Копируется лишь хвост строки, разрезанной
+// границей кусков: он собирается в растущий массив, который тоже переиспользуется
+public class LineSplitter {
+
+    public static Observable<ByteBuffer> lines(Observable<ByteBuffer> source) {
+        return Observable.create(obs -> source.subscribe(new LineObserver(obs)));
+    }
+
+    static final class LineObserver implements Observer<ByteBuffer> {
+        private final Observer<? super ByteBuffer> downstream;
+        // Начало строки из предыдущих кусков
+        private byte[] carry = new byte[256];
+        private int carried;
+
+        LineObserver(Observer<? super ByteBuffer> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onNext(ByteBuffer chunk) {
+            ByteBuffer view = chunk.duplicate();
+            int start = chunk.position();
+            int end = chunk.limit();
+            for (int i = start; i < end; i++) {
+                if (chunk.get(i) != '\n') {
+                    continue;
+                }
+                if (carried > 0) {
+                    append(chunk, start, i);
+                    emitCarry();
+                } else {
+                    int lineEnd = i > start && chunk.get(i - 1) == '\r' ? i - 1 : i;
+                    view.limit(lineEnd).position(start);
+                    downstream.onNext(view);
+                }
+                start = i + 1;
+            }
+            if (start < end) {
+                append(chunk, start, end);
+            }
+        }
+
+        private void append(ByteBuffer chunk, int from, int to) {
+            int n = to - from;
+            if (carried + n > carry.length) {
+                byte[] grown = new byte[Math.max(carry.length * 2, carried + n)];
+                System.arraycopy(carry, 0, grown, 0, carried);
+                carry = grown;
+            }
+            chunk.get(from, carry, carried, n);
+            carried += n;
+        }
+
+        private void emitCarry() {
+            int len = carried > 0 && carry[carried - 1] == '\r' ? carried - 1 : carried;
+            carried = 0;
+            downstream.onNext(ByteBuffer.wrap(carry, 0, len).asReadOnlyBuffer());
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            carried = 0;
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            // Последняя строка без '\n' в конце
+            if (carried > 0) {
+                emitCarry();
+            }
+            downstream.onComplete();
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+// Накопительные операторы: состояние — одно поле в Observer'е подписки. Сигналы Observer'а
+// последовательны, поэтому ни блокировок, ни атомиков не нужно. Исключение из функции
+// пробрасывается наверх: safe-обёртка подписки на source отменит источник и передаст ошибку в onError
+public class AggregateOperator {
+
+    // Свёртка без начального значения: пустой источник просто завершается
+    public static <T> Observable<T> reduce(Observable<T> source, BinaryOperator<T> reducer) {
+        return Observable.create(obs -> source.subscribe(new Observer<T>() {
+            private T acc;
+
+            @Override
+            public void onNext(T item) {
+                T a = acc;
+                acc = a == null ? item : reducer.apply(a, item);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                acc = null;
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                T a = acc;
+                acc = null;
+                if (a != null) {
+                    obs.onNext(a);
+                }
+                obs.onComplete();
+            }
+        }));
+    }
+
+    // seed общий для всех подписок, поэтому он должен быть неизменяемым; для изменяемого
+    // контейнера — collect, где он создаётся заново на каждую подписку
+    public static <T, R> Observable<R> reduce(Observable<T> source, R seed,
+                                              BiFunction<R, ? super T, R> reducer) {
+        return collectInto(source, () -> seed, reducer);
+    }
+
+    public static <T, R> Observable<R> collect(Observable<T> source, Supplier<? extends R> supplier,
+                                               BiConsumer<? super R, ? super T> collector) {
+        return collectInto(source, supplier, (acc, item) -> {
+            collector.accept(acc, item);
+            return acc;
+        });
+    }
+
+    public static <T> Observable<Long> count(Observable<T> source) {
+        return Observable.create(obs -> source.subscribe(new Observer<T>() {
+            private long count;
+
+            @Override
+            public void onNext(T item) {
+                count++;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onNext(count);
+                obs.onComplete();
+            }
+        }));
+    }
+
+    // Выдаёт каждое промежуточное значение свёртки; первый элемент выдаётся как есть
+    public static <T> Observable<T> scan(Observable<T> source, BinaryOperator<T> accumulator) {
+        return Observable.create(obs -> source.subscribe(new Observer<T>() {
+            private T acc;
+
+            @Override
+            public void onNext(T item) {
+                T a = acc;
+                a = a == null ? item : accumulator.apply(a, item);
+                acc = a;
+                obs.onNext(a);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onComplete();
+            }
+        }));
+    }
+
+    // Сначала выдаёт seed, затем каждое промежуточное значение
+    public static <T, R> Observable<R> scan(Observable<T> source, R seed, BiFunction<R, ? super T, R> accumulator) {
+        return Observable.create(obs -> {
+            obs.onNext(seed);
+            return source.subscribe(new Observer<T>() {
+                private R acc = seed;
+
+                @Override
+                public void onNext(T item) {
+                    R a = accumulator.apply(acc, item);
+                    acc = a;
+                    obs.onNext(a);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    obs.onError(t);
+                }
+
+                @Override
+                public void onComplete() {
+                    obs.onComplete();
+                }
+            });
+        });
+    }
+
+    private static <T, R> Observable<R> collectInto(Observable<T> source, Supplier<? extends R> initial,
+                                                    BiFunction<R, ? super T, R> reducer) {
+        return Observable.create(obs -> {
+            R start = initial.get();
+            return source.subscribe(new Observer<T>() {
+                private R acc = start;
+
+                @Override
+                public void onNext(T item) {
+                    acc = reducer.apply(acc, item);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    acc = null;
+                    obs.onError(t);
+                }
+
+                @Override
+                public void onComplete() {
+                    R a = acc;
+                    acc = null;
+                    obs.onNext(a);
+                    obs.onComplete();
+                }
+            });
+        });
+    }
+}
@@ -0,0 +1,417 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.BackpressureStrategy;
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Flowable;
+import com.rxjava.alt.core.MissingBackpressureException;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.Subscriber;
+import com.rxjava.alt.core.Subscription;
+import com.rxjava.alt.internal.BackpressureHelper;
+import com.rxjava.alt.internal.DisposableHelper;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Мосты между Observable (только push) и Flowable (push по запросу).
+// Observable не умеет замедляться, поэтому при переходе во Flowable нужно явно выбрать,
+// что делать с элементами, на которые у подписчика ещё нет спроса.
+public class BackpressureOperator {
+
+    public static <T> Flowable<T> toFlowable(Observable<T> source, BackpressureStrategy strategy) {
+        return Flowable.create(sub -> {
+            BaseEmitter<T> emitter;
+            switch (strategy) {
+                case BUFFER:
+                    emitter = new BufferEmitter<>(sub);
+                    break;
+                case DROP:
+                    emitter = new DropEmitter<>(sub);
+                    break;
+                case LATEST:
+                    emitter = new LatestEmitter<>(sub);
+                    break;
+                case ERROR:
+                    emitter = new ErrorEmitter<>(sub);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown strategy " + strategy);
+            }
+            // Сначала отдаём Subscription, чтобы подписчик успел запросить элементы
+            // до того, как синхронный источник начнёт выпуск
+            sub.onSubscribe(emitter);
+            emitter.setUpstream(source.subscribe(emitter));
+        });
+    }
+
+    // Flowable -> Observable: у Observer нет способа ограничить спрос, поэтому запрашиваем всё
+    public static <T> Observable<T> toObservable(Flowable<T> source) {
+        return Observable.create(obs -> {
+            AtomicReference<Subscription> ref = new AtomicReference<>();
+            AtomicInteger cancelled = new AtomicInteger();
+            source.subscribe(new Subscriber<T>() {
+                @Override
+                public void onSubscribe(Subscription s) {
+                    ref.set(s);
+                    if (cancelled.get() != 0) {
+                        s.cancel();
+                    } else {
+                        s.request(Long.MAX_VALUE);
+                    }
+                }
+
+                @Override
+                public void onNext(T item) {
+                    obs.onNext(item);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    obs.onError(t);
+                }
+
+                @Override
+                public void onComplete() {
+                    obs.onComplete();
+                }
+            });
+            return new Disposable() {
+                @Override
+                public void dispose() {
+                    if (cancelled.getAndIncrement() == 0) {
+                        Subscription s = ref.get();
+                        if (s != null) {
+                            s.cancel();
+                        }
+                    }
+                }
+
+                @Override
+                public boolean isDisposed() {
+                    return cancelled.get() != 0;
+                }
+            };
+        });
+    }
+
+    // Общая часть всех стратегий: учёт спроса и отложенная отмена upstream.
+    // Disposable источника может прийти уже после отмены, поэтому храним его через DisposableHelper.
+    // Ошибку request(n <= 0) отдаёт drain(): источник в этот момент может выдавать элемент
+    // в другом потоке, и сигналы подписчику не должны пересечься
+    abstract static class BaseEmitter<T> implements Observer<T>, Subscription {
+        final Subscriber<? super T> downstream;
+        final AtomicLong requested = new AtomicLong();
+        final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        final AtomicInteger wip = new AtomicInteger();
+        volatile boolean cancelled;
+        volatile Throwable badRequest;
+
+        BaseEmitter(Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0L) {
+                DisposableHelper.dispose(upstream);
+                badRequest = new IllegalArgumentException("n > 0 required but it was " + n);
+                drain();
+                return;
+            }
+            BackpressureHelper.add(requested, n);
+            onRequested();
+        }
+
+        void onRequested() {
+        }
+
+        abstract void drain();
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            DisposableHelper.dispose(upstream);
+            onCancelled();
+        }
+
+        void onCancelled() {
+        }
+    }
+
+    // Для DROP и ERROR: элемент выдаётся сразу, если на него есть спрос. Сигналы источника
+    // и ошибка request(n <= 0) проходят через wip: кто застал его ненулевым, оставляет
+    // ошибку тому, кто внутри, а терминальный сигнал источника после неё уже не нужен
+    abstract static class NoOverflowBaseEmitter<T> extends BaseEmitter<T> {
+        NoOverflowBaseEmitter(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (cancelled || !wip.compareAndSet(0, 1)) {
+                return;
+            }
+            if (requested.get() != 0L) {
+                downstream.onNext(item);
+                BackpressureHelper.produced(requested, 1);
+            } else {
+                onOverflow();
+            }
+            if (wip.decrementAndGet() != 0) {
+                terminate(badRequest);
+            }
+        }
+
+        // Вызывается внутри onNext, то есть уже под wip
+        abstract void onOverflow();
+
+        @Override
+        public void onError(Throwable t) {
+            if (wip.getAndIncrement() == 0) {
+                terminate(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (wip.getAndIncrement() == 0) {
+                terminate(null);
+            }
+        }
+
+        @Override
+        void drain() {
+            if (wip.getAndIncrement() == 0) {
+                terminate(badRequest);
+            }
+        }
+
+        // error == null — завершение
+        void terminate(Throwable error) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            if (error != null) {
+                downstream.onError(error);
+            } else {
+                downstream.onComplete();
+            }
+        }
+    }
+
+    static final class DropEmitter<T> extends NoOverflowBaseEmitter<T> {
+        DropEmitter(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        void onOverflow() {
+            // просто теряем элемент
+        }
+    }
+
+    static final class ErrorEmitter<T> extends NoOverflowBaseEmitter<T> {
+        ErrorEmitter(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        void onOverflow() {
+            terminate(new MissingBackpressureException("Subscriber did not request enough items"));
+            DisposableHelper.dispose(upstream);
+        }
+    }
+
+    // Для BUFFER и LATEST: элементы складываются, а выдаёт их drain-цикл по мере спроса
+    abstract static class DrainEmitter<T> extends BaseEmitter<T> {
+        volatile boolean done;
+        Throwable error;
+
+        DrainEmitter(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            drain();
+        }
+
+        @Override
+        void onRequested() {
+            drain();
+        }
+
+        @Override
+        void onCancelled() {
+            if (wip.getAndIncrement() == 0) {
+                clear();
+            }
+        }
+
+        abstract T poll();
+
+        abstract boolean isEmpty();
+
+        abstract void clear();
+
+        @Override
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                long r = requested.get();
+                long e = 0L;
+
+                while (e != r) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+                    if (failBadRequest()) {
+                        return;
+                    }
+                    boolean d = done;
+                    T v = poll();
+                    boolean empty = v == null;
+                    if (d && empty) {
+                        terminate();
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+                    downstream.onNext(v);
+                    e++;
+                }
+
+                if (e == r) {
+                    if (cancelled) {
+                        clear();
+                        return;
+                    }
+                    if (failBadRequest()) {
+                        return;
+                    }
+                    if (done && isEmpty()) {
+                        terminate();
+                        return;
+                    }
+                }
+
+                if (e != 0L) {
+                    BackpressureHelper.produced(requested, e);
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        // Ошибка request(n <= 0) отдаётся сразу, не дожидаясь выдачи накопленного
+        private boolean failBadRequest() {
+            Throwable ex = badRequest;
+            if (ex == null) {
+                return false;
+            }
+            cancelled = true;
+            clear();
+            downstream.onError(ex);
+            return true;
+        }
+
+        private void terminate() {
+            cancelled = true;
+            Throwable ex = error;
+            if (ex != null) {
+                downstream.onError(ex);
+            } else {
+                downstream.onComplete();
+            }
+        }
+    }
+
+    static final class BufferEmitter<T> extends DrainEmitter<T> {
+        private final Queue<T> queue = new ConcurrentLinkedQueue<>();
+
+        BufferEmitter(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            queue.offer(item);
+            drain();
+        }
+
+        @Override
+        T poll() {
+            return queue.poll();
+        }
+
+        @Override
+        boolean isEmpty() {
+            return queue.isEmpty();
+        }
+
+        @Override
+        void clear() {
+            queue.clear();
+        }
+    }
+
+    static final class LatestEmitter<T> extends DrainEmitter<T> {
+        private final AtomicReference<T> latest = new AtomicReference<>();
+
+        LatestEmitter(Subscriber<? super T> downstream) {
+            super(downstream);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || cancelled) {
+                return;
+            }
+            // Новый элемент вытесняет предыдущий, который ещё никто не запросил
+            latest.set(item);
+            drain();
+        }
+
+        @Override
+        T poll() {
+            return latest.getAndSet(null);
+        }
+
+        @Override
+        boolean isEmpty() {
+            return latest.get() == null;
+        }
+
+        @Override
+        void clear() {
+            latest.set(null);
+        }
+    }
+}
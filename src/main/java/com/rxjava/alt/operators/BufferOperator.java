@@ -0,0 +1,218 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.SerialDisposable;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.schedulers.Scheduler;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// BufferOperator собирает элементы в пачки (List) и выдаёт их целиком:
+// подписчику вроде записи в БД дешевле обработать одну пачку, чем много отдельных элементов.
+// Каждый новый список создаётся сразу нужной ёмкости, чтобы не расширяться при заполнении.
+public class BufferOperator {
+
+    // Пачки ровно по count элементов (последняя может быть короче)
+    public static <T> Observable<List<T>> buffer(Observable<T> source, int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return Observable.create(obs -> source.subscribe(new Observer<T>() {
+            private List<T> buffer = new ArrayList<>(count);
+
+            @Override
+            public void onNext(T item) {
+                List<T> b = buffer;
+                b.add(item);
+                if (b.size() == count) {
+                    buffer = new ArrayList<>(count);
+                    obs.onNext(b);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                buffer = null;
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                // Отдаём неполную последнюю пачку
+                List<T> b = buffer;
+                buffer = null;
+                if (b != null && !b.isEmpty()) {
+                    obs.onNext(b);
+                }
+                obs.onComplete();
+            }
+        }));
+    }
+
+    // Пачки по времени: раз в time выдаётся всё, что накопилось (возможно, пустой список).
+    // Если maxSize > 0, пачка выдаётся досрочно при достижении maxSize, и отсчёт времени начинается заново.
+    public static <T> Observable<List<T>> buffer(Observable<T> source, long time, TimeUnit unit,
+                                                 Scheduler scheduler, int maxSize) {
+        if (time <= 0L) {
+            throw new IllegalArgumentException("time > 0 required but it was " + time);
+        }
+        return Observable.create(obs -> {
+            TimedBufferObserver<T> parent = new TimedBufferObserver<>(obs, time, unit, scheduler.createWorker(), maxSize);
+            parent.start();
+            parent.setUpstream(source.subscribe(parent));
+            return parent;
+        });
+    }
+
+    // Все вызовы подписчика выполняются на одном Worker'е: и срабатывания таймера, и досрочные
+    // пачки, и завершение. Worker выполняет задачи по очереди, поэтому вызовы не пересекаются.
+    // Поток источника под короткой блокировкой только добавляет элемент или перекладывает
+    // заполненный список в очередь ready — в ней пачки стоят в том же порядке, в каком собирались.
+    static final class TimedBufferObserver<T> implements Observer<T>, Disposable {
+        private final Observer<? super List<T>> downstream;
+        private final long time;
+        private final TimeUnit unit;
+        private final Scheduler.Worker worker;
+        private final int maxSize;
+        private final int initialCapacity;
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        // Текущий периодический таймер; заменяется при досрочной выдаче пачки
+        private final SerialDisposable timer = new SerialDisposable();
+
+        // Защищены this
+        private List<T> buffer;
+        private final ArrayDeque<List<T>> ready = new ArrayDeque<>();
+        private volatile boolean disposed;
+
+        TimedBufferObserver(Observer<? super List<T>> downstream, long time, TimeUnit unit,
+                            Scheduler.Worker worker, int maxSize) {
+            this.downstream = downstream;
+            this.time = time;
+            this.unit = unit;
+            this.worker = worker;
+            this.maxSize = maxSize;
+            this.initialCapacity = maxSize > 0 ? maxSize : 16;
+            this.buffer = new ArrayList<>(initialCapacity);
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        void start() {
+            timer.set(worker.schedulePeriodically(this::flushOnTimer, time, time, unit));
+        }
+
+        private void flushOnTimer() {
+            synchronized (this) {
+                List<T> b = buffer;
+                if (b == null) {
+                    return;
+                }
+                ready.offer(b);
+                buffer = new ArrayList<>(initialCapacity);
+            }
+            emitReady();
+        }
+
+        // Вызывается только на Worker'е
+        private void emitReady() {
+            for (;;) {
+                List<T> b;
+                synchronized (this) {
+                    b = ready.poll();
+                }
+                if (b == null || disposed) {
+                    return;
+                }
+                downstream.onNext(b);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            boolean full = false;
+            synchronized (this) {
+                List<T> b = buffer;
+                if (b == null) {
+                    return;
+                }
+                b.add(item);
+                if (maxSize > 0 && b.size() >= maxSize) {
+                    ready.offer(b);
+                    buffer = new ArrayList<>(initialCapacity);
+                    full = true;
+                }
+            }
+            if (full) {
+                // Досрочная пачка: выдаём на Worker'е и перезапускаем отсчёт времени
+                worker.schedule(this::emitReady);
+                start();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            synchronized (this) {
+                buffer = null;
+                ready.clear();
+            }
+            timer.dispose();
+            worker.schedule(() -> {
+                if (!disposed) {
+                    disposed = true;
+                    downstream.onError(t);
+                }
+                worker.dispose();
+            });
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                List<T> b = buffer;
+                if (b == null) {
+                    return;
+                }
+                buffer = null;
+                if (!b.isEmpty()) {
+                    ready.offer(b);
+                }
+            }
+            timer.dispose();
+            worker.schedule(() -> {
+                emitReady();
+                if (!disposed) {
+                    disposed = true;
+                    downstream.onComplete();
+                }
+                worker.dispose();
+            });
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            DisposableHelper.dispose(upstream);
+            timer.dispose();
+            worker.dispose();
+            synchronized (this) {
+                buffer = null;
+                ready.clear();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
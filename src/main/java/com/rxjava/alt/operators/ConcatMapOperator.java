@@ -0,0 +1,202 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.internal.SequentialDisposable;
+import com.rxjava.alt.internal.SpscLinkedArrayQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+// ConcatMapOperator — как flatMap, но внутренние потоки подписываются строго по одному и по порядку:
+// следующий элемент source превращается во внутренний Observable только после завершения предыдущего.
+// Пока текущий внутренний поток работает, элементы source копятся в неограниченной очереди:
+// Observable не умеет притормаживать источник, поэтому source не ждёт, а очередь растёт.
+// bufferSize — лишь размер её чанка (не меньше 8), он ничего не ограничивает и ничего не запрашивает заранее.
+public class ConcatMapOperator {
+
+    public static <T, R> Observable<R> concatMap(
+            Observable<T> source,
+            Function<? super T, ? extends Observable<? extends R>> mapper,
+            int bufferSize
+    ) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        return Observable.create(obs -> {
+            ConcatMapObserver<T, R> parent = new ConcatMapObserver<>(obs, mapper, bufferSize);
+            parent.setUpstream(source.subscribe(parent));
+            return parent;
+        });
+    }
+
+    // onNext подписчику приходит только из текущего внутреннего потока (он один), а onError/onComplete —
+    // из drain, когда активного внутреннего потока нет. Поэтому вызовы подписчика не пересекаются.
+    // Ошибка source тоже ждёт окончания текущего внутреннего потока.
+    static final class ConcatMapObserver<T, R> implements Observer<T>, Disposable {
+        private final Observer<? super R> downstream;
+        private final Function<? super T, ? extends Observable<? extends R>> mapper;
+        private final SpscLinkedArrayQueue<T> queue;
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        // Disposable текущего внутреннего потока
+        private final SequentialDisposable inner = new SequentialDisposable();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        private volatile boolean done;
+        private volatile boolean disposed;
+        // true, пока текущий внутренний поток не завершился
+        private volatile boolean active;
+
+        ConcatMapObserver(Observer<? super R> downstream,
+                          Function<? super T, ? extends Observable<? extends R>> mapper, int bufferSize) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.queue = new SpscLinkedArrayQueue<>(bufferSize);
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            queue.offer(item);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error.compareAndSet(null, t);
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        void innerNext(R value) {
+            if (!disposed) {
+                downstream.onNext(value);
+            }
+        }
+
+        void innerError(Throwable t) {
+            error.compareAndSet(null, t);
+            done = true;
+            DisposableHelper.dispose(upstream);
+            active = false;
+            drain();
+        }
+
+        void innerComplete() {
+            active = false;
+            drain();
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            DisposableHelper.dispose(upstream);
+            inner.dispose();
+            if (wip.getAndIncrement() == 0) {
+                queue.clear();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        // Синхронный внутренний поток завершается прямо внутри subscribe и снова вызывает drain —
+        // счётчик wip превращает это в следующую итерацию цикла, а не в рекурсию
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (disposed) {
+                    queue.clear();
+                    return;
+                }
+                if (!active) {
+                    Throwable ex = error.get();
+                    if (ex != null) {
+                        disposed = true;
+                        queue.clear();
+                        DisposableHelper.dispose(upstream);
+                        downstream.onError(ex);
+                        return;
+                    }
+                    boolean d = done;
+                    T item = queue.poll();
+                    if (item == null) {
+                        if (d) {
+                            disposed = true;
+                            downstream.onComplete();
+                            return;
+                        }
+                    } else {
+                        Observable<? extends R> p;
+                        try {
+                            p = mapper.apply(item);
+                        } catch (Throwable t) {
+                            DisposableHelper.dispose(upstream);
+                            error.compareAndSet(null, t);
+                            continue;
+                        }
+                        active = true;
+                        inner.replace(p.subscribe(new InnerObserver<>(this)));
+                        continue;
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    static final class InnerObserver<T, R> implements Observer<R> {
+        private final ConcatMapObserver<T, R> parent;
+
+        InnerObserver(ConcatMapObserver<T, R> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onNext(R item) {
+            parent.innerNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.innerError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            parent.innerComplete();
+        }
+    }
+}
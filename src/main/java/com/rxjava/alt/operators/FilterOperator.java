@@ -1,33 +1,69 @@
 package com.rxjava.alt.operators;
 
 import com.rxjava.alt.core.Observable;
-import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.Flowable;
+import com.rxjava.alt.core.Subscriber;
+import com.rxjava.alt.core.Subscription;
 import java.util.function.Predicate;
 
 public class FilterOperator {
     // Создаёт новый Observable, который принимает элементы из исходного source,
-    // проверяет их условием predicate и пересылает дальше только те, что проходят тест
+    // проверяет их условием predicate и пересылает дальше только те, что проходят тест.
+    // Как и map, filter сливается с соседними map/filter в одну стадию
     public static <T> Observable<T> filter(Observable<T> source, Predicate<? super T> predicate) {
-        return Observable.create(obs ->
-                // Подписываемся на source — получаем все события от исходного потока
-                source.subscribe(new Observer<T>() {
+        return FusedMapFilterObservable.filter(source, predicate);
+    }
+
+    // Вариант для Flowable: отброшенный элемент «съел» единицу спроса,
+    // поэтому за каждый непрошедший элемент дозапрашиваем у источника ещё один
+    public static <T> Flowable<T> filter(Flowable<T> source, Predicate<? super T> predicate) {
+        return Flowable.create(sub ->
+                source.subscribe(new Subscriber<T>() {
+                    private Subscription upstream;
+                    private boolean done;
+
+                    @Override
+                    public void onSubscribe(Subscription s) {
+                        upstream = s;
+                        sub.onSubscribe(s);
+                    }
 
-            @Override public void onNext(T item) {
-                // Если проверка прошла (true), пересылаем элемент дальше через obs.onNext(item)
-                if (predicate.test(item)) obs.onNext(item);
-            }
+                    @Override
+                    public void onNext(T item) {
+                        if (done) {
+                            return;
+                        }
+                        boolean pass;
+                        try {
+                            pass = predicate.test(item);
+                        } catch (Throwable t) {
+                            done = true;
+                            upstream.cancel();
+                            sub.onError(t);
+                            return;
+                        }
+                        if (pass) {
+                            sub.onNext(item);
+                        } else {
+                            upstream.request(1);
+                        }
+                    }
 
-            // В случае ошибки в исходном потоке передаём её в выходной поток
-            @Override
-            public void onError(Throwable t) {
-                obs.onError(t);
-            }
+                    @Override
+                    public void onError(Throwable t) {
+                        if (!done) {
+                            done = true;
+                            sub.onError(t);
+                        }
+                    }
 
-            // Когда исходный поток завершился, завершаем и фильтрующий Observable
-            @Override
-            public void onComplete() {
-                obs.onComplete();
-            }
-        }));
+                    @Override
+                    public void onComplete() {
+                        if (!done) {
+                            done = true;
+                            sub.onComplete();
+                        }
+                    }
+                }));
     }
-}
\ No newline at end of file
+}
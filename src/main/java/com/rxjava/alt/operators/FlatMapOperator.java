@@ -3,9 +3,21 @@ package com.rxjava.alt.operators;
 import com.rxjava.alt.core.Observable;
 import com.rxjava.alt.core.Observer;
 import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Flowable;
+import com.rxjava.alt.core.MissingBackpressureException;
+import com.rxjava.alt.core.Subscriber;
+import com.rxjava.alt.core.Subscription;
+import com.rxjava.alt.internal.BackpressureHelper;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.internal.SpscArrayQueue;
+import com.rxjava.alt.internal.SpscLinkedArrayQueue;
 import java.util.function.Function;
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 // FlatMapOperator — оператор, позволяющий на каждый входящий элемент создавать,
 // новый внутренний поток Observable и производить merge их выходных
@@ -20,73 +32,605 @@ public class FlatMapOperator {
             Observable<T> source,
             Function<? super T, ? extends Observable<? extends R>> mapper
     ) {
-        // Создаем новый Observable, где реализуем логику flatMap
-        return com.rxjava.alt.core.Observable.create(obs -> {
-            // Список всех подписок: основная + вложенные
-            List<Disposable> disposables = new ArrayList<>();
+        return flatMap(source, mapper, Integer.MAX_VALUE, Flowable.BUFFER_SIZE);
+    }
 
+    // maxConcurrency — сколько внутренних потоков подписано одновременно; остальные ждут в очереди
+    // и подписываются по мере завершения активных. prefetch — размер чанка очереди каждого
+    // внутреннего потока. Результат завершается, только когда завершились source и все внутренние потоки.
+    public static <T, R> Observable<R> flatMap(
+            Observable<T> source,
+            Function<? super T, ? extends Observable<? extends R>> mapper,
+            int maxConcurrency,
+            int prefetch
+    ) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        // Создаем новый Observable, где реализуем логику flatMap
+        return Observable.create(obs -> {
+            MergeObserver<T, R> parent = new MergeObserver<>(obs, mapper, maxConcurrency, prefetch);
             // Подписываемся на исходный поток source
-            Disposable main = source.subscribe(new Observer<T>() {
-                @Override
-                public void onNext(T item) {
-                    // Для каждого элемента item вызываем mapper, получая внутренний Observable
-                    Observable<? extends R> inner = mapper.apply(item);
-
-                    // Подписываемся на этот внутренний поток
-                    Disposable d = inner.subscribe(new Observer<R>() {
-                        @Override
-                        public void onNext(R r) {
-                            // Пересылаем каждое r в результирующий внешний поток
-                            obs.onNext(r);
-                        }
+            parent.setUpstream(source.subscribe(parent));
+            return parent;
+        });
+    }
 
-                        @Override
-                        public void onError(Throwable t) {
-                            // При ошибке из любого внутреннего потока сигнализируем об ошибке
-                            obs.onError(t);
-                        }
+    // Внутренние потоки могут выпускать элементы из разных потоков одновременно, поэтому
+    // выдачу в obs выполняет только один drain-цикл (счётчик wip), а элементы ждут в очередях
+    // своих внутренних подписчиков. Если никто не выдаёт и очередь пуста, элемент отдаётся сразу.
+    static final class MergeObserver<T, R> implements Observer<T>, Disposable {
+        private final Observer<? super R> downstream;
+        private final Function<? super T, ? extends Observable<? extends R>> mapper;
+        private final int maxConcurrency;
+        private final int prefetch;
+
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        // Внутренние потоки, ожидающие подписки (когда активных уже maxConcurrency)
+        private final Queue<Observable<? extends R>> sources = new ConcurrentLinkedQueue<>();
+        // Активные внутренние подписчики. Список меняет и читает только владелец drain-цикла (wip),
+        // поэтому блокировки не нужны; завершённый и опустошённый подписчик удаляется за O(1):
+        // на его место встаёт последний
+        private final ArrayList<InnerObserver<T, R>> inners = new ArrayList<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        private volatile boolean done;
+        private volatile boolean disposed;
+        // Число активных внутренних подписок, меняется только в drain
+        private int active;
+
+        MergeObserver(Observer<? super R> downstream,
+                      Function<? super T, ? extends Observable<? extends R>> mapper,
+                      int maxConcurrency, int prefetch) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.maxConcurrency = maxConcurrency;
+            this.prefetch = prefetch;
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            Observable<? extends R> inner;
+            try {
+                // Для каждого элемента item вызываем mapper, получая внутренний Observable
+                inner = mapper.apply(item);
+            } catch (Throwable t) {
+                DisposableHelper.dispose(upstream);
+                onError(t);
+                return;
+            }
+            // Подписку выполняет drain: так счётчик активных потоков меняется в одном месте
+            sources.offer(inner);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error.compareAndSet(null, t);
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            DisposableHelper.dispose(upstream);
+            if (wip.getAndIncrement() == 0) {
+                clear();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        // Вызывается только владельцем drain-цикла
+        private void clear() {
+            sources.clear();
+            for (InnerObserver<T, R> inner : inners) {
+                inner.dispose();
+            }
+            inners.clear();
+        }
+
+        private void removeInner(int index) {
+            InnerObserver<T, R> last = inners.remove(inners.size() - 1);
+            if (index < inners.size()) {
+                inners.set(index, last);
+            }
+        }
+
+        void innerError(Throwable t) {
+            error.compareAndSet(null, t);
+            DisposableHelper.dispose(upstream);
+            drain();
+        }
 
-                        @Override
-                        public void onComplete() {
-                            // Игнорируем завершение каждого отдельного внутреннего потока,
-                            // потому что общий поток завершится, когда основной source завершится.
+        // Вызывается внутренним подписчиком на каждый элемент
+        void tryEmit(InnerObserver<T, R> inner, R value) {
+            if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+                // Быстрый путь: никто не выдаёт и у этого потока нет отложенных элементов —
+                // отдаём элемент сразу, без очереди
+                if (inner.queue.isEmpty() && !disposed && error.get() == null) {
+                    downstream.onNext(value);
+                    if (wip.decrementAndGet() == 0) {
+                        return;
+                    }
+                } else {
+                    inner.queue.offer(value);
+                }
+            } else {
+                inner.queue.offer(value);
+                if (wip.getAndIncrement() != 0) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        private void drainLoop() {
+            int missed = 1;
+            for (;;) {
+                if (checkTerminated()) {
+                    return;
+                }
+
+                // Подписываемся на ожидающие внутренние потоки, пока есть свободные места
+                while (active < maxConcurrency) {
+                    Observable<? extends R> p = sources.poll();
+                    if (p == null) {
+                        break;
+                    }
+                    active++;
+                    InnerObserver<T, R> inner = new InnerObserver<>(this, prefetch);
+                    inners.add(inner);
+                    inner.setUpstream(p.subscribe(inner));
+                    if (checkTerminated()) {
+                        return;
+                    }
+                }
+
+                for (int i = 0; i < inners.size(); ) {
+                    InnerObserver<T, R> inner = inners.get(i);
+                    boolean removed = false;
+                    for (;;) {
+                        if (checkTerminated()) {
+                            return;
+                        }
+                        boolean d = inner.done;
+                        R v = inner.queue.poll();
+                        if (v == null) {
+                            if (d) {
+                                // Внутренний поток завершён и выдан полностью — освобождаем место
+                                removeInner(i);
+                                active--;
+                                removed = true;
+                            }
+                            break;
                         }
-                    });
+                        downstream.onNext(v);
+                    }
+                    if (!removed) {
+                        i++;
+                    }
+                }
+
+                if (done && active == 0 && sources.isEmpty()) {
+                    disposed = true;
+                    downstream.onComplete();
+                    return;
+                }
+
+                // Пока мы выдавали, освободились места — подписываемся на ожидающих без ухода из цикла
+                if (active < maxConcurrency && !sources.isEmpty()) {
+                    continue;
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private boolean checkTerminated() {
+            if (disposed) {
+                clear();
+                return true;
+            }
+            Throwable ex = error.get();
+            if (ex != null) {
+                // При ошибке из любого потока отменяем все остальные и сигнализируем об ошибке
+                disposed = true;
+                DisposableHelper.dispose(upstream);
+                clear();
+                downstream.onError(ex);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    static final class InnerObserver<T, R> implements Observer<R>, Disposable {
+        private final MergeObserver<T, R> parent;
+        final SpscLinkedArrayQueue<R> queue;
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        volatile boolean done;
+
+        InnerObserver(MergeObserver<T, R> parent, int prefetch) {
+            this.parent = parent;
+            this.queue = new SpscLinkedArrayQueue<>(prefetch);
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
 
-                    // Сохраняем Disposable вложенной подписки для возможности отмены
-                    disposables.add(d);
+        @Override
+        public void onNext(R item) {
+            if (!done) {
+                parent.tryEmit(this, item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            done = true;
+            parent.innerError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            // Завершение внутреннего потока лишь освобождает место — общий поток завершится,
+            // когда завершатся source и все внутренние потоки
+            done = true;
+            parent.drain();
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(upstream);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(upstream.get());
+        }
+    }
+
+    // Вариант для Flowable. Одновременно подписано не больше maxConcurrency внутренних потоков:
+    // у source запрашиваем maxConcurrency элементов и по одному дозапрашиваем, когда внутренний
+    // поток завершился. У каждого внутреннего потока своя ограниченная очередь на prefetch элементов,
+    // а выдачу подписчику выполняет единственный drain-цикл — с учётом его спроса.
+    public static <T, R> Flowable<R> flatMap(
+            Flowable<T> source,
+            Function<? super T, ? extends Flowable<? extends R>> mapper,
+            int maxConcurrency,
+            int prefetch
+    ) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency > 0 required but it was " + maxConcurrency);
+        }
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return Flowable.create(sub -> source.subscribe(new MergeSubscriber<>(sub, mapper, maxConcurrency, prefetch)));
+    }
+
+    static final class MergeSubscriber<T, R> implements Subscriber<T>, Subscription {
+        private final Subscriber<? super R> downstream;
+        private final Function<? super T, ? extends Flowable<? extends R>> mapper;
+        private final int maxConcurrency;
+        private final int prefetch;
+
+        // Только что подписанные внутренние подписчики; drain переносит их в inners
+        private final Queue<InnerSubscriber<T, R>> added = new ConcurrentLinkedQueue<>();
+        // Активные внутренние подписчики — как в MergeObserver, список принадлежит drain-циклу,
+        // а опустошённый и завершённый подписчик удаляется за O(1) заменой на последний
+        private final ArrayList<InnerSubscriber<T, R>> inners = new ArrayList<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        private Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private long emitted;
+
+        MergeSubscriber(Subscriber<? super R> downstream,
+                        Function<? super T, ? extends Flowable<? extends R>> mapper,
+                        int maxConcurrency, int prefetch) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.maxConcurrency = maxConcurrency;
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            this.upstream = s;
+            downstream.onSubscribe(this);
+            s.request(maxConcurrency == Integer.MAX_VALUE ? Long.MAX_VALUE : maxConcurrency);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            Flowable<? extends R> p;
+            try {
+                p = mapper.apply(item);
+            } catch (Throwable t) {
+                upstream.cancel();
+                onError(t);
+                return;
+            }
+            InnerSubscriber<T, R> inner = new InnerSubscriber<>(this, prefetch);
+            added.offer(inner);
+            p.subscribe(inner);
+            if (cancelled) {
+                // cancel() мог пройти, пока подписывались, и этот подписчик уже не увидеть drain-циклу
+                inner.cancel();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error.compareAndSet(null, t);
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0L) {
+                // Ошибку отдаёт drain-цикл: в этот момент он может выдавать элемент в другом потоке
+                error.compareAndSet(null, new IllegalArgumentException("n > 0 required but it was " + n));
+                upstream.cancel();
+                drain();
+                return;
+            }
+            BackpressureHelper.add(requested, n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            // Список inners трогает только владелец drain-цикла; если цикл идёт, он сам увидит cancelled
+            if (wip.getAndIncrement() == 0) {
+                cancelInners();
+            }
+        }
+
+        // Вызывается только владельцем drain-цикла
+        private void cancelInners() {
+            InnerSubscriber<T, R> inner;
+            while ((inner = added.poll()) != null) {
+                inner.cancel();
+            }
+            for (InnerSubscriber<T, R> i : inners) {
+                i.cancel();
+            }
+            inners.clear();
+        }
+
+        private void removeInner(int index) {
+            InnerSubscriber<T, R> last = inners.remove(inners.size() - 1);
+            if (index < inners.size()) {
+                inners.set(index, last);
+            }
+        }
+
+        void innerError(Throwable t) {
+            error.compareAndSet(null, t);
+            done = true;
+            upstream.cancel();
+            drain();
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            long e = emitted;
+
+            for (;;) {
+                if (checkTerminated()) {
+                    return;
                 }
+                long r = requested.get();
+                int replenishMain = 0;
 
-                @Override
-                public void onError(Throwable t) {
-                    // Если исходный поток выдал ошибку, передаем её во внешний
-                    obs.onError(t);
+                InnerSubscriber<T, R> fresh;
+                while ((fresh = added.poll()) != null) {
+                    inners.add(fresh);
                 }
 
-                @Override
-                public void onComplete() {
-                    // Когда исходный поток полностью завершился, сигнализируем окончание
-                    obs.onComplete();
+                for (int i = 0; i < inners.size(); ) {
+                    InnerSubscriber<T, R> inner = inners.get(i);
+                    if (checkTerminated()) {
+                        return;
+                    }
+                    while (e != r) {
+                        R v = inner.queue.poll();
+                        if (v == null) {
+                            break;
+                        }
+                        downstream.onNext(v);
+                        e++;
+                        inner.consumedOne();
+                        if (cancelled) {
+                            return;
+                        }
+                    }
+                    if (inner.done && inner.queue.isEmpty()) {
+                        removeInner(i);
+                        replenishMain++;
+                    } else {
+                        i++;
+                    }
                 }
-            });
-
-            // Добавляем основную подписку в список disposables
-            disposables.add(main);
-
-            // Возвращаем Disposable, который при dispose() пройдется по всем подпискам
-            // (основной + вложенные) и отменит их
-            return new Disposable() {
-                @Override
-                public void dispose() {
-                    // Отписываемся от всех потоков
-                    disposables.forEach(Disposable::dispose);
+
+                if (replenishMain != 0 && maxConcurrency != Integer.MAX_VALUE && !done) {
+                    upstream.request(replenishMain);
                 }
 
-                @Override
-                public boolean isDisposed() {
-                    return false;
+                if (done && inners.isEmpty() && added.isEmpty() && error.get() == null) {
+                    cancelled = true;
+                    downstream.onComplete();
+                    return;
                 }
-            };
-        });
+
+                emitted = e;
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private boolean checkTerminated() {
+            if (cancelled) {
+                cancelInners();
+                return true;
+            }
+            Throwable ex = error.get();
+            if (ex != null) {
+                cancelled = true;
+                upstream.cancel();
+                cancelInners();
+                downstream.onError(ex);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    static final class InnerSubscriber<T, R> implements Subscriber<R> {
+        private final MergeSubscriber<T, R> parent;
+        private final int prefetch;
+        private final int limit;
+        final SpscArrayQueue<R> queue;
+        private final AtomicReference<Subscription> upstream = new AtomicReference<>();
+        volatile boolean done;
+        // Сколько элементов забрал drain с последнего дозапроса (меняется только в drain)
+        private int consumed;
+
+        InnerSubscriber(MergeSubscriber<T, R> parent, int prefetch) {
+            this.parent = parent;
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+            this.queue = new SpscArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (upstream.compareAndSet(null, s)) {
+                s.request(prefetch);
+            } else {
+                // Уже отменён до прихода Subscription
+                s.cancel();
+            }
+        }
+
+        @Override
+        public void onNext(R item) {
+            if (!queue.offer(item)) {
+                cancel();
+                parent.innerError(new MissingBackpressureException("Inner queue is full?!"));
+                return;
+            }
+            parent.drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            done = true;
+            parent.innerError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+
+        void consumedOne() {
+            if (++consumed == limit) {
+                consumed = 0;
+                upstream.get().request(limit);
+            }
+        }
+
+        void cancel() {
+            Subscription s = upstream.getAndSet(CancelledSubscription.INSTANCE);
+            if (s != null && s != CancelledSubscription.INSTANCE) {
+                s.cancel();
+            }
+        }
+    }
+
+    enum CancelledSubscription implements Subscription {
+        INSTANCE;
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,257 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Flowable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.Subscriber;
+import com.rxjava.alt.core.Subscription;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Мосты к java.util.concurrent.Flow (HttpClient BodyPublisher/BodySubscriber, SubmissionPublisher).
+// Flowable и Flow устроены одинаково (спрос через request(n)), поэтому переход между ними —
+// перекладывание сигналов один к одному плюс правила Reactive Streams, которые наши Subscriber'ы
+// не обязаны соблюдать сами: onSubscribe первым, сигналы не пересекаются, request(n <= 0) — ошибка
+public class FlowOperator {
+
+    public static <T> Flow.Publisher<T> toPublisher(Flowable<T> source) {
+        return subscriber -> {
+            Objects.requireNonNull(subscriber, "subscriber is null");
+            source.subscribe(new PublisherBridge<>(subscriber));
+        };
+    }
+
+    // Спрос Flow.Subscription передаётся источнику как есть
+    public static <T> Flowable<T> toFlowable(Flow.Publisher<T> publisher) {
+        return Flowable.create(subscriber -> publisher.subscribe(new FlowableBridge<>(subscriber)));
+    }
+
+    // Observer спрос не выражает, поэтому у издателя запрашивается prefetch элементов и затем
+    // пополняется каждые три четверти prefetch: в пути никогда не больше prefetch элементов,
+    // а буфер издателя (например, SubmissionPublisher) остаётся ограниченным
+    public static <T> Observable<T> toObservable(Flow.Publisher<T> publisher, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return Observable.create(obs -> {
+            ObserverBridge<T> bridge = new ObserverBridge<>(obs, prefetch);
+            publisher.subscribe(bridge);
+            return bridge;
+        });
+    }
+
+    // Наш Subscriber поверх Flow.Subscriber. Ошибку request(n <= 0) нужно отдать, пока источник,
+    // возможно, выдаёт onNext в другом потоке, поэтому onNext и терминальные сигналы проходят
+    // через счётчик wip: кто застал его ненулевым, оставляет сигнал тому, кто внутри (§1.3)
+    static final class PublisherBridge<T> implements Subscriber<T>, Flow.Subscription {
+        private final Flow.Subscriber<? super T> downstream;
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final AtomicBoolean terminated = new AtomicBoolean();
+        private Subscription upstream;
+        private volatile boolean cancelled;
+
+        PublisherBridge(Flow.Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            upstream = s;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (cancelled || terminated.get()) {
+                return;
+            }
+            if (wip.compareAndSet(0, 1)) {
+                downstream.onNext(item);
+                if (wip.decrementAndGet() != 0) {
+                    emitTerminal();
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (error.compareAndSet(null, t) && wip.getAndIncrement() == 0) {
+                emitTerminal();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (wip.getAndIncrement() == 0) {
+                emitTerminal();
+            }
+        }
+
+        private void emitTerminal() {
+            if (!terminated.compareAndSet(false, true)) {
+                return;
+            }
+            Throwable t = error.get();
+            if (t != null) {
+                downstream.onError(t);
+            } else {
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (cancelled) {
+                return;
+            }
+            if (n <= 0L) {
+                cancel();
+                onError(new IllegalArgumentException("§3.9 violated: positive request amount required but it was " + n));
+                return;
+            }
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                upstream.cancel();
+            }
+        }
+    }
+
+    // Flow.Subscriber поверх нашего Subscriber: спрос и отмена идут напрямую в Flow.Subscription
+    static final class FlowableBridge<T> implements Flow.Subscriber<T>, Subscription {
+        private final Subscriber<? super T> downstream;
+        private Flow.Subscription upstream;
+
+        FlowableBridge(Subscriber<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            Objects.requireNonNull(s, "subscription is null");
+            if (upstream != null) {
+                // §2.5: вторая подписка отменяется
+                s.cancel();
+                return;
+            }
+            upstream = s;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(Objects.requireNonNull(item, "item is null"));
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(Objects.requireNonNull(t, "throwable is null"));
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            upstream.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+    }
+
+    // Flow.Subscriber поверх Observer: запрашивает prefetch вперёд и пополняет спрос пачками по limit
+    static final class ObserverBridge<T> implements Flow.Subscriber<T>, Disposable {
+        private final Observer<? super T> downstream;
+        private final int prefetch;
+        private final int limit;
+        private final AtomicReference<Flow.Subscription> upstream = new AtomicReference<>();
+        private volatile boolean disposed;
+        private boolean done;
+        // Выдано с последнего пополнения; меняется только в onNext (сигналы издателя последовательны)
+        private int consumed;
+
+        ObserverBridge(Observer<? super T> downstream, int prefetch) {
+            this.downstream = downstream;
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            Objects.requireNonNull(s, "subscription is null");
+            if (!upstream.compareAndSet(null, s)) {
+                s.cancel();
+                return;
+            }
+            if (disposed) {
+                s.cancel();
+            } else {
+                s.request(prefetch);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            Objects.requireNonNull(item, "item is null");
+            if (done || disposed) {
+                return;
+            }
+            downstream.onNext(item);
+            if (++consumed == limit) {
+                consumed = 0;
+                Flow.Subscription s = upstream.get();
+                if (!disposed) {
+                    s.request(limit);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            Objects.requireNonNull(t, "throwable is null");
+            if (!done) {
+                done = true;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            Flow.Subscription s = upstream.get();
+            if (s != null) {
+                s.cancel();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Слитая (fused) цепочка подряд идущих map и filter.
+// Вместо отдельного Observable, подписки и safe-обёртки на каждую стадию цепочка хранит массив
+// функций и подписывается на исходный source один раз: на каждый элемент — один проход по массиву.
+// Слияние происходит при сборке: MapOperator/FilterOperator, видя этот класс в качестве source,
+// не оборачивают его, а возвращают новую слитую цепочку на одну стадию длиннее.
+final class FusedMapFilterObservable<T, R> extends Observable<R> {
+    // Исходный (не слитый) поток
+    private final Observable<T> source;
+    // Стадии по порядку: Function для map или Predicate для filter
+    private final Object[] stages;
+    // filters[i] == true, если stages[i] — Predicate
+    private final boolean[] filters;
+
+    private FusedMapFilterObservable(Observable<T> source, Object[] stages, boolean[] filters) {
+        super(obs -> source.subscribe(new FusedObserver<>(obs, stages, filters)));
+        this.source = source;
+        this.stages = stages;
+        this.filters = filters;
+    }
+
+    static <T, R> Observable<R> map(Observable<T> source, Function<? super T, ? extends R> mapper) {
+        return append(source, mapper, false);
+    }
+
+    static <T> Observable<T> filter(Observable<T> source, Predicate<? super T> predicate) {
+        return append(source, predicate, true);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T, R> Observable<R> append(Observable<T> source, Object stage, boolean filter) {
+        if (source instanceof FusedMapFilterObservable) {
+            // Предыдущая стадия уже слита — удлиняем её массив, не создавая новой подписки
+            FusedMapFilterObservable<Object, T> fused = (FusedMapFilterObservable<Object, T>) source;
+            int n = fused.stages.length;
+            Object[] stages = Arrays.copyOf(fused.stages, n + 1);
+            boolean[] filters = Arrays.copyOf(fused.filters, n + 1);
+            stages[n] = stage;
+            filters[n] = filter;
+            return new FusedMapFilterObservable(fused.source, stages, filters);
+        }
+        return new FusedMapFilterObservable<>(source, new Object[] { stage }, new boolean[] { filter });
+    }
+
+    // Единственный Observer на всю цепочку. Исключение из функции пробрасывается наверх:
+    // safe-обёртка подписки на source отменит источник и передаст ошибку в onError
+    static final class FusedObserver<T, R> implements Observer<T> {
+        private final Observer<? super R> downstream;
+        private final Object[] stages;
+        private final boolean[] filters;
+
+        FusedObserver(Observer<? super R> downstream, Object[] stages, boolean[] filters) {
+            this.downstream = downstream;
+            this.stages = stages;
+            this.filters = filters;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void onNext(T item) {
+            Object v = item;
+            Object[] s = stages;
+            boolean[] f = filters;
+            for (int i = 0; i < s.length; i++) {
+                if (f[i]) {
+                    if (!((Predicate<Object>) s[i]).test(v)) {
+                        // Элемент отброшен одной из стадий — дальше по цепочке он не идёт
+                        return;
+                    }
+                } else {
+                    v = ((Function<Object, Object>) s[i]).apply(v);
+                }
+            }
+            downstream.onNext((R) v);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+    }
+}
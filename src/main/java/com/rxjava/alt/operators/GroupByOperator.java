@@ -0,0 +1,427 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.GroupedObservable;
+import com.rxjava.alt.core.MissingBackpressureException;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.SerialDisposable;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.internal.MpscLinkedQueue;
+import com.rxjava.alt.internal.SpscLinkedArrayQueue;
+import com.rxjava.alt.schedulers.Scheduler;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+// Оператор groupBy: одна подписка на источник разводит элементы по группам-Observable по ключу.
+// В отличие от N фильтров над одним источником, элемент обходится одним поиском в хэш-таблице.
+// У каждой группы своя очередь не больше bufferSize элементов; если подписчик группы не успевает
+// (или так и не подписался), группа завершается MissingBackpressureException, и следующий элемент
+// с этим ключом открывает новую. Группы без элементов дольше idleTtl завершаются и забываются,
+// так что при множестве короткоживущих ключей таблица не растёт
+public class GroupByOperator {
+    // Ключ null хранится в таблице под этим объектом
+    private static final Object NULL_KEY = new Object();
+
+    public static <T, K, V> Observable<GroupedObservable<K, V>> groupBy(
+            Observable<T> source, Function<? super T, ? extends K> keySelector,
+            Function<? super T, ? extends V> valueSelector, int bufferSize,
+            long idleTtl, TimeUnit unit, Scheduler scheduler) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        return Observable.create(obs -> {
+            GroupByObserver<T, K, V> parent = new GroupByObserver<>(obs, keySelector, valueSelector, bufferSize,
+                    scheduler == null ? 0L : unit.toNanos(idleTtl));
+            if (scheduler != null) {
+                parent.startEviction(scheduler);
+            }
+            parent.setUpstream(source.subscribe(parent));
+            return parent;
+        });
+    }
+
+    // Таблица групп в порядке доступа: get() переносит группу в конец, поэтому в начале
+    // всегда самые давно молчащие, и проверка простоя идёт с начала до первой свежей группы,
+    // не обходя всю таблицу. Таблицу меняют источник, проверка простоя и отписка групп —
+    // все под блокировкой this, но только на время работы с таблицей.
+    // Запись в группы и выдача новых групп идут через цикл выдачи (wip): обычно его сразу
+    // выполняет поток источника, а если цикл занят проверкой простоя, работа встаёт в очередь
+    // actions и её выполнит тот, кто цикл держит. Так в очереди групп пишет один поток за раз,
+    // а подписчики вызываются без блокировки
+    static final class GroupByObserver<T, K, V> implements Observer<T>, Disposable {
+        private final Observer<? super GroupedObservable<K, V>> downstream;
+        private final Function<? super T, ? extends K> keySelector;
+        private final Function<? super T, ? extends V> valueSelector;
+        private final int bufferSize;
+        private final long idleNanos;
+        private final LinkedHashMap<Object, GroupState<K, V>> groups = new LinkedHashMap<>(16, 0.75f, true);
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        private final SerialDisposable evictionTimer = new SerialDisposable();
+        private Scheduler.Worker worker;
+        // Живые группы плюс один за внешнего подписчика: источник отменяется, когда все отписались
+        private final AtomicInteger active = new AtomicInteger(1);
+        private final AtomicBoolean outerDisposed = new AtomicBoolean();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final MpscLinkedQueue<Runnable> actions = new MpscLinkedQueue<>();
+        // Защищено this
+        private boolean done;
+
+        GroupByObserver(Observer<? super GroupedObservable<K, V>> downstream,
+                        Function<? super T, ? extends K> keySelector,
+                        Function<? super T, ? extends V> valueSelector, int bufferSize, long idleNanos) {
+            this.downstream = downstream;
+            this.keySelector = keySelector;
+            this.valueSelector = valueSelector;
+            this.bufferSize = bufferSize;
+            this.idleNanos = idleNanos;
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        // Проверка раз в половину idleTtl: группа живёт без элементов от idleTtl до полутора idleTtl
+        void startEviction(Scheduler scheduler) {
+            worker = scheduler.createWorker();
+            long period = Math.max(1L, idleNanos / 2);
+            evictionTimer.replace(worker.schedulePeriodically(this::evictIdle, period, period, TimeUnit.NANOSECONDS));
+        }
+
+        private void evictIdle() {
+            List<GroupState<K, V>> idle = new ArrayList<>();
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                long now = System.nanoTime();
+                Iterator<GroupState<K, V>> it = groups.values().iterator();
+                while (it.hasNext()) {
+                    GroupState<K, V> g = it.next();
+                    if (now - g.lastNanos < idleNanos) {
+                        break;
+                    }
+                    it.remove();
+                    idle.add(g);
+                }
+            }
+            if (idle.isEmpty()) {
+                return;
+            }
+            // Завершаем через цикл выдачи: источник не должен писать в группу одновременно с нами
+            emit(() -> {
+                for (GroupState<K, V> g : idle) {
+                    g.onComplete();
+                }
+            });
+            for (int i = 0; i < idle.size(); i++) {
+                groupGone();
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            K key;
+            V value;
+            try {
+                key = keySelector.apply(item);
+                value = Objects.requireNonNull(valueSelector.apply(item), "valueSelector returned null");
+            } catch (Throwable t) {
+                DisposableHelper.dispose(upstream);
+                onError(t);
+                return;
+            }
+            GroupState<K, V> g;
+            boolean created = false;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                Object mapKey = key == null ? NULL_KEY : key;
+                g = groups.get(mapKey);
+                if (g == null) {
+                    // Новые группы больше некому выдать
+                    if (outerDisposed.get()) {
+                        return;
+                    }
+                    g = new GroupState<>(key, mapKey, this, bufferSize);
+                    groups.put(mapKey, g);
+                    active.getAndIncrement();
+                    created = true;
+                }
+                if (idleNanos != 0L) {
+                    g.lastNanos = System.nanoTime();
+                }
+            }
+            // Цикл свободен — выдаём сами, без задачи в очереди
+            if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+                offer(g, created, value);
+                int missed = wip.decrementAndGet();
+                if (missed != 0) {
+                    drainActions(missed);
+                }
+            } else {
+                GroupState<K, V> group = g;
+                boolean isNew = created;
+                emit(() -> offer(group, isNew, value));
+            }
+        }
+
+        // Выполняется только в цикле выдачи
+        private void offer(GroupState<K, V> g, boolean created, V value) {
+            if (created) {
+                downstream.onNext(GroupedObservable.create(g.key, g));
+            }
+            if (!g.offer(value)) {
+                // Группу могли уже забыть (отписка, простой) — тогда она уже не считается живой
+                boolean removed;
+                synchronized (this) {
+                    removed = groups.get(g.mapKey) == g;
+                    if (removed) {
+                        groups.remove(g.mapKey);
+                    }
+                }
+                if (removed) {
+                    groupGone();
+                }
+            }
+        }
+
+        private void emit(Runnable action) {
+            actions.offer(action);
+            if (wip.getAndIncrement() == 0) {
+                drainActions(1);
+            }
+        }
+
+        private void drainActions(int missed) {
+            for (;;) {
+                Runnable a;
+                while ((a = actions.poll()) != null) {
+                    a.run();
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            List<GroupState<K, V>> all;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                all = new ArrayList<>(groups.values());
+                groups.clear();
+            }
+            stopEviction();
+            emit(() -> {
+                for (GroupState<K, V> g : all) {
+                    g.onError(t);
+                }
+                downstream.onError(t);
+            });
+        }
+
+        @Override
+        public void onComplete() {
+            List<GroupState<K, V>> all;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                all = new ArrayList<>(groups.values());
+                groups.clear();
+            }
+            stopEviction();
+            emit(() -> {
+                for (GroupState<K, V> g : all) {
+                    g.onComplete();
+                }
+                downstream.onComplete();
+            });
+        }
+
+        // Подписчик группы отписался: забываем группу, следующий элемент с её ключом откроет новую
+        void cancelGroup(GroupState<K, V> g) {
+            boolean removed;
+            synchronized (this) {
+                removed = groups.get(g.mapKey) == g;
+                if (removed) {
+                    groups.remove(g.mapKey);
+                }
+            }
+            if (removed) {
+                groupGone();
+            }
+        }
+
+        private void groupGone() {
+            if (active.decrementAndGet() == 0) {
+                DisposableHelper.dispose(upstream);
+                stopEviction();
+            }
+        }
+
+        private void stopEviction() {
+            evictionTimer.dispose();
+            if (worker != null) {
+                worker.dispose();
+            }
+        }
+
+        // Новые группы больше не выдаются, но уже выданные продолжают получать элементы
+        @Override
+        public void dispose() {
+            if (outerDisposed.compareAndSet(false, true)) {
+                groupGone();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return outerDisposed.get();
+        }
+    }
+
+    // Очередь группы с одним подписчиком, как окно у window, но ограниченная bufferSize.
+    // Пишет в неё только цикл выдачи GroupByObserver, читает drain подписчика
+    static final class GroupState<K, V> implements Observable.OnSubscribe<V> {
+        final K key;
+        final Object mapKey;
+        private final GroupByObserver<?, K, V> parent;
+        private final int bufferSize;
+        private final SpscLinkedArrayQueue<V> queue;
+        private final AtomicBoolean once = new AtomicBoolean();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        // Время последнего элемента; пишется и читается под блокировкой parent
+        long lastNanos = System.nanoTime();
+        private volatile Observer<? super V> downstream;
+        private volatile boolean done;
+        private Throwable error;
+        private volatile boolean cancelled;
+
+        GroupState(K key, Object mapKey, GroupByObserver<?, K, V> parent, int bufferSize) {
+            this.key = key;
+            this.mapKey = mapKey;
+            this.parent = parent;
+            this.bufferSize = bufferSize;
+            this.queue = new SpscLinkedArrayQueue<>(Math.min(bufferSize, 128));
+        }
+
+        @Override
+        public Disposable call(Observer<? super V> observer) {
+            if (!once.compareAndSet(false, true)) {
+                observer.onError(new IllegalStateException("GroupedObservable allows only a single observer"));
+                return DisposableHelper.DISPOSED;
+            }
+            downstream = observer;
+            drain();
+            return new Disposable() {
+                @Override
+                public void dispose() {
+                    if (cancelled) {
+                        return;
+                    }
+                    cancelled = true;
+                    if (wip.getAndIncrement() == 0) {
+                        queue.clear();
+                    }
+                    parent.cancelGroup(GroupState.this);
+                }
+
+                @Override
+                public boolean isDisposed() {
+                    return cancelled;
+                }
+            };
+        }
+
+        // false — очередь переполнена: группа завершена ошибкой, и её нужно забыть
+        boolean offer(V value) {
+            if (done || cancelled) {
+                return true;
+            }
+            if (queue.size() >= bufferSize) {
+                onError(new MissingBackpressureException("Group " + key + " queue is full (" + bufferSize + ")"));
+                return false;
+            }
+            queue.offer(value);
+            drain();
+            return true;
+        }
+
+        void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            drain();
+        }
+
+        void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                Observer<? super V> a = downstream;
+                if (cancelled) {
+                    queue.clear();
+                    return;
+                }
+                if (a != null) {
+                    for (;;) {
+                        boolean d = done;
+                        V v = queue.poll();
+                        if (v == null) {
+                            if (d) {
+                                cancelled = true;
+                                Throwable ex = error;
+                                if (ex != null) {
+                                    a.onError(ex);
+                                } else {
+                                    a.onComplete();
+                                }
+                                return;
+                            }
+                            break;
+                        }
+                        a.onNext(v);
+                        if (cancelled) {
+                            queue.clear();
+                            return;
+                        }
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.rxjava.alt.operators;
 
 import com.rxjava.alt.core.Observable;
-import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.Flowable;
+import com.rxjava.alt.core.Subscriber;
+import com.rxjava.alt.core.Subscription;
 import java.util.function.Function;
 
 // Оператор, преобразующий каждый элемент входящего Observable<T> в новый элемент типа R
@@ -11,34 +13,66 @@ public class MapOperator {
 
     // Создаёт новый Observable<R>, который подписывается на исходный source,
     // получает элементы T, применяет функцию mapper, и передаёт результат R дальше.
+    // Подряд идущие map/filter сливаются в одну стадию: если source сам является слитой цепочкой,
+    // mapper просто добавляется в её конец, и при подписке создаётся один Observer на всю цепочку.
     public static <T, R> Observable<R> map(
             Observable<T> source,
             Function<? super T, ? extends R> mapper
     ) {
-        // Здесь мы создаем «обёрточный» Observable:
-        return Observable.create(obs ->
-                // Подписываемся на source — теперь все события source будут перехвачены
-                source.subscribe(new Observer<T>() {
+        return FusedMapFilterObservable.map(source, mapper);
+    }
+
+    // Вариант для Flowable: map выдаёт ровно один элемент на каждый входящий,
+    // поэтому Subscription источника передаём подписчику без изменений — спрос проходит насквозь.
+    public static <T, R> Flowable<R> map(
+            Flowable<T> source,
+            Function<? super T, ? extends R> mapper
+    ) {
+        return Flowable.create(sub ->
+                source.subscribe(new Subscriber<T>() {
+                    private Subscription upstream;
+                    private boolean done;
+
+                    @Override
+                    public void onSubscribe(Subscription s) {
+                        upstream = s;
+                        sub.onSubscribe(s);
+                    }
+
                     @Override
                     public void onNext(T item) {
-                        // Для каждого пришедшего item вызываем mapper.apply(item)
-                        R mapped = mapper.apply(item);
-                        // И пересылаем полученное значение в следующий Observable (obs)
-                        obs.onNext(mapped);
+                        if (done) {
+                            return;
+                        }
+                        R mapped;
+                        try {
+                            mapped = mapper.apply(item);
+                        } catch (Throwable t) {
+                            // Ошибка в mapper: отменяем источник и передаём ошибку дальше
+                            done = true;
+                            upstream.cancel();
+                            sub.onError(t);
+                            return;
+                        }
+                        sub.onNext(mapped);
                     }
 
                     @Override
                     public void onError(Throwable t) {
-                        // Если в source произошла ошибка — передаём её дальше
-                        obs.onError(t);
+                        if (!done) {
+                            done = true;
+                            sub.onError(t);
+                        }
                     }
 
                     @Override
                     public void onComplete() {
-                        // Когда source завершился, завершает и «mapped» поток
-                        obs.onComplete();
+                        if (!done) {
+                            done = true;
+                            sub.onComplete();
+                        }
                     }
                 })
         );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,171 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Memoizer — кэш результатов дорогих запросов по ключу: apply(key) возвращает Observable,
+// который при подписке берёт готовый результат из кэша или запускает loader.apply(key).
+// Каждый загруженный результат — это cache() над запросом, поэтому одновременные подписчики
+// на один ключ (в том числе ещё не завершённый запрос) делят одну подписку на источник.
+// Ошибочный результат в кэше не остаётся: следующая подписка загрузит ключ заново.
+// Записи живут не дольше ttl с момента загрузки; при переполнении вытесняется запись по policy.
+public class Memoizer<K, V> implements Function<K, Observable<V>> {
+
+    public enum Eviction {
+        // Вытесняется запись, к которой дольше всех не обращались
+        LRU,
+        // Вытесняется запись с наименьшим числом обращений (поиск — проход по записям, только при вытеснении)
+        LFU
+    }
+
+    private final Function<? super K, ? extends Observable<V>> loader;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Eviction policy;
+    // Защищён this. Для LRU — порядок доступа, для LFU — обычный HashMap
+    private final Map<K, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public Memoizer(Function<? super K, ? extends Observable<V>> loader, int maxEntries, Duration ttl, Eviction policy) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries > 0 required but it was " + maxEntries);
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl > 0 required but it was " + ttl);
+        }
+        this.loader = loader;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.policy = policy;
+        this.entries = policy == Eviction.LRU ? new LinkedHashMap<>(16, 0.75f, true) : new HashMap<>();
+    }
+
+    @Override
+    public Observable<V> apply(K key) {
+        // Поиск в кэше откладывается до подписки: иначе между сборкой и подпиской запись может устареть
+        return Observable.create(obs -> lookup(key).subscribe(obs));
+    }
+
+    private synchronized Observable<V> lookup(K key) {
+        Entry<V> e = entries.get(key);
+        if (e != null && System.nanoTime() - e.loadedAt < ttlNanos) {
+            e.frequency++;
+            hits.increment();
+            return e.value;
+        }
+        if (e != null) {
+            entries.remove(key);
+            evictions.increment();
+        }
+        misses.increment();
+        if (entries.size() >= maxEntries) {
+            evictOne();
+        }
+        Entry<V> created = new Entry<>();
+        // Сам loader вызывается уже при подписке, вне блокировки: он может быть дорогим
+        created.value = MulticastOperator.cache(load(key, created), Integer.MAX_VALUE);
+        entries.put(key, created);
+        return created.value;
+    }
+
+    // Ошибку отдаём подписчикам, но запись удаляем, чтобы не закэшировать сбой
+    private Observable<V> load(K key, Entry<V> entry) {
+        return Observable.create(obs -> {
+            Observable<V> source;
+            try {
+                source = loader.apply(key);
+            } catch (Throwable t) {
+                remove(key, entry);
+                obs.onError(t);
+                return () -> {};
+            }
+            return source.subscribe(new Observer<V>() {
+                @Override
+                public void onNext(V item) {
+                    obs.onNext(item);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    remove(key, entry);
+                    obs.onError(t);
+                }
+
+                @Override
+                public void onComplete() {
+                    obs.onComplete();
+                }
+            });
+        });
+    }
+
+    // Вызывается под this
+    private void evictOne() {
+        Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+        if (!it.hasNext()) {
+            return;
+        }
+        if (policy == Eviction.LRU) {
+            // Первая запись LinkedHashMap в порядке доступа — самая давняя
+            it.next();
+            it.remove();
+        } else {
+            K victim = null;
+            long min = Long.MAX_VALUE;
+            for (Map.Entry<K, Entry<V>> e : entries.entrySet()) {
+                if (e.getValue().frequency < min) {
+                    min = e.getValue().frequency;
+                    victim = e.getKey();
+                }
+            }
+            entries.remove(victim);
+        }
+        evictions.increment();
+    }
+
+    private synchronized void remove(K key, Entry<V> entry) {
+        entries.remove(key, entry);
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    static final class Entry<V> {
+        final long loadedAt = System.nanoTime();
+        // Защищено Memoizer.this
+        long frequency = 1;
+        // Заполняется под Memoizer.this до того, как запись попадёт в карту
+        Observable<V> value;
+    }
+}
@@ -0,0 +1,282 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.ConnectableObservable;
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.subjects.ReplaySubject;
+import com.rxjava.alt.subjects.Subject;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// MulticastOperator — раздача одного источника многим подписчикам через Subject.
+// publish() использует PublishSubject, replay(n) — ReplaySubject с ограничением размера.
+// На каждое подключение создаётся свой Subject, поэтому после завершения или отключения
+// следующий connect() снова запускает источник с чистого листа.
+public class MulticastOperator {
+
+    public static <T> ConnectableObservable<T> multicast(Observable<T> source,
+                                                          Supplier<? extends Subject<T>> subjectFactory) {
+        MulticastState<T> state = new MulticastState<>(source, subjectFactory);
+        return new MulticastObservable<>(state);
+    }
+
+    public static <T> Observable<T> refCount(ConnectableObservable<T> source) {
+        RefCountState<T> state = new RefCountState<>(source);
+        return Observable.<T>create(state::subscribe);
+    }
+
+    // Подключается к source при первой подписке и больше не отключается: все подписчики,
+    // в том числе поздние, получают сохранённые элементы (не больше maxSize последних) из ReplaySubject
+    public static <T> Observable<T> cache(Observable<T> source, int maxSize) {
+        ReplaySubject<T> subject = maxSize == Integer.MAX_VALUE ? ReplaySubject.create() : ReplaySubject.createWithSize(maxSize);
+        AtomicBoolean connected = new AtomicBoolean();
+        return Observable.create(obs -> {
+            Disposable d = subject.subscribe(obs);
+            if (!connected.get() && connected.compareAndSet(false, true)) {
+                source.subscribe(subject);
+            }
+            return d;
+        });
+    }
+
+    static final class MulticastObservable<T> extends ConnectableObservable<T> {
+        private final MulticastState<T> state;
+
+        MulticastObservable(MulticastState<T> state) {
+            super(state);
+            this.state = state;
+        }
+
+        @Override
+        public Disposable connect() {
+            AtomicReference<Disposable> connection = new AtomicReference<>();
+            state.connect(connection::set);
+            return connection.get();
+        }
+
+        @Override
+        public void connect(Consumer<? super Disposable> onConnect) {
+            state.connect(onConnect);
+        }
+
+        @Override
+        public void reset() {
+            state.reset();
+        }
+    }
+
+    static final class MulticastState<T> implements Observable.OnSubscribe<T> {
+        private final Observable<T> source;
+        private final Supplier<? extends Subject<T>> subjectFactory;
+        private final AtomicReference<Connection<T>> current = new AtomicReference<>();
+
+        MulticastState(Observable<T> source, Supplier<? extends Subject<T>> subjectFactory) {
+            this.source = source;
+            this.subjectFactory = subjectFactory;
+        }
+
+        // Подключение, к которому встают новые подписчики; создаётся, если его ещё нет
+        private Connection<T> currentConnection() {
+            for (;;) {
+                Connection<T> c = current.get();
+                if (c != null) {
+                    return c;
+                }
+                Connection<T> fresh = new Connection<>(this, subjectFactory.get());
+                if (current.compareAndSet(null, fresh)) {
+                    return fresh;
+                }
+            }
+        }
+
+        @Override
+        public Disposable call(Observer<? super T> observer) {
+            return currentConnection().subject.subscribe(observer);
+        }
+
+        // onConnect получает подключение до подписки на источник: его можно отменить раньше,
+        // чем синхронный источник выдаст хоть что-то
+        void connect(Consumer<? super Disposable> onConnect) {
+            for (;;) {
+                Connection<T> c = currentConnection();
+                // Прошлое подключение уже отработало — начинаем новое
+                if (c.connected.get() && (c.subject.isTerminated() || c.isDisposed())) {
+                    current.compareAndSet(c, null);
+                    continue;
+                }
+                if (c.connected.compareAndSet(false, true)) {
+                    onConnect.accept(c);
+                    if (!c.isDisposed()) {
+                        DisposableHelper.setOnce(c.upstream, source.subscribe(c.subject));
+                    }
+                } else {
+                    onConnect.accept(c);
+                }
+                return;
+            }
+        }
+
+        void reset() {
+            Connection<T> c = current.get();
+            if (c != null && c.connected.get() && (c.subject.isTerminated() || c.isDisposed())) {
+                current.compareAndSet(c, null);
+            }
+        }
+    }
+
+    static final class Connection<T> implements Disposable {
+        private final MulticastState<T> parent;
+        final Subject<T> subject;
+        final AtomicBoolean connected = new AtomicBoolean();
+        final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+        Connection(MulticastState<T> parent, Subject<T> subject) {
+            this.parent = parent;
+            this.subject = subject;
+        }
+
+        // Отключает источник; подписчики этого подключения больше ничего не получат
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(upstream);
+            parent.current.compareAndSet(this, null);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(upstream.get());
+        }
+    }
+
+    // Подписчики одного подключения — одно поколение (RefConnection). Поколение кончается, когда его
+    // счётчик падает до нуля: под той же блокировкой оно отключается и source.reset() забывает
+    // подключение, поэтому подписчик следующего поколения гарантированно встаёт уже в новое.
+    // Счётчик меняется только при подписке и отписке, не на элементах, поэтому блокировка
+    // не влияет на стоимость раздачи
+    static final class RefCountState<T> {
+        private final ConnectableObservable<T> source;
+        // Защищено this
+        private RefConnection current;
+
+        RefCountState(ConnectableObservable<T> source) {
+            this.source = source;
+        }
+
+        Disposable subscribe(Observer<? super T> observer) {
+            RefConnection conn;
+            boolean connect;
+            synchronized (this) {
+                conn = current;
+                if (conn == null) {
+                    conn = new RefConnection();
+                    current = conn;
+                }
+                connect = ++conn.count == 1;
+            }
+            RefConnection generation = conn;
+            RefCountObserver<T> parent = new RefCountObserver<>(observer, this, generation);
+            // Сначала встаём в раздачу, потом подключаемся: синхронный источник выдаст всё прямо в connect()
+            parent.setUpstream(source.subscribe(parent));
+            if (connect) {
+                source.connect(d -> connected(generation, d));
+            }
+            return parent;
+        }
+
+        private void connected(RefConnection conn, Disposable d) {
+            synchronized (this) {
+                if (!conn.released) {
+                    conn.connection = d;
+                    return;
+                }
+                // Поколение ушло раньше, чем подключилось. Если уже началось следующее, оно встало
+                // в это же подключение и получит его своим connect(), — тогда не трогаем
+                if (current != null) {
+                    return;
+                }
+                d.dispose();
+                source.reset();
+            }
+        }
+
+        void release(RefConnection conn) {
+            synchronized (this) {
+                if (--conn.count != 0) {
+                    return;
+                }
+                conn.released = true;
+                current = null;
+                Disposable d = conn.connection;
+                // Подключение ещё не пришло — его снимет connected()
+                if (d != null) {
+                    d.dispose();
+                    // Следующий подписчик должен встать в новое подключение, а не в завершённое
+                    source.reset();
+                }
+            }
+        }
+    }
+
+    // Поля защищены блокировкой RefCountState
+    static final class RefConnection {
+        int count;
+        Disposable connection;
+        boolean released;
+    }
+
+    // Снимает свою долю счётчика ровно один раз — при отписке или при завершении потока
+    static final class RefCountObserver<T> extends AtomicBoolean implements Observer<T>, Disposable {
+        private final Observer<? super T> downstream;
+        private final RefCountState<T> state;
+        private final RefConnection generation;
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+        RefCountObserver(Observer<? super T> downstream, RefCountState<T> state, RefConnection generation) {
+            this.downstream = downstream;
+            this.state = state;
+            this.generation = generation;
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (compareAndSet(false, true)) {
+                state.release(generation);
+            }
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            if (compareAndSet(false, true)) {
+                state.release(generation);
+            }
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(upstream);
+            if (compareAndSet(false, true)) {
+                state.release(generation);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get();
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Flowable;
+import com.rxjava.alt.core.MissingBackpressureException;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.Subscriber;
+import com.rxjava.alt.core.Subscription;
+import com.rxjava.alt.internal.BackpressureHelper;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.internal.SpscArrayQueue;
+import com.rxjava.alt.internal.SpscLinkedArrayQueue;
+import com.rxjava.alt.schedulers.Scheduler;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Оператор observeOn: переносит доставку событий в другой Scheduler.
+// Элементы складываются в очередь, а отдельная задача-«сливщик» (drain) выдаёт их подписчику
+// в исходном порядке. Одновременно работает не больше одного сливщика — это гарантирует счётчик wip.
+// Сливщик планируется на Worker, выделенный подписке: отмена подписки освобождает и его задачи.
+public class ObserveOnOperator {
+
+    // Вариант для Observable. Источник не умеет ждать, поэтому очередь растёт чанками по bufferSize
+    // элементов, а bufferSize одновременно задаёт размер пачки: выдав столько элементов подряд,
+    // сливщик перепланирует себя и отпускает поток пула другим задачам.
+    public static <T> Observable<T> observeOn(Observable<T> source, Scheduler scheduler, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        return Observable.create(obs -> {
+            ObserveOnObserver<T> parent = new ObserveOnObserver<>(obs, scheduler.createWorker(), bufferSize);
+            parent.setUpstream(source.subscribe(parent));
+            return parent;
+        });
+    }
+
+    public static <T> Flowable<T> observeOn(Flowable<T> source, Scheduler scheduler, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch > 0 required but it was " + prefetch);
+        }
+        return Flowable.create(sub -> source.subscribe(new ObserveOnSubscriber<>(sub, scheduler.createWorker(), prefetch)));
+    }
+
+    // Очередь ограничена prefetch: у источника запрашиваем prefetch элементов и дозапрашиваем
+    // пачкой limit (3/4 prefetch) по мере того, как подписчик их забирает
+    static final class ObserveOnSubscriber<T> implements Subscriber<T>, Subscription, Runnable {
+        private final Subscriber<? super T> downstream;
+        private final Scheduler.Worker worker;
+        private final int prefetch;
+        private final int limit;
+        private final SpscArrayQueue<T> queue;
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicLong requested = new AtomicLong();
+
+        private Subscription upstream;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private Throwable error;
+        // Ошибка request(n <= 0): её отдаёт сливщик, потому что в этот момент он может выдавать элемент
+        private volatile Throwable badRequest;
+
+        // Сколько элементов выдано подписчику и сколько забрано из очереди с последнего дозапроса.
+        // Меняются только внутри drain, который всегда однопоточен
+        private long emitted;
+        private long consumed;
+
+        ObserveOnSubscriber(Subscriber<? super T> downstream, Scheduler.Worker worker, int prefetch) {
+            this.downstream = downstream;
+            this.worker = worker;
+            this.prefetch = prefetch;
+            this.limit = prefetch - (prefetch >> 2);
+            this.queue = new SpscArrayQueue<>(prefetch);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            this.upstream = s;
+            downstream.onSubscribe(this);
+            s.request(prefetch);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            if (!queue.offer(item)) {
+                // Источник выдал больше, чем у него запросили
+                upstream.cancel();
+                error = new MissingBackpressureException("Queue is full?!");
+                done = true;
+            }
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0L) {
+                upstream.cancel();
+                badRequest = new IllegalArgumentException("n > 0 required but it was " + n);
+                schedule();
+                return;
+            }
+            BackpressureHelper.add(requested, n);
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            upstream.cancel();
+            worker.dispose();
+            if (wip.getAndIncrement() == 0) {
+                queue.clear();
+            }
+        }
+
+        // Планируем сливщик, только если он ещё не запущен
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                worker.schedule(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            long e = emitted;
+            long c = consumed;
+
+            for (;;) {
+                long r = requested.get();
+
+                while (e != r) {
+                    boolean d = done;
+                    T v = queue.poll();
+                    boolean empty = v == null;
+
+                    if (checkTerminated(d, empty)) {
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+
+                    downstream.onNext(v);
+                    e++;
+                    if (++c == limit) {
+                        c = 0;
+                        upstream.request(limit);
+                    }
+                }
+
+                if (e == r && checkTerminated(done, queue.isEmpty())) {
+                    return;
+                }
+
+                emitted = e;
+                consumed = c;
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private boolean checkTerminated(boolean d, boolean empty) {
+            if (cancelled) {
+                queue.clear();
+                return true;
+            }
+            Throwable bad = badRequest;
+            if (bad != null) {
+                cancelled = true;
+                queue.clear();
+                downstream.onError(bad);
+                worker.dispose();
+                return true;
+            }
+            if (d) {
+                Throwable ex = error;
+                if (ex != null) {
+                    // Ошибку отдаём сразу, не дожидаясь выдачи оставшихся элементов
+                    cancelled = true;
+                    queue.clear();
+                    downstream.onError(ex);
+                    worker.dispose();
+                    return true;
+                }
+                if (empty) {
+                    cancelled = true;
+                    downstream.onComplete();
+                    worker.dispose();
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    // Одна очередь и одна задача-сливщик на подписку вместо Runnable на каждый сигнал.
+    // Пока сливщик работает, новые элементы только кладутся в очередь и увеличивают wip.
+    static final class ObserveOnObserver<T> implements Observer<T>, Disposable, Runnable {
+        private final Observer<? super T> downstream;
+        private final Scheduler.Worker worker;
+        private final int batchSize;
+        private final SpscLinkedArrayQueue<T> queue;
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+
+        private volatile boolean done;
+        private volatile boolean disposed;
+        private Throwable error;
+
+        ObserveOnObserver(Observer<? super T> downstream, Scheduler.Worker worker, int batchSize) {
+            this.downstream = downstream;
+            this.worker = worker;
+            this.batchSize = batchSize;
+            this.queue = new SpscLinkedArrayQueue<>(batchSize);
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            queue.offer(item);
+            schedule();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            schedule();
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            DisposableHelper.dispose(upstream);
+            worker.dispose();
+            if (wip.getAndIncrement() == 0) {
+                queue.clear();
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        private void schedule() {
+            if (wip.getAndIncrement() == 0) {
+                worker.schedule(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            int emitted = 0;
+
+            for (;;) {
+                for (;;) {
+                    boolean d = done;
+                    T v = queue.poll();
+                    boolean empty = v == null;
+
+                    if (checkTerminated(d, empty)) {
+                        return;
+                    }
+                    if (empty) {
+                        break;
+                    }
+
+                    downstream.onNext(v);
+
+                    if (++emitted == batchSize) {
+                        // Пачка выдана: уступаем поток, wip не сбрасываем — второй сливщик не запустится
+                        worker.schedule(this);
+                        return;
+                    }
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        private boolean checkTerminated(boolean d, boolean empty) {
+            if (disposed) {
+                queue.clear();
+                return true;
+            }
+            if (d) {
+                Throwable ex = error;
+                if (ex != null) {
+                    disposed = true;
+                    queue.clear();
+                    downstream.onError(ex);
+                    worker.dispose();
+                    return true;
+                }
+                if (empty) {
+                    disposed = true;
+                    downstream.onComplete();
+                    worker.dispose();
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
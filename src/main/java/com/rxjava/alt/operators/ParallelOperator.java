@@ -0,0 +1,621 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.CompositeDisposable;
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.ParallelObservable;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.internal.SpscLinkedArrayQueue;
+import com.rxjava.alt.operators.ObserveOnOperator.ObserveOnObserver;
+import com.rxjava.alt.schedulers.Scheduler;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+// Операторы ParallelObservable: разбиение потока на рельсы, перенос рельс на Worker'ы,
+// поэлементные стадии внутри рельс и обратная сборка рельс в один Observable.
+// Внутри одной рельсы сигналы идут последовательно, разные рельсы работают одновременно.
+public class ParallelOperator {
+
+    // Раздаёт элементы по рельсам по кругу. Раздача идёт в потоке источника, поэтому сама по себе
+    // ничего не распараллеливает — для этого после неё нужен runOn()
+    public static <T> ParallelObservable<T> from(Observable<T> source, int parallelism) {
+        return ParallelObservable.create(parallelism, rails -> source.subscribe(new Observer<T>() {
+            private int index;
+
+            @Override
+            public void onNext(T item) {
+                int i = index;
+                rails[i].onNext(item);
+                index = i + 1 == rails.length ? 0 : i + 1;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                for (Observer<? super T> rail : rails) {
+                    rail.onError(t);
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                for (Observer<? super T> rail : rails) {
+                    rail.onComplete();
+                }
+            }
+        }));
+    }
+
+    // Каждая рельса — отдельный observeOn со своим Worker'ом: поток источника только кладёт
+    // элемент в очередь рельсы, а обработка дальше по цепочке идёт на Worker'е
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> ParallelObservable<T> runOn(ParallelObservable<T> source, Scheduler scheduler, int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        int n = source.parallelism();
+        return ParallelObservable.create(n, rails -> {
+            ObserveOnObserver<T>[] parents = new ObserveOnObserver[n];
+            for (int i = 0; i < n; i++) {
+                parents[i] = new ObserveOnObserver<>(rails[i], scheduler.createWorker(), bufferSize);
+            }
+            Disposable d = source.subscribe(parents);
+            for (ObserveOnObserver<T> parent : parents) {
+                parent.setUpstream(d);
+            }
+            return new CompositeDisposable(parents);
+        });
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T, R> ParallelObservable<R> map(ParallelObservable<T> source, Function<? super T, ? extends R> mapper) {
+        int n = source.parallelism();
+        return ParallelObservable.create(n, rails -> {
+            Observer<? super T>[] parents = new Observer[n];
+            for (int i = 0; i < n; i++) {
+                parents[i] = new MapRail<>(rails[i], mapper);
+            }
+            return source.subscribe(parents);
+        });
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T> ParallelObservable<T> filter(ParallelObservable<T> source, Predicate<? super T> predicate) {
+        int n = source.parallelism();
+        return ParallelObservable.create(n, rails -> {
+            Observer<? super T>[] parents = new Observer[n];
+            for (int i = 0; i < n; i++) {
+                parents[i] = new FilterRail<>(rails[i], predicate);
+            }
+            return source.subscribe(parents);
+        });
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static <T, R> ParallelObservable<R> reduce(ParallelObservable<T> source, Supplier<R> seed,
+                                                      BiFunction<R, ? super T, R> reducer) {
+        int n = source.parallelism();
+        return ParallelObservable.create(n, rails -> {
+            Observer<? super T>[] parents = new Observer[n];
+            for (int i = 0; i < n; i++) {
+                parents[i] = new ReduceRail<>(rails[i], seed.get(), reducer);
+            }
+            return source.subscribe(parents);
+        });
+    }
+
+    public static <T> Observable<T> reduce(ParallelObservable<T> source, BinaryOperator<T> reducer) {
+        return Observable.create(obs -> {
+            ReduceJoin<T> parent = new ReduceJoin<>(obs, source.parallelism(), reducer);
+            parent.setUpstream(source.subscribe(parent.rails()));
+            return parent;
+        });
+    }
+
+    public static <T> Observable<T> sequential(ParallelObservable<T> source) {
+        return Observable.create(obs -> {
+            SequentialJoin<T> parent = new SequentialJoin<>(obs, source.parallelism());
+            parent.setUpstream(source.subscribe(parent.rails()));
+            return parent;
+        });
+    }
+
+    public static <T> Observable<T> sorted(ParallelObservable<T> source, Comparator<? super T> comparator) {
+        return Observable.create(obs -> {
+            SortedJoin<T> parent = new SortedJoin<>(obs, source.parallelism(), comparator);
+            parent.setUpstream(source.subscribe(parent.rails()));
+            return parent;
+        });
+    }
+
+    // Поэлементные стадии рельсы: исключение из функции завершает рельсу ошибкой,
+    // а сборщик рельс на первой же ошибке отменяет остальные
+    static final class MapRail<T, R> implements Observer<T> {
+        private final Observer<? super R> downstream;
+        private final Function<? super T, ? extends R> mapper;
+        private boolean done;
+
+        MapRail(Observer<? super R> downstream, Function<? super T, ? extends R> mapper) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            R mapped;
+            try {
+                mapped = mapper.apply(item);
+            } catch (Throwable t) {
+                done = true;
+                downstream.onError(t);
+                return;
+            }
+            downstream.onNext(mapped);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+    }
+
+    static final class FilterRail<T> implements Observer<T> {
+        private final Observer<? super T> downstream;
+        private final Predicate<? super T> predicate;
+        private boolean done;
+
+        FilterRail(Observer<? super T> downstream, Predicate<? super T> predicate) {
+            this.downstream = downstream;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            boolean pass;
+            try {
+                pass = predicate.test(item);
+            } catch (Throwable t) {
+                done = true;
+                downstream.onError(t);
+                return;
+            }
+            if (pass) {
+                downstream.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                downstream.onComplete();
+            }
+        }
+    }
+
+    static final class ReduceRail<T, R> implements Observer<T> {
+        private final Observer<? super R> downstream;
+        private final BiFunction<R, ? super T, R> reducer;
+        private R value;
+        private boolean done;
+
+        ReduceRail(Observer<? super R> downstream, R seed, BiFunction<R, ? super T, R> reducer) {
+            this.downstream = downstream;
+            this.value = seed;
+            this.reducer = reducer;
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done) {
+                return;
+            }
+            try {
+                value = reducer.apply(value, item);
+            } catch (Throwable t) {
+                done = true;
+                value = null;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!done) {
+                done = true;
+                value = null;
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!done) {
+                done = true;
+                R v = value;
+                value = null;
+                downstream.onNext(v);
+                downstream.onComplete();
+            }
+        }
+    }
+
+    // Общая часть сборщиков рельс: Observer'ы рельс с их номерами, подписка на рельсы
+    // и единственный терминальный сигнал вниз — первая ошибка любой рельсы отменяет все остальные
+    abstract static class RailJoin<T, R> implements Disposable {
+        final Observer<? super R> downstream;
+        final int parallelism;
+        final AtomicInteger remaining;
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        volatile boolean disposed;
+
+        RailJoin(Observer<? super R> downstream, int parallelism) {
+            this.downstream = downstream;
+            this.parallelism = parallelism;
+            this.remaining = new AtomicInteger(parallelism);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Observer<? super T>[] rails() {
+            Observer<? super T>[] rails = new Observer[parallelism];
+            for (int i = 0; i < parallelism; i++) {
+                int index = i;
+                rails[i] = new Observer<T>() {
+                    @Override
+                    public void onNext(T item) {
+                        railNext(index, item);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        railError(t);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        railComplete(index);
+                    }
+                };
+            }
+            return rails;
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        void cancelRails() {
+            DisposableHelper.dispose(upstream);
+        }
+
+        abstract void railNext(int index, T item);
+
+        abstract void railError(Throwable t);
+
+        abstract void railComplete(int index);
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    // Рельсы выдают элементы из разных потоков, поэтому у каждой своя SPSC-очередь,
+    // а в downstream пишет только один drain-цикл (счётчик wip). Если никто не выдаёт
+    // и очередь рельсы пуста, элемент отдаётся сразу, минуя очередь.
+    static final class SequentialJoin<T> extends RailJoin<T, T> {
+        private final SpscLinkedArrayQueue<T>[] queues;
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        SequentialJoin(Observer<? super T> downstream, int parallelism) {
+            super(downstream, parallelism);
+            this.queues = new SpscLinkedArrayQueue[parallelism];
+            for (int i = 0; i < parallelism; i++) {
+                queues[i] = new SpscLinkedArrayQueue<>(16);
+            }
+        }
+
+        @Override
+        void railNext(int index, T item) {
+            if (wip.get() == 0 && wip.compareAndSet(0, 1)) {
+                SpscLinkedArrayQueue<T> q = queues[index];
+                if (q.isEmpty() && !disposed) {
+                    downstream.onNext(item);
+                } else {
+                    q.offer(item);
+                }
+                if (wip.decrementAndGet() == 0) {
+                    return;
+                }
+            } else {
+                queues[index].offer(item);
+                if (wip.getAndIncrement() != 0) {
+                    return;
+                }
+            }
+            drainLoop();
+        }
+
+        @Override
+        void railError(Throwable t) {
+            if (error.compareAndSet(null, t)) {
+                cancelRails();
+                drain();
+            }
+        }
+
+        @Override
+        void railComplete(int index) {
+            remaining.decrementAndGet();
+            drain();
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            cancelRails();
+            if (wip.getAndIncrement() == 0) {
+                clear();
+            }
+        }
+
+        private void clear() {
+            for (SpscLinkedArrayQueue<T> q : queues) {
+                q.clear();
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() == 0) {
+                drainLoop();
+            }
+        }
+
+        private void drainLoop() {
+            int missed = 1;
+            for (;;) {
+                for (;;) {
+                    if (disposed) {
+                        clear();
+                        return;
+                    }
+                    Throwable ex = error.get();
+                    if (ex != null) {
+                        disposed = true;
+                        clear();
+                        downstream.onError(ex);
+                        return;
+                    }
+                    // Счётчик читаем до опроса очередей: всё, что рельса положила до завершения, мы увидим
+                    boolean d = remaining.get() == 0;
+                    boolean empty = true;
+                    for (SpscLinkedArrayQueue<T> q : queues) {
+                        T v = q.poll();
+                        if (v != null) {
+                            empty = false;
+                            downstream.onNext(v);
+                            if (disposed) {
+                                break;
+                            }
+                        }
+                    }
+                    if (empty) {
+                        if (d) {
+                            disposed = true;
+                            downstream.onComplete();
+                            return;
+                        }
+                        break;
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    // Каждая рельса сворачивает свои элементы без синхронизации; результаты сводит поток,
+    // завершивший последнюю рельсу (декремент remaining публикует значения рельс)
+    static final class ReduceJoin<T> extends RailJoin<T, T> {
+        private final BinaryOperator<T> reducer;
+        private final Object[] values;
+        private final AtomicBoolean terminated = new AtomicBoolean();
+
+        ReduceJoin(Observer<? super T> downstream, int parallelism, BinaryOperator<T> reducer) {
+            super(downstream, parallelism);
+            this.reducer = reducer;
+            this.values = new Object[parallelism];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void railNext(int index, T item) {
+            if (disposed) {
+                return;
+            }
+            T v = (T) values[index];
+            try {
+                values[index] = v == null ? item : reducer.apply(v, item);
+            } catch (Throwable t) {
+                railError(t);
+            }
+        }
+
+        @Override
+        void railError(Throwable t) {
+            if (terminated.compareAndSet(false, true)) {
+                disposed = true;
+                cancelRails();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void railComplete(int index) {
+            if (remaining.decrementAndGet() != 0 || !terminated.compareAndSet(false, true)) {
+                return;
+            }
+            T result = null;
+            try {
+                for (Object v : values) {
+                    if (v != null) {
+                        result = result == null ? (T) v : reducer.apply(result, (T) v);
+                    }
+                }
+            } catch (Throwable t) {
+                disposed = true;
+                downstream.onError(t);
+                return;
+            }
+            disposed = true;
+            if (result != null) {
+                downstream.onNext(result);
+            }
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            if (terminated.compareAndSet(false, true)) {
+                disposed = true;
+                cancelRails();
+            }
+        }
+    }
+
+    // Рельсы копят элементы в свои списки и сортируют их при завершении — сортировка идёт параллельно.
+    // Поток, завершивший последнюю рельсу, сливает отсортированные списки: на каждом шаге выбирает
+    // наименьшую из голов списков (k рельс — k сравнений на элемент)
+    static final class SortedJoin<T> extends RailJoin<T, T> {
+        private final Comparator<? super T> comparator;
+        private final List<T>[] lists;
+        private final AtomicBoolean terminated = new AtomicBoolean();
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        SortedJoin(Observer<? super T> downstream, int parallelism, Comparator<? super T> comparator) {
+            super(downstream, parallelism);
+            this.comparator = comparator;
+            this.lists = new List[parallelism];
+            for (int i = 0; i < parallelism; i++) {
+                lists[i] = new ArrayList<>();
+            }
+        }
+
+        @Override
+        void railNext(int index, T item) {
+            if (!disposed) {
+                lists[index].add(item);
+            }
+        }
+
+        @Override
+        void railError(Throwable t) {
+            if (terminated.compareAndSet(false, true)) {
+                disposed = true;
+                cancelRails();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        void railComplete(int index) {
+            try {
+                lists[index].sort(comparator);
+            } catch (Throwable t) {
+                railError(t);
+                return;
+            }
+            if (remaining.decrementAndGet() == 0 && terminated.compareAndSet(false, true)) {
+                merge();
+            }
+        }
+
+        private void merge() {
+            int n = lists.length;
+            int[] positions = new int[n];
+            try {
+                for (;;) {
+                    if (disposed) {
+                        return;
+                    }
+                    int minIndex = -1;
+                    T min = null;
+                    for (int i = 0; i < n; i++) {
+                        List<T> list = lists[i];
+                        if (positions[i] < list.size()) {
+                            T v = list.get(positions[i]);
+                            if (minIndex < 0 || comparator.compare(v, min) < 0) {
+                                min = v;
+                                minIndex = i;
+                            }
+                        }
+                    }
+                    if (minIndex < 0) {
+                        break;
+                    }
+                    positions[minIndex]++;
+                    downstream.onNext(min);
+                }
+            } catch (Throwable t) {
+                disposed = true;
+                downstream.onError(t);
+                return;
+            }
+            disposed = true;
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            if (terminated.compareAndSet(false, true)) {
+                disposed = true;
+                cancelRails();
+            } else {
+                // Слияние уже идёт — остановится на следующем элементе
+                disposed = true;
+            }
+        }
+    }
+}
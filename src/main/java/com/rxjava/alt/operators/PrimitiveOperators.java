@@ -0,0 +1,342 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.IntObservable;
+import com.rxjava.alt.core.IntObserver;
+import com.rxjava.alt.core.LongObservable;
+import com.rxjava.alt.core.LongObserver;
+import com.rxjava.alt.core.DoubleObservable;
+import com.rxjava.alt.core.DoubleObserver;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+// Операторы для потоков примитивов (IntObservable, LongObservable, DoubleObservable).
+// Каждая стадия — отдельный Observer с методом onNext(int/long/double), поэтому значение
+// проходит через map/filter/reduce без упаковки. Исключение из функции пробрасывается наверх:
+// safe-обёртка подписки на source отменит источник и передаст ошибку в onError.
+// Упаковка происходит только на границе с Observable<T> (mapToObj).
+public class PrimitiveOperators {
+
+    /** Поток int */
+
+    public static IntObservable map(IntObservable source, IntUnaryOperator mapper) {
+        return IntObservable.create(obs -> source.subscribe(new IntObserver() {
+            @Override
+            public void onNext(int value) {
+                obs.onNext(mapper.applyAsInt(value));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onComplete();
+            }
+        }));
+    }
+
+    public static IntObservable filter(IntObservable source, IntPredicate predicate) {
+        return IntObservable.create(obs -> source.subscribe(new IntObserver() {
+            @Override
+            public void onNext(int value) {
+                if (predicate.test(value)) {
+                    obs.onNext(value);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onComplete();
+            }
+        }));
+    }
+
+    // Аккумулятор — поле Observer'а, поэтому свёртка идёт без упаковки промежуточных значений
+    public static IntObservable reduce(IntObservable source, int identity, IntBinaryOperator accumulator) {
+        return IntObservable.create(obs -> source.subscribe(new IntObserver() {
+            private int acc = identity;
+
+            @Override
+            public void onNext(int value) {
+                acc = accumulator.applyAsInt(acc, value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onNext(acc);
+                obs.onComplete();
+            }
+        }));
+    }
+
+    public static <R> Observable<R> mapToObj(IntObservable source, IntFunction<? extends R> mapper) {
+        return Observable.create(obs -> source.subscribe(new IntObserver() {
+            @Override
+            public void onNext(int value) {
+                obs.onNext(mapper.apply(value));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onComplete();
+            }
+        }));
+    }
+
+    public static <T> IntObservable mapToInt(Observable<T> source, ToIntFunction<? super T> mapper) {
+        return IntObservable.create(obs -> source.subscribe(new Observer<T>() {
+            @Override
+            public void onNext(T item) {
+                obs.onNext(mapper.applyAsInt(item));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onComplete();
+            }
+        }));
+    }
+
+    /** Поток long */
+
+    public static LongObservable map(LongObservable source, LongUnaryOperator mapper) {
+        return LongObservable.create(obs -> source.subscribe(new LongObserver() {
+            @Override
+            public void onNext(long value) {
+                obs.onNext(mapper.applyAsLong(value));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onComplete();
+            }
+        }));
+    }
+
+    public static LongObservable filter(LongObservable source, LongPredicate predicate) {
+        return LongObservable.create(obs -> source.subscribe(new LongObserver() {
+            @Override
+            public void onNext(long value) {
+                if (predicate.test(value)) {
+                    obs.onNext(value);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onComplete();
+            }
+        }));
+    }
+
+    // Аккумулятор — поле Observer'а, поэтому свёртка идёт без упаковки промежуточных значений
+    public static LongObservable reduce(LongObservable source, long identity, LongBinaryOperator accumulator) {
+        return LongObservable.create(obs -> source.subscribe(new LongObserver() {
+            private long acc = identity;
+
+            @Override
+            public void onNext(long value) {
+                acc = accumulator.applyAsLong(acc, value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onNext(acc);
+                obs.onComplete();
+            }
+        }));
+    }
+
+    public static <R> Observable<R> mapToObj(LongObservable source, LongFunction<? extends R> mapper) {
+        return Observable.create(obs -> source.subscribe(new LongObserver() {
+            @Override
+            public void onNext(long value) {
+                obs.onNext(mapper.apply(value));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onComplete();
+            }
+        }));
+    }
+
+    public static <T> LongObservable mapToLong(Observable<T> source, ToLongFunction<? super T> mapper) {
+        return LongObservable.create(obs -> source.subscribe(new Observer<T>() {
+            @Override
+            public void onNext(T item) {
+                obs.onNext(mapper.applyAsLong(item));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onComplete();
+            }
+        }));
+    }
+
+    /** Поток double */
+
+    public static DoubleObservable map(DoubleObservable source, DoubleUnaryOperator mapper) {
+        return DoubleObservable.create(obs -> source.subscribe(new DoubleObserver() {
+            @Override
+            public void onNext(double value) {
+                obs.onNext(mapper.applyAsDouble(value));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onComplete();
+            }
+        }));
+    }
+
+    public static DoubleObservable filter(DoubleObservable source, DoublePredicate predicate) {
+        return DoubleObservable.create(obs -> source.subscribe(new DoubleObserver() {
+            @Override
+            public void onNext(double value) {
+                if (predicate.test(value)) {
+                    obs.onNext(value);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onComplete();
+            }
+        }));
+    }
+
+    // Аккумулятор — поле Observer'а, поэтому свёртка идёт без упаковки промежуточных значений
+    public static DoubleObservable reduce(DoubleObservable source, double identity, DoubleBinaryOperator accumulator) {
+        return DoubleObservable.create(obs -> source.subscribe(new DoubleObserver() {
+            private double acc = identity;
+
+            @Override
+            public void onNext(double value) {
+                acc = accumulator.applyAsDouble(acc, value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onNext(acc);
+                obs.onComplete();
+            }
+        }));
+    }
+
+    public static <R> Observable<R> mapToObj(DoubleObservable source, DoubleFunction<? extends R> mapper) {
+        return Observable.create(obs -> source.subscribe(new DoubleObserver() {
+            @Override
+            public void onNext(double value) {
+                obs.onNext(mapper.apply(value));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onComplete();
+            }
+        }));
+    }
+
+    public static <T> DoubleObservable mapToDouble(Observable<T> source, ToDoubleFunction<? super T> mapper) {
+        return DoubleObservable.create(obs -> source.subscribe(new Observer<T>() {
+            @Override
+            public void onNext(T item) {
+                obs.onNext(mapper.applyAsDouble(item));
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onComplete();
+            }
+        }));
+    }
+}
@@ -0,0 +1,187 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.BackoffPolicy;
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.SerialDisposable;
+import com.rxjava.alt.internal.SequentialDisposable;
+import com.rxjava.alt.schedulers.Scheduler;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Повторная подписка на источник: retry — после ошибки, repeat — после завершения,
+// retryWhen — после ошибки с задержкой, отложенной задачей на Worker'е (поток пула не спит).
+// Синхронный источник, падающий прямо в subscribe(), иначе давал бы рекурсию
+// subscribe -> onError -> subscribe; здесь повторы идут циклом через счётчик wip, и стек не растёт.
+// Ссылка хранится только на текущую подписку: новая отменяет и отпускает предыдущую
+public class RetryOperator {
+
+    public static <T> Observable<T> retry(Observable<T> source, long times) {
+        if (times < 0L) {
+            throw new IllegalArgumentException("times >= 0 required but it was " + times);
+        }
+        return Observable.create(obs -> {
+            RetryObserver<T> parent = new RetryObserver<>(obs, source, times);
+            parent.subscribeNext();
+            return parent;
+        });
+    }
+
+    // times — сколько раз подписаться всего; repeat(1) — то же, что сам источник
+    public static <T> Observable<T> repeat(Observable<T> source, long times) {
+        if (times <= 0L) {
+            throw new IllegalArgumentException("times > 0 required but it was " + times);
+        }
+        return Observable.create(obs -> {
+            RepeatObserver<T> parent = new RepeatObserver<>(obs, source, times - 1);
+            parent.subscribeNext();
+            return parent;
+        });
+    }
+
+    public static <T> Observable<T> retryWhen(Observable<T> source, BackoffPolicy policy, Scheduler scheduler) {
+        return Observable.create(obs -> {
+            RetryWhenObserver<T> parent = new RetryWhenObserver<>(obs, source, policy, scheduler.createWorker());
+            parent.subscribeNext();
+            return parent;
+        });
+    }
+
+    abstract static class ResubscribeObserver<T> implements Observer<T>, Disposable {
+        final Observer<? super T> downstream;
+        private final Observable<T> source;
+        private final SequentialDisposable current = new SequentialDisposable();
+        private final AtomicInteger wip = new AtomicInteger();
+        volatile boolean disposed;
+
+        ResubscribeObserver(Observer<? super T> downstream, Observable<T> source) {
+            this.downstream = downstream;
+            this.source = source;
+        }
+
+        // Подписка, запрошенная изнутри subscribe() (синхронная ошибка), не выполняется вложенно,
+        // а достаётся циклу, который уже идёт выше по стеку
+        final void subscribeNext() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                if (disposed) {
+                    return;
+                }
+                current.update(source.subscribe(this));
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        @Override
+        public void onNext(T item) {
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            downstream.onError(t);
+        }
+
+        @Override
+        public void onComplete() {
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            current.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    static final class RetryObserver<T> extends ResubscribeObserver<T> {
+        private long remaining;
+
+        RetryObserver(Observer<? super T> downstream, Observable<T> source, long times) {
+            super(downstream, source);
+            this.remaining = times;
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (remaining-- > 0L) {
+                subscribeNext();
+            } else {
+                downstream.onError(t);
+            }
+        }
+    }
+
+    static final class RepeatObserver<T> extends ResubscribeObserver<T> {
+        private long remaining;
+
+        RepeatObserver(Observer<? super T> downstream, Observable<T> source, long remaining) {
+            super(downstream, source);
+            this.remaining = remaining;
+        }
+
+        @Override
+        public void onComplete() {
+            if (remaining-- > 0L) {
+                subscribeNext();
+            } else {
+                downstream.onComplete();
+            }
+        }
+    }
+
+    // Ожидание следующей попытки — отложенная задача Worker'а в своей ячейке: ошибка может прийти
+    // из другого потока раньше, чем текущая подписка запишется в current, и не должна её затереть
+    static final class RetryWhenObserver<T> extends ResubscribeObserver<T> {
+        private final BackoffPolicy policy;
+        private final Scheduler.Worker worker;
+        private final SerialDisposable timer = new SerialDisposable();
+        private final Runnable resubscribe = this::subscribeNext;
+        // Неудачные попытки подряд; меняется только в сигналах источника, которые последовательны
+        private int attempt;
+
+        RetryWhenObserver(Observer<? super T> downstream, Observable<T> source,
+                          BackoffPolicy policy, Scheduler.Worker worker) {
+            super(downstream, source);
+            this.policy = policy;
+            this.worker = worker;
+        }
+
+        @Override
+        public void onNext(T item) {
+            attempt = 0;
+            downstream.onNext(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            long delay = policy.delayNanos(++attempt, t);
+            if (delay < 0L) {
+                worker.dispose();
+                downstream.onError(t);
+                return;
+            }
+            timer.set(worker.schedule(resubscribe, delay, TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public void onComplete() {
+            worker.dispose();
+            downstream.onComplete();
+        }
+
+        @Override
+        public void dispose() {
+            super.dispose();
+            timer.dispose();
+            worker.dispose();
+        }
+    }
+}
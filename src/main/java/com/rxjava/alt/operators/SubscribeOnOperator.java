@@ -0,0 +1,76 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.schedulers.Scheduler;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Оператор subscribeOn: подписка на source (и весь её OnSubscribe.call) выполняется в потоке Scheduler'а.
+// subscribe() возвращается сразу, не дожидаясь, пока source начнёт или закончит выпуск:
+// пользователь получает отложенный Disposable, а Disposable источника подставляется в него позже.
+// Если dispose() случился раньше, пришедший Disposable источника отменяется в момент прихода,
+// а если раньше старта задачи — подписка на source вовсе не выполняется.
+public class SubscribeOnOperator {
+
+    public static <T> Observable<T> subscribeOn(Observable<T> source, Scheduler scheduler) {
+        return Observable.create(obs -> {
+            SubscribeOnObserver<T> parent = new SubscribeOnObserver<>(obs);
+            scheduler.execute(() -> {
+                if (!parent.isDisposed()) {
+                    parent.setUpstream(source.subscribe(parent));
+                }
+            });
+            return parent;
+        });
+    }
+
+    // Сам является отложенным Disposable. Синхронный source возвращает свой Disposable только
+    // после окончания выпуска, поэтому события после dispose() отсекаются флагом
+    static final class SubscribeOnObserver<T> implements Observer<T>, Disposable {
+        private final Observer<? super T> downstream;
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        private volatile boolean disposed;
+
+        SubscribeOnObserver(Observer<? super T> downstream) {
+            this.downstream = downstream;
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (!disposed) {
+                downstream.onNext(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (!disposed) {
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (!disposed) {
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+            DisposableHelper.dispose(upstream);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.internal.SpscLinkedArrayQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+// SwitchMapOperator — на каждый новый элемент source отменяет предыдущий внутренний поток
+// и переключается на новый. Подписчик видит элементы только самого свежего внутреннего потока:
+// так устаревшие запросы (например, поиск по старому вводу) не копятся и не доходят до подписчика.
+public class SwitchMapOperator {
+
+    public static <T, R> Observable<R> switchMap(
+            Observable<T> source,
+            Function<? super T, ? extends Observable<? extends R>> mapper,
+            int bufferSize
+    ) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize > 0 required but it was " + bufferSize);
+        }
+        return Observable.create(obs -> {
+            SwitchMapObserver<T, R> parent = new SwitchMapObserver<>(obs, mapper, bufferSize);
+            parent.setUpstream(source.subscribe(parent));
+            return parent;
+        });
+    }
+
+    // Старый внутренний поток может ещё дописывать элемент, когда новый уже начал выпуск,
+    // поэтому элементы идут через очередь внутреннего подписчика, а выдаёт их один drain-цикл —
+    // и только из того внутреннего подписчика, который сейчас текущий
+    static final class SwitchMapObserver<T, R> implements Observer<T>, Disposable {
+        private final Observer<? super R> downstream;
+        private final Function<? super T, ? extends Observable<? extends R>> mapper;
+        private final int bufferSize;
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        private final AtomicReference<SwitchInnerObserver<R>> active = new AtomicReference<>();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        private volatile boolean done;
+        private volatile boolean disposed;
+
+        SwitchMapObserver(Observer<? super R> downstream,
+                          Function<? super T, ? extends Observable<? extends R>> mapper, int bufferSize) {
+            this.downstream = downstream;
+            this.mapper = mapper;
+            this.bufferSize = bufferSize;
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || disposed) {
+                return;
+            }
+            // Отменяем предыдущий внутренний поток до того, как создадим новый
+            SwitchInnerObserver<R> current = active.get();
+            if (current != null) {
+                current.dispose();
+            }
+            Observable<? extends R> p;
+            try {
+                p = mapper.apply(item);
+            } catch (Throwable t) {
+                DisposableHelper.dispose(upstream);
+                onError(t);
+                return;
+            }
+            SwitchInnerObserver<R> inner = new SwitchInnerObserver<>(this, bufferSize);
+            if (active.compareAndSet(current, inner)) {
+                inner.setUpstream(p.subscribe(inner));
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error.compareAndSet(null, t);
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        void innerError(SwitchInnerObserver<R> inner, Throwable t) {
+            // Ошибка уже отменённого внутреннего потока никого не интересует
+            if (active.get() == inner) {
+                error.compareAndSet(null, t);
+                DisposableHelper.dispose(upstream);
+            }
+            drain();
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            DisposableHelper.dispose(upstream);
+            disposeInner();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        private void disposeInner() {
+            SwitchInnerObserver<R> current = active.getAndSet(null);
+            if (current != null) {
+                current.dispose();
+            }
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                if (disposed) {
+                    return;
+                }
+                Throwable ex = error.get();
+                if (ex != null) {
+                    disposed = true;
+                    DisposableHelper.dispose(upstream);
+                    disposeInner();
+                    downstream.onError(ex);
+                    return;
+                }
+
+                boolean d = done;
+                SwitchInnerObserver<R> inner = active.get();
+                if (d && (inner == null || (inner.done && inner.queue.isEmpty()))) {
+                    disposed = true;
+                    downstream.onComplete();
+                    return;
+                }
+
+                if (inner != null) {
+                    for (;;) {
+                        if (disposed || error.get() != null) {
+                            break;
+                        }
+                        // Пока выдавали, могли переключиться на новый поток — старый бросаем
+                        if (active.get() != inner) {
+                            break;
+                        }
+                        R v = inner.queue.poll();
+                        if (v == null) {
+                            break;
+                        }
+                        downstream.onNext(v);
+                    }
+                    if (active.get() != inner || (inner.done && inner.queue.isEmpty() && done)) {
+                        // Состояние поменялось — проходим цикл ещё раз
+                        continue;
+                    }
+                }
+
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+
+    static final class SwitchInnerObserver<R> implements Observer<R>, Disposable {
+        private final SwitchMapObserver<?, R> parent;
+        final SpscLinkedArrayQueue<R> queue;
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        volatile boolean done;
+
+        SwitchInnerObserver(SwitchMapObserver<?, R> parent, int bufferSize) {
+            this.parent = parent;
+            this.queue = new SpscLinkedArrayQueue<>(bufferSize);
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        @Override
+        public void onNext(R item) {
+            if (!done && !isDisposed()) {
+                queue.offer(item);
+                parent.drain();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            done = true;
+            parent.innerError(this, t);
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            parent.drain();
+        }
+
+        @Override
+        public void dispose() {
+            DisposableHelper.dispose(upstream);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return DisposableHelper.isDisposed(upstream.get());
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.SerialDisposable;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.schedulers.HashedWheelTimer;
+import com.rxjava.alt.schedulers.Scheduler;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Операторы, прореживающие частый поток по времени (котировки, показания датчиков):
+// throttleFirst пропускает первый элемент окна, sample — последний элемент периода,
+// debounce — элемент, после которого источник замолчал. На каждый элемент приходится
+// запись одного-двух полей: таймер ставится раз в период/паузу, а не на каждый элемент.
+public class ThrottleOperator {
+
+    // Пропускает элемент и затем отбрасывает всё, что приходит в течение time.
+    // Таймер не нужен: достаточно сравнить время элемента с концом текущего окна
+    public static <T> Observable<T> throttleFirst(Observable<T> source, long time, TimeUnit unit) {
+        long windowNanos = unit.toNanos(time);
+        return Observable.create(obs -> source.subscribe(new Observer<T>() {
+            private boolean started;
+            private long windowEnd;
+
+            @Override
+            public void onNext(T item) {
+                long now = System.nanoTime();
+                if (!started || now - windowEnd >= 0L) {
+                    started = true;
+                    windowEnd = now + windowNanos;
+                    obs.onNext(item);
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                obs.onComplete();
+            }
+        }));
+    }
+
+    // Раз в period выдаёт последний пришедший за период элемент (если он был).
+    // Последний невыданный элемент отдаётся и при завершении источника
+    public static <T> Observable<T> sample(Observable<T> source, long period, TimeUnit unit, Scheduler scheduler) {
+        if (period <= 0L) {
+            throw new IllegalArgumentException("period > 0 required but it was " + period);
+        }
+        return Observable.create(obs -> {
+            SampleObserver<T> parent = new SampleObserver<>(obs, unit.toNanos(period), scheduler);
+            parent.start();
+            parent.setUpstream(source.subscribe(parent));
+            return parent;
+        });
+    }
+
+    // Выдаёт элемент, только если за ним timeout не пришло следующего.
+    // При завершении источника ожидающий элемент выдаётся сразу
+    public static <T> Observable<T> debounce(Observable<T> source, long timeout, TimeUnit unit, Scheduler scheduler) {
+        if (timeout <= 0L) {
+            throw new IllegalArgumentException("timeout > 0 required but it was " + timeout);
+        }
+        return Observable.create(obs -> {
+            DebounceObserver<T> parent = new DebounceObserver<>(obs, unit.toNanos(timeout), scheduler);
+            parent.setUpstream(source.subscribe(parent));
+            return parent;
+        });
+    }
+
+    // Источник лишь перезаписывает latest. Колесо раз в период ставит на Worker задачу, которая
+    // забирает latest; туда же уходят и терминальные сигналы, так что вызовы подписчика не пересекаются
+    static final class SampleObserver<T> implements Observer<T>, Disposable {
+        private final Observer<? super T> downstream;
+        private final long periodNanos;
+        private final Scheduler.Worker worker;
+        private final HashedWheelTimer wheel;
+        private final AtomicReference<T> latest = new AtomicReference<>();
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        private final SerialDisposable timer = new SerialDisposable();
+        private final Runnable emitTask = this::emitLatest;
+        private volatile boolean disposed;
+        // Срок следующего срабатывания; меняет только поток колеса
+        private long nextNanos;
+
+        SampleObserver(Observer<? super T> downstream, long periodNanos, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.periodNanos = periodNanos;
+            this.worker = scheduler.createWorker();
+            this.wheel = scheduler.timer();
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        void start() {
+            nextNanos = System.nanoTime() + periodNanos;
+            timer.replace(wheel.schedule(this::onTick, periodNanos, TimeUnit.NANOSECONDS));
+        }
+
+        // Поток колеса: передаём выдачу Worker'у и ставим следующий срок от начала, а не от «сейчас»,
+        // чтобы период не уплывал
+        private void onTick() {
+            if (timer.isDisposed()) {
+                return;
+            }
+            worker.schedule(emitTask);
+            nextNanos += periodNanos;
+            timer.replace(wheel.schedule(this::onTick, nextNanos - System.nanoTime(), TimeUnit.NANOSECONDS));
+        }
+
+        private void emitLatest() {
+            T v = latest.getAndSet(null);
+            if (v != null && !disposed) {
+                downstream.onNext(v);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            latest.lazySet(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            timer.dispose();
+            worker.schedule(() -> {
+                latest.lazySet(null);
+                if (!disposed) {
+                    disposed = true;
+                    downstream.onError(t);
+                }
+                worker.dispose();
+            });
+        }
+
+        @Override
+        public void onComplete() {
+            timer.dispose();
+            worker.schedule(() -> {
+                emitLatest();
+                if (!disposed) {
+                    disposed = true;
+                    downstream.onComplete();
+                }
+                worker.dispose();
+            });
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            DisposableHelper.dispose(upstream);
+            timer.dispose();
+            worker.dispose();
+            latest.lazySet(null);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    // Таймер не переставляется на каждый элемент: элемент лишь запоминает себя и своё время,
+    // а сработавший таймер проверяет, прошла ли пауза с последнего элемента, и если нет —
+    // взводится заново на остаток паузы. Выдача идёт на Worker'е
+    static final class DebounceObserver<T> implements Observer<T>, Disposable {
+        private final Observer<? super T> downstream;
+        private final long timeoutNanos;
+        private final Scheduler.Worker worker;
+        private final HashedWheelTimer wheel;
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        private final SerialDisposable timer = new SerialDisposable();
+        private final Runnable checkTask = this::check;
+        private volatile boolean disposed;
+
+        // Защищены this
+        private T value;
+        private long lastNanos;
+        // true, пока таймер взведён (или его проверка ждёт в Worker'е)
+        private boolean armed;
+        private boolean done;
+
+        DebounceObserver(Observer<? super T> downstream, long timeoutNanos, Scheduler scheduler) {
+            this.downstream = downstream;
+            this.timeoutNanos = timeoutNanos;
+            this.worker = scheduler.createWorker();
+            this.wheel = scheduler.timer();
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        private void arm(long delayNanos) {
+            timer.replace(wheel.schedule(() -> worker.schedule(checkTask), delayNanos, TimeUnit.NANOSECONDS));
+        }
+
+        // Вызывается на Worker'е
+        private void check() {
+            T v;
+            long remaining;
+            synchronized (this) {
+                v = value;
+                if (v == null || done) {
+                    armed = false;
+                    return;
+                }
+                remaining = lastNanos + timeoutNanos - System.nanoTime();
+                if (remaining <= 0L) {
+                    value = null;
+                    armed = false;
+                }
+            }
+            if (remaining > 0L) {
+                arm(remaining);
+            } else if (!disposed) {
+                downstream.onNext(v);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            boolean arm;
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                value = item;
+                lastNanos = System.nanoTime();
+                arm = !armed;
+                armed = true;
+            }
+            if (arm) {
+                arm(timeoutNanos);
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            synchronized (this) {
+                done = true;
+                value = null;
+            }
+            timer.dispose();
+            worker.schedule(() -> {
+                if (!disposed) {
+                    disposed = true;
+                    downstream.onError(t);
+                }
+                worker.dispose();
+            });
+        }
+
+        @Override
+        public void onComplete() {
+            T v;
+            synchronized (this) {
+                done = true;
+                v = value;
+                value = null;
+            }
+            timer.dispose();
+            worker.schedule(() -> {
+                if (!disposed) {
+                    if (v != null) {
+                        downstream.onNext(v);
+                    }
+                    disposed = true;
+                    downstream.onComplete();
+                }
+                worker.dispose();
+            });
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            DisposableHelper.dispose(upstream);
+            timer.dispose();
+            worker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
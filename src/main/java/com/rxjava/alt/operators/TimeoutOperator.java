@@ -0,0 +1,151 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.SerialDisposable;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.schedulers.HashedWheelTimer;
+import com.rxjava.alt.schedulers.Scheduler;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Оператор timeout: если между подпиской и первым элементом или между соседними элементами
+// проходит больше time, источник отменяется, а подписчик переключается на fallback
+// (или получает TimeoutException, если fallback не задан).
+public class TimeoutOperator {
+
+    public static <T> Observable<T> timeout(Observable<T> source, long time, TimeUnit unit,
+                                            Scheduler scheduler, Observable<? extends T> fallback) {
+        if (time <= 0L) {
+            throw new IllegalArgumentException("time > 0 required but it was " + time);
+        }
+        return Observable.create(obs -> {
+            TimeoutObserver<T> parent = new TimeoutObserver<>(obs, time, unit, scheduler, fallback);
+            parent.start();
+            parent.setUpstream(source.subscribe(parent));
+            return parent;
+        });
+    }
+
+    // index — чётный, пока источник молчит, нечётный, пока элемент выдаётся подписчику,
+    // и Long.MAX_VALUE после срабатывания или завершения. Элемент и таймер соревнуются за index
+    // через CAS, поэтому элемент после таймаута отбрасывается, а таймаут посреди выдачи не наступает.
+    // Таймер не переставляется на каждый элемент: сработав, он смотрит время последнего элемента
+    // и, если пауза ещё не истекла, взводится на остаток
+    static final class TimeoutObserver<T> implements Observer<T>, Disposable {
+        private final Observer<? super T> downstream;
+        private final long time;
+        private final TimeUnit unit;
+        private final long timeoutNanos;
+        private final Scheduler.Worker worker;
+        private final HashedWheelTimer wheel;
+        private final Observable<? extends T> fallback;
+        private final AtomicLong index = new AtomicLong();
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        // Подписка на fallback после таймаута
+        private final SerialDisposable other = new SerialDisposable();
+        private final SerialDisposable timer = new SerialDisposable();
+        private final Runnable checkTask = this::check;
+        private volatile long lastNanos;
+
+        TimeoutObserver(Observer<? super T> downstream, long time, TimeUnit unit,
+                        Scheduler scheduler, Observable<? extends T> fallback) {
+            this.downstream = downstream;
+            this.time = time;
+            this.unit = unit;
+            this.timeoutNanos = unit.toNanos(time);
+            this.worker = scheduler.createWorker();
+            this.wheel = scheduler.timer();
+            this.fallback = fallback;
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        void start() {
+            lastNanos = System.nanoTime();
+            arm(timeoutNanos);
+        }
+
+        // Сработавший таймер передаёт проверку Worker'у: подписка на fallback не должна занимать поток колеса
+        private void arm(long delayNanos) {
+            timer.replace(wheel.schedule(() -> worker.schedule(checkTask), delayNanos, TimeUnit.NANOSECONDS));
+        }
+
+        private void check() {
+            long idx = index.get();
+            if (idx == Long.MAX_VALUE) {
+                return;
+            }
+            long remaining = lastNanos + timeoutNanos - System.nanoTime();
+            if ((idx & 1L) != 0L || remaining > 0L) {
+                arm(remaining > 0L ? remaining : timeoutNanos);
+                return;
+            }
+            if (!index.compareAndSet(idx, Long.MAX_VALUE)) {
+                // Как раз пришёл элемент — отсчёт начинается заново
+                if (index.get() != Long.MAX_VALUE) {
+                    arm(timeoutNanos);
+                }
+                return;
+            }
+            DisposableHelper.dispose(upstream);
+            timer.dispose();
+            worker.dispose();
+            if (fallback == null) {
+                downstream.onError(new TimeoutException("The source did not signal an event for "
+                        + time + " " + unit.toString().toLowerCase() + " and has been terminated."));
+            } else {
+                other.replace(fallback.subscribe(downstream));
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            long idx = index.get();
+            if (idx == Long.MAX_VALUE || !index.compareAndSet(idx, idx + 1)) {
+                return;
+            }
+            lastNanos = System.nanoTime();
+            downstream.onNext(item);
+            // CAS, а не запись: подписчик мог отписаться прямо из onNext
+            index.compareAndSet(idx + 1, idx + 2);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (index.getAndSet(Long.MAX_VALUE) != Long.MAX_VALUE) {
+                timer.dispose();
+                worker.dispose();
+                downstream.onError(t);
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            if (index.getAndSet(Long.MAX_VALUE) != Long.MAX_VALUE) {
+                timer.dispose();
+                worker.dispose();
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            index.set(Long.MAX_VALUE);
+            DisposableHelper.dispose(upstream);
+            other.dispose();
+            timer.dispose();
+            worker.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return other.isDisposed();
+        }
+    }
+}
@@ -0,0 +1,343 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.SerialDisposable;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.internal.SpscLinkedArrayQueue;
+import com.rxjava.alt.schedulers.Scheduler;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// WindowOperator — как buffer, но вместо готового списка сразу выдаёт окно (вложенный Observable),
+// в которое элементы идут по мере поступления. Так пачку можно обрабатывать потоково,
+// не дожидаясь её заполнения и не держа все элементы в памяти.
+public class WindowOperator {
+
+    // Окна ровно по count элементов; новое окно открывается с первым элементом после закрытия предыдущего
+    public static <T> Observable<Observable<T>> window(Observable<T> source, int count, int bufferSize) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count > 0 required but it was " + count);
+        }
+        return Observable.create(obs -> source.subscribe(new Observer<T>() {
+            private UnicastWindow<T> window;
+            private int size;
+
+            @Override
+            public void onNext(T item) {
+                UnicastWindow<T> w = window;
+                if (w == null) {
+                    w = new UnicastWindow<>(bufferSize);
+                    window = w;
+                    obs.onNext(Observable.create(w));
+                }
+                w.onNext(item);
+                if (++size == count) {
+                    size = 0;
+                    window = null;
+                    w.onComplete();
+                }
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                UnicastWindow<T> w = window;
+                window = null;
+                if (w != null) {
+                    w.onError(t);
+                }
+                obs.onError(t);
+            }
+
+            @Override
+            public void onComplete() {
+                UnicastWindow<T> w = window;
+                window = null;
+                if (w != null) {
+                    w.onComplete();
+                }
+                obs.onComplete();
+            }
+        }));
+    }
+
+    // Окна по времени: первое открывается при подписке, затем каждые time текущее закрывается
+    // и сразу открывается следующее (окно может остаться пустым)
+    public static <T> Observable<Observable<T>> window(Observable<T> source, long time, TimeUnit unit,
+                                                       Scheduler scheduler, int bufferSize) {
+        if (time <= 0L) {
+            throw new IllegalArgumentException("time > 0 required but it was " + time);
+        }
+        return Observable.create(obs -> {
+            TimedWindowObserver<T> parent = new TimedWindowObserver<>(obs, scheduler.createWorker(), bufferSize);
+            parent.start(time, unit);
+            parent.setUpstream(source.subscribe(parent));
+            return parent;
+        });
+    }
+
+    // Окна и подписчик вызываются только на Worker'е: поток источника лишь кладёт элемент в очередь,
+    // а таймер срабатывает на том же Worker'е, поэтому смена окна не пересекается с выдачей элементов
+    // и ничьи вызовы не идут под блокировкой. Элемент попадает в окно, открытое на момент, когда
+    // до него дошёл Worker: всё, что встало в очередь до срабатывания таймера, уходит в старое окно
+    static final class TimedWindowObserver<T> implements Observer<T>, Disposable, Runnable {
+        private final Observer<? super Observable<T>> downstream;
+        private final Scheduler.Worker worker;
+        private final int bufferSize;
+        private final SpscLinkedArrayQueue<T> queue;
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        private final SerialDisposable timer = new SerialDisposable();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        // Меняется только на Worker'е (и в start() до запуска таймера); null — поток завершён
+        private UnicastWindow<T> window;
+        private volatile boolean done;
+        private Throwable error;
+        private volatile boolean disposed;
+
+        TimedWindowObserver(Observer<? super Observable<T>> downstream, Scheduler.Worker worker, int bufferSize) {
+            this.downstream = downstream;
+            this.worker = worker;
+            this.bufferSize = bufferSize;
+            this.queue = new SpscLinkedArrayQueue<>(bufferSize);
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        void start(long time, TimeUnit unit) {
+            openWindow();
+            timer.set(worker.schedulePeriodically(this::rotate, time, time, unit));
+        }
+
+        private void openWindow() {
+            UnicastWindow<T> w = new UnicastWindow<>(bufferSize);
+            window = w;
+            downstream.onNext(Observable.create(w));
+        }
+
+        private void rotate() {
+            if (!emitQueued()) {
+                return;
+            }
+            window.onComplete();
+            openWindow();
+        }
+
+        // Вызывается только на Worker'е. Переносит очередь в текущее окно и, если источник
+        // завершился, завершает окно и подписчика; false — поток завершён или отменён
+        private boolean emitQueued() {
+            for (;;) {
+                UnicastWindow<T> w = window;
+                if (w == null) {
+                    return false;
+                }
+                if (disposed) {
+                    queue.clear();
+                    return false;
+                }
+                boolean d = done;
+                T v = queue.poll();
+                if (v == null) {
+                    if (d) {
+                        window = null;
+                        Throwable ex = error;
+                        if (ex != null) {
+                            w.onError(ex);
+                            downstream.onError(ex);
+                        } else {
+                            w.onComplete();
+                            downstream.onComplete();
+                        }
+                        stopTimer();
+                        return false;
+                    }
+                    return true;
+                }
+                w.onNext(v);
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() == 0) {
+                worker.schedule(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            for (;;) {
+                emitQueued();
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || disposed) {
+                return;
+            }
+            queue.offer(item);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        private void stopTimer() {
+            timer.dispose();
+            worker.dispose();
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            DisposableHelper.dispose(upstream);
+            stopTimer();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    // Окно с одним подписчиком: элементы, пришедшие до подписки, копятся в очереди,
+    // а после подписки выдаются drain-циклом в потоке того, кто их прислал.
+    // Запись в окно всегда последовательна (из одного Observer'а оператора), поэтому очередь SPSC.
+    static final class UnicastWindow<T> implements Observer<T>, Observable.OnSubscribe<T> {
+        private final SpscLinkedArrayQueue<T> queue;
+        private final AtomicBoolean once = new AtomicBoolean();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile Observer<? super T> downstream;
+        private volatile boolean done;
+        private Throwable error;
+        private volatile boolean disposed;
+
+        UnicastWindow(int bufferSize) {
+            this.queue = new SpscLinkedArrayQueue<>(bufferSize);
+        }
+
+        @Override
+        public Disposable call(Observer<? super T> observer) {
+            if (!once.compareAndSet(false, true)) {
+                observer.onError(new IllegalStateException("Window allows only a single observer"));
+                return DisposableHelper.DISPOSED;
+            }
+            downstream = observer;
+            drain();
+            return new Disposable() {
+                @Override
+                public void dispose() {
+                    disposed = true;
+                    if (wip.getAndIncrement() == 0) {
+                        queue.clear();
+                    }
+                }
+
+                @Override
+                public boolean isDisposed() {
+                    return disposed;
+                }
+            };
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (done || disposed) {
+                return;
+            }
+            queue.offer(item);
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            if (done) {
+                return;
+            }
+            error = t;
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            if (done) {
+                return;
+            }
+            done = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                Observer<? super T> a = downstream;
+                if (disposed) {
+                    queue.clear();
+                    return;
+                }
+                if (a != null) {
+                    for (;;) {
+                        boolean d = done;
+                        T v = queue.poll();
+                        if (v == null) {
+                            if (d) {
+                                disposed = true;
+                                Throwable ex = error;
+                                if (ex != null) {
+                                    a.onError(ex);
+                                } else {
+                                    a.onComplete();
+                                }
+                                return;
+                            }
+                            break;
+                        }
+                        a.onNext(v);
+                        if (disposed) {
+                            queue.clear();
+                            return;
+                        }
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+    }
+}
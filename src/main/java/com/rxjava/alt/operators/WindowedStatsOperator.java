@@ -0,0 +1,204 @@
+package com.rxjava.alt.operators;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.LongObservable;
+import com.rxjava.alt.core.LongObserver;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.SerialDisposable;
+import com.rxjava.alt.core.WindowStats;
+import com.rxjava.alt.instrumentation.LatencyHistogram;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.schedulers.Scheduler;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// windowedStats: раз в step выдаёт min/max/mean/p50/p99 значений за последние window.
+// Окно делится на window / step ячеек, у каждой ячейки своя гистограмма (раскладка корзин —
+// LatencyHistogram) и свои count/sum/min/max. Значение — это инкремент счётчика в текущей ячейке,
+// без выделения памяти; по таймеру статистика собирается по всем ячейкам, самая старая очищается
+// и становится текущей. Память на подписку постоянна: ячейки × LatencyHistogram.BUCKETS long'ов.
+// При step == window окна не перекрываются
+public class WindowedStatsOperator {
+
+    public static Observable<WindowStats> windowedStats(LongObservable source, long window, long step,
+                                                        TimeUnit unit, Scheduler scheduler) {
+        if (step <= 0L) {
+            throw new IllegalArgumentException("step > 0 required but it was " + step);
+        }
+        if (window < step || window % step != 0L) {
+            throw new IllegalArgumentException("window must be a positive multiple of step: " + window + " / " + step);
+        }
+        int slots = Math.toIntExact(window / step);
+        return Observable.create(obs -> {
+            StatsObserver parent = new StatsObserver(obs, slots, scheduler.createWorker());
+            parent.start(step, unit);
+            parent.setUpstream(source.subscribe(parent));
+            return parent;
+        });
+    }
+
+    // Источник и таймер меняют ячейки под блокировкой this; под ней же идут вызовы подписчика,
+    // поэтому они не пересекаются
+    static final class StatsObserver implements LongObserver, Disposable {
+        private final Observer<? super WindowStats> downstream;
+        private final Scheduler.Worker worker;
+        private final AtomicReference<Disposable> upstream = new AtomicReference<>();
+        private final SerialDisposable timer = new SerialDisposable();
+        private final long[][] counts;
+        private final long[] count;
+        private final long[] sum;
+        private final long[] min;
+        private final long[] max;
+        // Защищены this
+        private int current;
+        private boolean done;
+        private volatile boolean disposed;
+
+        StatsObserver(Observer<? super WindowStats> downstream, int slots, Scheduler.Worker worker) {
+            this.downstream = downstream;
+            this.worker = worker;
+            this.counts = new long[slots][LatencyHistogram.BUCKETS];
+            this.count = new long[slots];
+            this.sum = new long[slots];
+            this.min = new long[slots];
+            this.max = new long[slots];
+            for (int i = 0; i < slots; i++) {
+                clearSlot(i);
+            }
+        }
+
+        void setUpstream(Disposable d) {
+            DisposableHelper.setOnce(upstream, d);
+        }
+
+        void start(long step, TimeUnit unit) {
+            timer.set(worker.schedulePeriodically(this::rotate, step, step, unit));
+        }
+
+        private void clearSlot(int i) {
+            Arrays.fill(counts[i], 0L);
+            count[i] = 0L;
+            sum[i] = 0L;
+            min[i] = Long.MAX_VALUE;
+            max[i] = Long.MIN_VALUE;
+        }
+
+        @Override
+        public void onNext(long value) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                int c = current;
+                // В гистограмме отрицательные значения считаются нулём, min/max/mean — точные
+                counts[c][LatencyHistogram.index(Math.max(0L, value))]++;
+                count[c]++;
+                sum[c] += value;
+                if (value < min[c]) {
+                    min[c] = value;
+                }
+                if (value > max[c]) {
+                    max[c] = value;
+                }
+            }
+        }
+
+        private void rotate() {
+            synchronized (this) {
+                if (done || disposed) {
+                    return;
+                }
+                downstream.onNext(snapshot());
+                current = (current + 1) % counts.length;
+                clearSlot(current);
+            }
+        }
+
+        // Вызывается под this
+        private WindowStats snapshot() {
+            long n = 0L;
+            long s = 0L;
+            long lo = Long.MAX_VALUE;
+            long hi = Long.MIN_VALUE;
+            for (int i = 0; i < counts.length; i++) {
+                n += count[i];
+                s += sum[i];
+                lo = Math.min(lo, min[i]);
+                hi = Math.max(hi, max[i]);
+            }
+            if (n == 0L) {
+                return new WindowStats(0L, 0L, 0L, 0.0, 0L, 0L);
+            }
+            long p50Target = Math.max(1L, (long) Math.ceil(n * 0.50));
+            long p99Target = Math.max(1L, (long) Math.ceil(n * 0.99));
+            long p50 = hi;
+            long p99 = hi;
+            long seen = 0L;
+            boolean p50Found = false;
+            for (int b = 0; b < LatencyHistogram.BUCKETS; b++) {
+                for (long[] slot : counts) {
+                    seen += slot[b];
+                }
+                if (!p50Found && seen >= p50Target) {
+                    p50 = Math.min(LatencyHistogram.highestValue(b), hi);
+                    p50Found = true;
+                }
+                if (seen >= p99Target) {
+                    p99 = Math.min(LatencyHistogram.highestValue(b), hi);
+                    break;
+                }
+            }
+            return new WindowStats(n, lo, hi, (double) s / n, p50, p99);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                downstream.onError(t);
+            }
+            stopTimer();
+        }
+
+        // Незаконченное окно выдаётся, если в нём что-то есть
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                if (done) {
+                    return;
+                }
+                done = true;
+                if (count[current] != 0L) {
+                    downstream.onNext(snapshot());
+                }
+                downstream.onComplete();
+            }
+            stopTimer();
+        }
+
+        private void stopTimer() {
+            timer.dispose();
+            worker.dispose();
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            DisposableHelper.dispose(upstream);
+            stopTimer();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+}
@@ -1,18 +1,331 @@
 package com.rxjava.alt.schedulers;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import com.rxjava.alt.core.CompositeDisposable;
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.instrumentation.Instrumentation;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.internal.MpscLinkedQueue;
+import com.rxjava.alt.internal.SequentialDisposable;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
-// ComputationScheduler создаёт фиксированное число потоков, равное количеству доступных ядер CPU
+// ComputationScheduler создаёт фиксированное число потоков, равное количеству доступных ядер CPU.
+// Каждый поток — отдельный цикл событий (event loop) со своей очередью, поэтому потоки,
+// отправляющие задачи, не соревнуются за одну общую блокировку, как в newFixedThreadPool.
+// Worker закрепляется за одним циклом (по кругу), и все его задачи выполняет один и тот же поток.
 public class ComputationScheduler implements Scheduler {
-    // Фиксированный пул размером Runtime.getRuntime().availableProcessors()
-    private final ExecutorService pool = Executors.newFixedThreadPool(
-            Runtime.getRuntime().availableProcessors()
-    );
+    private final EventLoop[] loops;
+    private final boolean workStealing;
+    // Счётчики для раздачи Worker'ов и разовых задач по кругу
+    private final AtomicInteger nextWorker = new AtomicInteger();
+    private final AtomicInteger nextTask = new AtomicInteger();
+
+    // Задержки отсчитывает один общий поток-таймер: по срабатыванию он лишь кладёт задачу в цикл
+    private final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread t = new Thread(r, "ComputationScheduler-timer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Колесо для частых таймаутов операторов; поток запускается при первом использовании
+    private final HashedWheelTimer wheel = new HashedWheelTimer("ComputationScheduler-wheel");
+
+    private volatile boolean shutdown;
+
+    public ComputationScheduler() {
+        this(Runtime.getRuntime().availableProcessors(), true);
+    }
+
+    // parallelism — число циклов событий (потоков).
+    // workStealing — разрешить простаивающим циклам забирать разовые задачи execute() у занятых.
+    // Задачи Worker'ов никогда не перекладываются: иначе нарушился бы их порядок.
+    public ComputationScheduler(int parallelism, boolean workStealing) {
+        this(parallelism, workStealing, new NamedThreadFactory("ComputationScheduler-loop", false));
+    }
+
+    // threadFactory создаёт потоки циклов событий (например, демоны с именем своего сервиса)
+    public ComputationScheduler(int parallelism, boolean workStealing, ThreadFactory threadFactory) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism > 0 required but it was " + parallelism);
+        }
+        this.workStealing = workStealing;
+        this.loops = new EventLoop[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            loops[i] = new EventLoop(this, i, threadFactory);
+        }
+        for (EventLoop loop : loops) {
+            loop.thread.start();
+        }
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    public int parallelism() {
+        return loops.length;
+    }
 
     @Override
     public void execute(Runnable task) {
-        pool.submit(task);
+        if (shutdown) {
+            throw new RejectedExecutionException("ComputationScheduler is shut down");
+        }
+        EventLoop loop = loops[Math.floorMod(nextTask.getAndIncrement(), loops.length)];
+        loop.shared.offerLast(Instrumentation.onSchedule(this, task));
+        if (!loop.wakeUp() && workStealing) {
+            // Целевой цикл занят — будим любой спящий, чтобы он забрал задачу себе
+            wakeUpIdle(loop);
+        }
+    }
+
+    @Override
+    public Worker createWorker() {
+        return new EventLoopWorker(loops[Math.floorMod(nextWorker.getAndIncrement(), loops.length)], timer);
+    }
+
+    @Override
+    public HashedWheelTimer timer() {
+        return wheel;
+    }
+
+    // Циклы дорабатывают то, что уже лежит в их очередях, и выходят
+    @Override
+    public void shutdown() {
+        if (shutdown) {
+            return;
+        }
+        shutdown = true;
+        timer.shutdownNow();
+        wheel.stop();
+        for (EventLoop loop : loops) {
+            LockSupport.unpark(loop.thread);
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (EventLoop loop : loops) {
+            TimeUnit.NANOSECONDS.timedJoin(loop.thread, deadline - System.nanoTime());
+            if (loop.thread.isAlive()) {
+                return false;
+            }
+        }
+        return timer.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
     }
-}
 
+    private void wakeUpIdle(EventLoop except) {
+        for (EventLoop loop : loops) {
+            if (loop != except && loop.wakeUp()) {
+                return;
+            }
+        }
+    }
+
+    // Ищет разовую задачу в очередях других циклов, начиная с соседа
+    Runnable steal(EventLoop thief) {
+        if (!workStealing) {
+            return null;
+        }
+        int n = loops.length;
+        for (int i = 1; i < n; i++) {
+            // Владелец берёт задачи с головы, вор — с хвоста, так они реже сталкиваются
+            Runnable task = loops[(thief.index + i) % n].shared.pollLast();
+            if (task != null) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    // Один поток и две очереди: pinned — задачи закреплённых Worker'ов (пишут многие, читает только
+    // этот поток), shared — разовые задачи execute(), которые могут забрать другие циклы
+    static final class EventLoop implements Runnable {
+        private final ComputationScheduler parent;
+        final int index;
+        final Thread thread;
+        final MpscLinkedQueue<Runnable> pinned = new MpscLinkedQueue<>();
+        final ConcurrentLinkedDeque<Runnable> shared = new ConcurrentLinkedDeque<>();
+        // true, пока поток спит в park() и его нужно будить
+        private final AtomicBoolean sleeping = new AtomicBoolean();
+
+        EventLoop(ComputationScheduler parent, int index, ThreadFactory threadFactory) {
+            this.parent = parent;
+            this.index = index;
+            this.thread = threadFactory.newThread(this);
+        }
+
+        void offerPinned(Runnable task) {
+            pinned.offer(task);
+            wakeUp();
+        }
+
+        // Возвращает true, если поток действительно спал и мы его разбудили
+        boolean wakeUp() {
+            if (sleeping.get() && sleeping.compareAndSet(true, false)) {
+                LockSupport.unpark(thread);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void run() {
+            for (;;) {
+                Runnable task = pinned.poll();
+                if (task == null) {
+                    task = shared.pollFirst();
+                }
+                if (task == null) {
+                    task = parent.steal(this);
+                }
+                if (task != null) {
+                    ExecutorWorker.runSafely(task);
+                    continue;
+                }
+                if (parent.shutdown) {
+                    return;
+                }
+                // Очереди пусты: объявляем, что засыпаем, и перепроверяем очереди —
+                // задача могла прийти между проверкой и установкой флага
+                sleeping.set(true);
+                if (!pinned.isEmpty() || !shared.isEmpty() || parent.shutdown) {
+                    sleeping.set(false);
+                    continue;
+                }
+                LockSupport.park(this);
+                sleeping.set(false);
+            }
+        }
+    }
+
+    // Worker, закреплённый за одним циклом событий. Отменённые задачи не удаляются из очереди цикла,
+    // а пропускаются при выполнении; отложенные снимаются с таймера сразу.
+    static final class EventLoopWorker extends Worker {
+        private final EventLoop loop;
+        private final ScheduledThreadPoolExecutor timer;
+        private final CompositeDisposable delayed = new CompositeDisposable();
+        private volatile boolean disposed;
+
+        EventLoopWorker(EventLoop loop, ScheduledThreadPoolExecutor timer) {
+            this.loop = loop;
+            this.timer = timer;
+        }
+
+        @Override
+        public Disposable schedule(Runnable task) {
+            if (disposed || loop.parent.shutdown) {
+                return DisposableHelper.DISPOSED;
+            }
+            PinnedTask pinnedTask = new PinnedTask(Instrumentation.onSchedule(loop.parent, task));
+            loop.offerPinned(pinnedTask);
+            return pinnedTask;
+        }
+
+        @Override
+        public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+            if (delay <= 0L) {
+                return schedule(task);
+            }
+            if (disposed) {
+                return DisposableHelper.DISPOSED;
+            }
+            DelayedTask d = new DelayedTask(task);
+            if (!delayed.add(d)) {
+                return DisposableHelper.DISPOSED;
+            }
+            try {
+                d.future = timer.schedule(d, delay, unit);
+            } catch (RejectedExecutionException ex) {
+                delayed.delete(d);
+                return DisposableHelper.DISPOSED;
+            }
+            if (disposed) {
+                d.dispose();
+            }
+            return d;
+        }
+
+        @Override
+        public void dispose() {
+            if (disposed) {
+                return;
+            }
+            disposed = true;
+            delayed.dispose();
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+
+        final class PinnedTask implements Runnable, Disposable {
+            private final Runnable task;
+            private volatile boolean cancelled;
+
+            PinnedTask(Runnable task) {
+                this.task = task;
+            }
+
+            @Override
+            public void run() {
+                if (!cancelled && !disposed) {
+                    task.run();
+                }
+            }
+
+            @Override
+            public void dispose() {
+                cancelled = true;
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return cancelled || disposed;
+            }
+        }
+
+        final class DelayedTask implements Runnable, Disposable {
+            private final Runnable task;
+            private final SequentialDisposable inner = new SequentialDisposable();
+            volatile Future<?> future;
+
+            DelayedTask(Runnable task) {
+                this.task = task;
+            }
+
+            @Override
+            public void run() {
+                delayed.delete(this);
+                inner.replace(schedule(task));
+            }
+
+            @Override
+            public void dispose() {
+                if (DisposableHelper.dispose(inner)) {
+                    Future<?> f = future;
+                    if (f != null) {
+                        f.cancel(false);
+                    }
+                    delayed.delete(this);
+                }
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return inner.isDisposed();
+            }
+        }
+    }
+}
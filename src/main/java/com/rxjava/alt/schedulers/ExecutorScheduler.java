@@ -0,0 +1,57 @@
+package com.rxjava.alt.schedulers;
+
+import com.rxjava.alt.instrumentation.Instrumentation;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+// Scheduler поверх чужого Executor (см. Schedulers.from). Пулом владеет вызывающий: shutdown()
+// только перестаёт принимать задачи, а сам Executor останавливает тот, кто его создал.
+// Если Executor умеет откладывать задачи, задержки отсчитывает он сам, иначе — общий поток-таймер
+final class ExecutorScheduler implements Scheduler {
+    private final Executor executor;
+    private final ScheduledExecutorService timer;
+    private volatile boolean shutdown;
+
+    ExecutorScheduler(Executor executor) {
+        this.executor = executor;
+        this.timer = executor instanceof ScheduledExecutorService scheduled ? scheduled : SharedTimer.INSTANCE;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (shutdown) {
+            throw new RejectedExecutionException("Scheduler is shut down");
+        }
+        executor.execute(Instrumentation.onSchedule(this, task));
+    }
+
+    @Override
+    public Worker createWorker() {
+        return new ExecutorWorker(this::execute, timer);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    // Поток-таймер один на все такие Scheduler'ы (и на Worker'ы Scheduler.createWorker() по умолчанию)
+    // и создаётся при первом из них
+    static final class SharedTimer {
+        static final ScheduledThreadPoolExecutor INSTANCE = create();
+
+        private static ScheduledThreadPoolExecutor create() {
+            ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1,
+                    new NamedThreadFactory("ExecutorScheduler-timer", true));
+            timer.setRemoveOnCancelPolicy(true);
+            return timer;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.rxjava.alt.schedulers;
+
+import com.rxjava.alt.core.CompositeDisposable;
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.internal.SequentialDisposable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Worker поверх произвольного Executor. Задачи складываются в собственную очередь Worker'а,
+// а в Executor уходит одна задача-сливщик, которая выполняет их по порядку.
+// Так даже на многопоточном пуле задачи одного Worker'а не обгоняют друг друга и не идут параллельно.
+// Отложенные задачи ждут в timer и по срабатыванию встают в ту же очередь.
+final class ExecutorWorker extends Scheduler.Worker implements Runnable {
+    private final Executor executor;
+    private final ScheduledExecutorService timer;
+    private final Queue<ScheduledTask> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    // Ожидающие отложенные задачи — чтобы dispose() мог снять их с таймера
+    private final CompositeDisposable delayed = new CompositeDisposable();
+    private volatile boolean disposed;
+
+    ExecutorWorker(Executor executor, ScheduledExecutorService timer) {
+        this.executor = executor;
+        this.timer = timer;
+    }
+
+    @Override
+    public Disposable schedule(Runnable task) {
+        if (disposed) {
+            return DisposableHelper.DISPOSED;
+        }
+        ScheduledTask scheduled = new ScheduledTask(task);
+        queue.offer(scheduled);
+        if (wip.getAndIncrement() == 0) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException ex) {
+                // Пул уже остановлен — дальше этот Worker работать не сможет
+                disposed = true;
+                queue.clear();
+                return DisposableHelper.DISPOSED;
+            }
+        }
+        return scheduled;
+    }
+
+    @Override
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        if (delay <= 0L) {
+            return schedule(task);
+        }
+        if (disposed) {
+            return DisposableHelper.DISPOSED;
+        }
+        DelayedTask d = new DelayedTask(task);
+        if (!delayed.add(d)) {
+            return DisposableHelper.DISPOSED;
+        }
+        try {
+            d.future = timer.schedule(d, delay, unit);
+        } catch (RejectedExecutionException ex) {
+            delayed.delete(d);
+            return DisposableHelper.DISPOSED;
+        }
+        if (disposed) {
+            d.dispose();
+        }
+        return d;
+    }
+
+    @Override
+    public void run() {
+        int missed = 1;
+        for (;;) {
+            for (;;) {
+                if (disposed) {
+                    queue.clear();
+                    return;
+                }
+                ScheduledTask task = queue.poll();
+                if (task == null) {
+                    break;
+                }
+                task.run();
+            }
+            missed = wip.addAndGet(-missed);
+            if (missed == 0) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        delayed.dispose();
+        if (wip.getAndIncrement() == 0) {
+            queue.clear();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    // Ошибка одной задачи не должна останавливать остальные задачи Worker'а
+    static void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable t) {
+            Thread current = Thread.currentThread();
+            current.getUncaughtExceptionHandler().uncaughtException(current, t);
+        }
+    }
+
+    static final class ScheduledTask implements Runnable, Disposable {
+        private final Runnable task;
+        private volatile boolean disposed;
+
+        ScheduledTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (!disposed) {
+                runSafely(task);
+            }
+        }
+
+        @Override
+        public void dispose() {
+            disposed = true;
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    final class DelayedTask implements Runnable, Disposable {
+        private final Runnable task;
+        // Когда таймер сработал — ссылка на задачу, уже поставленную в очередь Worker'а
+        private final SequentialDisposable inner = new SequentialDisposable();
+        volatile Future<?> future;
+
+        DelayedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            delayed.delete(this);
+            inner.replace(schedule(task));
+        }
+
+        @Override
+        public void dispose() {
+            if (DisposableHelper.dispose(inner)) {
+                Future<?> f = future;
+                if (f != null) {
+                    f.cancel(false);
+                }
+                delayed.delete(this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return inner.isDisposed();
+        }
+    }
+}
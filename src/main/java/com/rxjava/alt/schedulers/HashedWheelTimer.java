@@ -0,0 +1,203 @@
+package com.rxjava.alt.schedulers;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.internal.DisposableHelper;
+import com.rxjava.alt.internal.MpscLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Таймер-«колесо» для операторов, которые ставят и отменяют много таймаутов (debounce, timeout, sample).
+// Колесо — массив корзин по тику; таймаут кладётся в корзину своего срока, и поток таймера
+// раз в тик срабатывает всю текущую корзину. Постановка — одна запись в lock-free очередь,
+// отмена — один CAS, без задачи и перестройки кучи в ScheduledExecutorService на каждый вызов.
+// Точность — один тик (по умолчанию 1 мс). Задача выполняется прямо в потоке таймера,
+// поэтому она должна быть короткой — обычно это передача работы в Worker.
+public final class HashedWheelTimer {
+    private static final HashedWheelTimer SHARED = new HashedWheelTimer("HashedWheelTimer-shared");
+
+    private final String name;
+    private final long tickNanos;
+    private final int mask;
+    // Голова односвязного списка каждой корзины; меняет только поток таймера
+    private final Timeout[] wheel;
+    // Новые таймауты ждут здесь, пока поток таймера не разложит их по корзинам
+    private final MpscLinkedQueue<Timeout> pending = new MpscLinkedQueue<>();
+    // Таймауты в очереди и в колесе; пока их нет, поток спит без тиков
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile Thread thread;
+    private volatile boolean stopped;
+    // Время запуска потока; тик n заканчивается в startNanos + (n + 1) * tickNanos
+    private long startNanos;
+
+    public HashedWheelTimer(String name) {
+        this(name, 1, TimeUnit.MILLISECONDS, 512);
+    }
+
+    // wheelSize округляется вверх до степени двойки; таймауты дальше одного оборота колеса
+    // лежат в своей корзине и ждут нужного числа оборотов
+    public HashedWheelTimer(String name, long tick, TimeUnit unit, int wheelSize) {
+        if (tick <= 0L) {
+            throw new IllegalArgumentException("tick > 0 required but it was " + tick);
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("wheelSize > 0 required but it was " + wheelSize);
+        }
+        int n = Integer.highestOneBit(Math.max(wheelSize, 2) - 1) << 1;
+        this.name = name;
+        this.tickNanos = unit.toNanos(tick);
+        this.mask = n - 1;
+        this.wheel = new Timeout[n];
+    }
+
+    // Общий таймер для Scheduler'ов, у которых нет своего
+    public static HashedWheelTimer shared() {
+        return SHARED;
+    }
+
+    public Disposable schedule(Runnable task, long delay, TimeUnit unit) {
+        if (stopped) {
+            return DisposableHelper.DISPOSED;
+        }
+        start();
+        Timeout t = new Timeout(task, System.nanoTime() + unit.toNanos(Math.max(0L, delay)));
+        pending.offer(t);
+        if (active.getAndIncrement() == 0) {
+            // Поток мог уснуть без тиков — будим
+            LockSupport.unpark(thread);
+        }
+        return t;
+    }
+
+    // Останавливает поток таймера; несработавшие таймауты отбрасываются
+    public void stop() {
+        stopped = true;
+        Thread t = thread;
+        if (t != null) {
+            LockSupport.unpark(t);
+        }
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    private void start() {
+        if (!started.get() && started.compareAndSet(false, true)) {
+            Thread t = new Thread(this::run, name);
+            t.setDaemon(true);
+            startNanos = System.nanoTime();
+            thread = t;
+            t.start();
+        }
+    }
+
+    private void run() {
+        long tick = 0L;
+        for (;;) {
+            if (stopped) {
+                return;
+            }
+            if (active.get() == 0) {
+                // Колесо пусто: спим до следующего schedule(), а проснувшись, догоняем текущий тик,
+                // не прокручивая пустые корзины
+                LockSupport.park(this);
+                tick = Math.max(tick, (System.nanoTime() - startNanos) / tickNanos);
+                continue;
+            }
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long now;
+            while ((now = System.nanoTime()) - deadline < 0L) {
+                LockSupport.parkNanos(this, deadline - now);
+                if (stopped) {
+                    return;
+                }
+            }
+            transferPending(tick);
+            expire(tick);
+            tick++;
+        }
+    }
+
+    // Раскладывает новые таймауты по корзинам. Просроченный срок попадает в текущую корзину
+    private void transferPending(long tick) {
+        Timeout t;
+        while ((t = pending.poll()) != null) {
+            if (t.get() != Timeout.WAITING) {
+                active.decrementAndGet();
+                continue;
+            }
+            long calculated = Math.max(0L, (t.deadline - startNanos) / tickNanos);
+            long ticks = Math.max(calculated, tick);
+            t.rounds = (ticks - tick) >> Integer.numberOfTrailingZeros(wheel.length);
+            int index = (int) (ticks & mask);
+            t.next = wheel[index];
+            wheel[index] = t;
+        }
+    }
+
+    private void expire(long tick) {
+        int index = (int) (tick & mask);
+        Timeout prev = null;
+        Timeout t = wheel[index];
+        while (t != null) {
+            Timeout next = t.next;
+            boolean remove;
+            if (t.get() != Timeout.WAITING) {
+                remove = true;
+            } else if (t.rounds <= 0L) {
+                remove = true;
+                if (t.compareAndSet(Timeout.WAITING, Timeout.EXPIRED)) {
+                    ExecutorWorker.runSafely(t.task);
+                }
+            } else {
+                remove = false;
+                t.rounds--;
+            }
+            if (remove) {
+                if (prev == null) {
+                    wheel[index] = next;
+                } else {
+                    prev.next = next;
+                }
+                t.next = null;
+                active.decrementAndGet();
+            } else {
+                prev = t;
+            }
+            t = next;
+        }
+    }
+
+    // Состояние таймаута: ждёт, сработал или отменён. Отменённый убирается из корзины,
+    // когда поток таймера до неё дойдёт
+    static final class Timeout extends AtomicInteger implements Disposable {
+        static final int WAITING = 0;
+        static final int EXPIRED = 1;
+        static final int CANCELLED = 2;
+
+        final Runnable task;
+        final long deadline;
+        // Меняются только потоком таймера
+        long rounds;
+        Timeout next;
+
+        Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void dispose() {
+            compareAndSet(WAITING, CANCELLED);
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get() != WAITING;
+        }
+    }
+}
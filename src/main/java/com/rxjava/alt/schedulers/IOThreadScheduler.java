@@ -1,16 +1,70 @@
 package com.rxjava.alt.schedulers;
 
+import com.rxjava.alt.instrumentation.Instrumentation;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 // IOThreadScheduler использует Executors.newCachedThreadPool(), который создаёт новые потоки по необходимости и кэширует их
 public class IOThreadScheduler implements Scheduler {
     // ExecutorService с динамически создаваемыми и удаляемыми потоками
-    private final ExecutorService pool = Executors.newCachedThreadPool();
+    private final ExecutorService pool;
+
+    // Кэшированный пул не умеет откладывать задачи, поэтому для задержек держим отдельный
+    // поток-таймер: он только перекладывает сработавшие задачи в очередь Worker'а
+    private final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread t = new Thread(r, "IOThreadScheduler-timer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Своё колесо таймаутов для операторов (см. Scheduler.timer())
+    private final HashedWheelTimer wheel = new HashedWheelTimer("IOThreadScheduler-wheel");
+
+    public IOThreadScheduler() {
+        this(Executors.defaultThreadFactory());
+    }
+
+    public IOThreadScheduler(ThreadFactory threadFactory) {
+        this.pool = Executors.newCachedThreadPool(threadFactory);
+        timer.setRemoveOnCancelPolicy(true);
+    }
 
     @Override
     public void execute(Runnable task) {
         // Отправляем задачу в пул на выполнение
-        pool.submit(task);
+        pool.submit(Instrumentation.onSchedule(this, task));
+    }
+
+    @Override
+    public Worker createWorker() {
+        // Сливщик Worker'а идёт через execute, чтобы его тоже видело инструментирование
+        return new ExecutorWorker(this::execute, timer);
+    }
+
+    @Override
+    public HashedWheelTimer timer() {
+        return wheel;
+    }
+
+    @Override
+    public void shutdown() {
+        pool.shutdown();
+        timer.shutdownNow();
+        wheel.stop();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return pool.isShutdown();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        return pool.awaitTermination(timeout, unit)
+                && timer.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
     }
 }
@@ -0,0 +1,24 @@
+package com.rxjava.alt.schedulers;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Потоки с именами prefix-0, prefix-1, ... — по имени в дампе потоков видно, чей это пул.
+// Общие Scheduler'ы из Schedulers делают потоки демонами, чтобы они не держали JVM при выходе
+final class NamedThreadFactory implements ThreadFactory {
+    private final String prefix;
+    private final boolean daemon;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    NamedThreadFactory(String prefix, boolean daemon) {
+        this.prefix = prefix;
+        this.daemon = daemon;
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+        Thread t = new Thread(r, prefix + "-" + counter.getAndIncrement());
+        t.setDaemon(daemon);
+        return t;
+    }
+}
@@ -1,6 +1,98 @@
 package com.rxjava.alt.schedulers;
 
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.internal.SequentialDisposable;
+import java.util.concurrent.TimeUnit;
+
 // Общий интерфейс Scheduler для запуска задач в разных потоках/пулях
 public interface Scheduler {
+    // Разовая задача без гарантий порядка относительно других задач
     void execute(Runnable task);
-}
\ No newline at end of file
+
+    // Создаёт Worker — последовательного исполнителя поверх пула этого Scheduler.
+    // Операторы берут один Worker на подписку, чтобы её задачи выполнялись по очереди
+    // и освобождались разом при dispose(). Scheduler, умеющий только execute(), получает Worker
+    // поверх execute(), а задержки для него отсчитывает общий поток-таймер
+    default Worker createWorker() {
+        return new ExecutorWorker(this::execute, ExecutorScheduler.SharedTimer.INSTANCE);
+    }
+
+    // Таймер-колесо этого Scheduler'а для операторов, которые часто ставят и переставляют таймауты
+    // (debounce, timeout, sample). Встроенные Scheduler'ы держат по своему таймеру, остальным
+    // достаётся общий
+    default HashedWheelTimer timer() {
+        return HashedWheelTimer.shared();
+    }
+
+    // Мягкая остановка: уже принятые задачи выполняются, новые отклоняются (Worker'ы после этого
+    // возвращают DISPOSED), отложенные и таймауты колеса отбрасываются. Потоки завершаются сами,
+    // когда очереди опустеют. Повторный вызов ничего не делает
+    default void shutdown() {
+    }
+
+    default boolean isShutdown() {
+        return false;
+    }
+
+    // Ждёт, пока после shutdown() завершатся все потоки Scheduler'а; false — не дождались за timeout
+    default boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return true;
+    }
+
+    // Worker выполняет свои задачи строго по одной и в порядке планирования
+    // (отложенные — в порядке срабатывания). dispose() отменяет все ещё не выполненные задачи.
+    abstract class Worker implements Disposable {
+
+        public abstract Disposable schedule(Runnable task);
+
+        public abstract Disposable schedule(Runnable task, long delay, TimeUnit unit);
+
+        // Периодическая задача поверх отложенного schedule: каждый следующий запуск считается
+        // от момента первого, поэтому время выполнения самой задачи не накапливает сдвиг
+        public Disposable schedulePeriodically(Runnable task, long initialDelay, long period, TimeUnit unit) {
+            if (period <= 0L) {
+                throw new IllegalArgumentException("period > 0 required but it was " + period);
+            }
+            PeriodicTask periodic = new PeriodicTask(task, unit.toNanos(period),
+                    System.nanoTime() + unit.toNanos(initialDelay));
+            periodic.current.replace(schedule(periodic, initialDelay, unit));
+            return periodic;
+        }
+
+        private final class PeriodicTask implements Runnable, Disposable {
+            private final Runnable task;
+            private final long periodNanos;
+            private final long startNanos;
+            // Disposable текущего запланированного запуска
+            private final SequentialDisposable current = new SequentialDisposable();
+            private long count;
+
+            PeriodicTask(Runnable task, long periodNanos, long startNanos) {
+                this.task = task;
+                this.periodNanos = periodNanos;
+                this.startNanos = startNanos;
+            }
+
+            @Override
+            public void run() {
+                if (isDisposed()) {
+                    return;
+                }
+                task.run();
+                long next = startNanos + (++count) * periodNanos;
+                long delay = Math.max(0L, next - System.nanoTime());
+                current.replace(schedule(this, delay, TimeUnit.NANOSECONDS));
+            }
+
+            @Override
+            public void dispose() {
+                current.dispose();
+            }
+
+            @Override
+            public boolean isDisposed() {
+                return current.isDisposed();
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.rxjava.alt.schedulers;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Общие Scheduler'ы на всё приложение. Каждый создаётся при первом обращении, его потоки —
+// демоны с именами RxAlt-<вид>-N, поэтому они не задерживают выход из JVM и видны в дампе потоков.
+// new ComputationScheduler() и остальные на каждый запрос плодят пулы, которые никто не останавливает;
+// здесь пулы общие, а останавливает их один вызов shutdown() при завершении сервиса.
+// После shutdown() методы возвращают остановленные экземпляры (они отклоняют задачи),
+// пока start() не заменит их новыми
+public final class Schedulers {
+    private static final Shared COMPUTATION = new Shared(() -> new ComputationScheduler(
+            Runtime.getRuntime().availableProcessors(), true, new NamedThreadFactory("RxAlt-computation", true)));
+    private static final Shared IO = new Shared(() -> new IOThreadScheduler(new NamedThreadFactory("RxAlt-io", true)));
+    private static final Shared SINGLE = new Shared(() -> new SingleThreadScheduler(new NamedThreadFactory("RxAlt-single", true)));
+    private static final Shared VIRTUAL = new Shared(VirtualThreadScheduler::new);
+    private static final Shared[] ALL = {COMPUTATION, IO, SINGLE, VIRTUAL};
+
+    private Schedulers() {
+    }
+
+    // Вычисления: по циклу событий на ядро
+    public static Scheduler computation() {
+        return COMPUTATION.get();
+    }
+
+    // Блокирующий ввод-вывод: кэшируемый пул, растущий по нагрузке
+    public static Scheduler io() {
+        return IO.get();
+    }
+
+    // Один поток — строгий порядок всех задач
+    public static Scheduler single() {
+        return SINGLE.get();
+    }
+
+    // Виртуальный поток на задачу
+    public static Scheduler virtual() {
+        return VIRTUAL.get();
+    }
+
+    // Свой настроенный пул. Пулом по-прежнему владеет вызывающий: shutdown() Scheduler'а
+    // не останавливает executor. В реестр такие Scheduler'ы не попадают
+    public static Scheduler from(Executor executor) {
+        if (executor == null) {
+            throw new NullPointerException("executor is null");
+        }
+        return new ExecutorScheduler(executor);
+    }
+
+    // Мягко останавливает все уже созданные общие Scheduler'ы (см. Scheduler.shutdown())
+    public static void shutdown() {
+        for (Shared s : ALL) {
+            s.shutdown();
+        }
+    }
+
+    // Ждёт завершения потоков общих Scheduler'ов после shutdown(); false — не дождались за timeout
+    public static boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Shared s : ALL) {
+            Scheduler scheduler = s.instance;
+            if (scheduler != null
+                    && !scheduler.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Заменяет остановленные общие Scheduler'ы новыми; ещё не созданные так и создадутся при обращении
+    public static void start() {
+        for (Shared s : ALL) {
+            s.restart();
+        }
+    }
+
+    private static final class Shared {
+        private final Supplier<Scheduler> factory;
+        private volatile Scheduler instance;
+
+        Shared(Supplier<Scheduler> factory) {
+            this.factory = factory;
+        }
+
+        Scheduler get() {
+            Scheduler s = instance;
+            if (s == null) {
+                synchronized (this) {
+                    s = instance;
+                    if (s == null) {
+                        s = factory.get();
+                        instance = s;
+                    }
+                }
+            }
+            return s;
+        }
+
+        synchronized void shutdown() {
+            Scheduler s = instance;
+            if (s != null) {
+                s.shutdown();
+            }
+        }
+
+        synchronized void restart() {
+            Scheduler s = instance;
+            if (s != null && s.isShutdown()) {
+                instance = factory.get();
+            }
+        }
+    }
+}
@@ -1,14 +1,59 @@
 package com.rxjava.alt.schedulers;
 
-import java.util.concurrent.ExecutorService;
+import com.rxjava.alt.instrumentation.Instrumentation;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 // SingleThreadScheduler использует единственный поток для упорядоченной последовательной обработки
 public class SingleThreadScheduler implements Scheduler {
-    private final ExecutorService pool = Executors.newSingleThreadExecutor();
+    // Один поток выполняет и обычные, и отложенные задачи; отменённые сразу удаляются из очереди
+    private final ScheduledThreadPoolExecutor pool;
+
+    // Таймауты операторов отсчитывает отдельный поток-колесо, а не единственный поток пула
+    private final HashedWheelTimer wheel = new HashedWheelTimer("SingleThreadScheduler-wheel");
+
+    public SingleThreadScheduler() {
+        this(Executors.defaultThreadFactory());
+    }
+
+    public SingleThreadScheduler(ThreadFactory threadFactory) {
+        this.pool = new ScheduledThreadPoolExecutor(1, threadFactory);
+        pool.setRemoveOnCancelPolicy(true);
+        // Иначе после shutdown() поток жил бы до срабатывания последней отложенной задачи
+        pool.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
 
     @Override
     public void execute(Runnable task) {
-        pool.submit(task);
+        pool.submit(Instrumentation.onSchedule(this, task));
+    }
+
+    @Override
+    public Worker createWorker() {
+        // Сливщик Worker'а идёт через execute, чтобы его тоже видело инструментирование
+        return new ExecutorWorker(this::execute, pool);
+    }
+
+    @Override
+    public HashedWheelTimer timer() {
+        return wheel;
+    }
+
+    @Override
+    public void shutdown() {
+        pool.shutdown();
+        wheel.stop();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return pool.isShutdown();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return pool.awaitTermination(timeout, unit);
     }
 }
@@ -0,0 +1,87 @@
+package com.rxjava.alt.schedulers;
+
+import com.rxjava.alt.instrumentation.Instrumentation;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// VirtualThreadScheduler запускает каждую задачу в отдельном виртуальном потоке (JDK 21).
+// Блокирующий вызов паркует только виртуальный поток, а платформенных потоков остаётся столько,
+// сколько ядер, — поэтому пики блокирующих I/O не раздувают число потоков, как у IOThreadScheduler.
+public class VirtualThreadScheduler implements Scheduler {
+    private final ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor();
+
+    // Ограничитель одновременно выполняемых задач, null — без ограничения.
+    // Разрешение берётся уже внутри виртуального потока, поэтому вызывающий поток не блокируется
+    private final Semaphore limiter;
+
+    // Виртуальные потоки не умеют откладывать задачи, поэтому задержки отсчитывает отдельный поток-таймер
+    private final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread t = new Thread(r, "VirtualThreadScheduler-timer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Колесо таймаутов для операторов; свой поток у него появится при первом таймауте
+    private final HashedWheelTimer wheel = new HashedWheelTimer("VirtualThreadScheduler-wheel");
+
+    public VirtualThreadScheduler() {
+        this(0);
+    }
+
+    // maxConcurrency — сколько задач могут выполняться одновременно (например, лимит соединений
+    // к внешней системе); 0 или меньше — без ограничения
+    public VirtualThreadScheduler(int maxConcurrency) {
+        this.limiter = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Runnable t = Instrumentation.onSchedule(this, task);
+        Semaphore l = limiter;
+        if (l == null) {
+            pool.submit(t);
+        } else {
+            pool.submit(() -> {
+                l.acquireUninterruptibly();
+                try {
+                    t.run();
+                } finally {
+                    l.release();
+                }
+            });
+        }
+    }
+
+    @Override
+    public Worker createWorker() {
+        return new ExecutorWorker(this::execute, timer);
+    }
+
+    @Override
+    public HashedWheelTimer timer() {
+        return wheel;
+    }
+
+    @Override
+    public void shutdown() {
+        pool.shutdown();
+        timer.shutdownNow();
+        wheel.stop();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return pool.isShutdown();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        return pool.awaitTermination(timeout, unit)
+                && timer.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+}
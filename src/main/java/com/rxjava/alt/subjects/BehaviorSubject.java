@@ -0,0 +1,334 @@
+package com.rxjava.alt.subjects;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.internal.DisposableHelper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+// BehaviorSubject помнит последний элемент и сразу выдаёт его каждому новому подписчику,
+// а дальше работает как PublishSubject. Текущее значение хранится неизменяемым снимком
+// (значение + номер), чтобы подписчик не получил один и тот же элемент дважды и не получил
+// устаревший после свежего. Блокировка подписчика берётся только, пока он не догнал источник;
+// после этого onNext идёт по быстрому пути — один проход по массиву без блокировок.
+public final class BehaviorSubject<T> extends Subject<T> {
+    // Маркеры завершения хранятся в том же снимке, что и значение
+    static final Object COMPLETE = new Object();
+
+    static final class ErrorBox {
+        final Throwable error;
+
+        ErrorBox(Throwable error) {
+            this.error = error;
+        }
+    }
+
+    static final class Snapshot {
+        // null — значения ещё не было
+        final Object value;
+        final long index;
+
+        Snapshot(Object value, long index) {
+            this.value = value;
+            this.index = index;
+        }
+    }
+
+    private final State<T> state;
+
+    private BehaviorSubject(State<T> state) {
+        super(state);
+        this.state = state;
+    }
+
+    public static <T> BehaviorSubject<T> create() {
+        return new BehaviorSubject<>(new State<>(null));
+    }
+
+    // Подписчики до первого onNext получат defaultValue
+    public static <T> BehaviorSubject<T> createDefault(T defaultValue) {
+        if (defaultValue == null) {
+            throw new NullPointerException("defaultValue is null");
+        }
+        return new BehaviorSubject<>(new State<>(defaultValue));
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (item == null) {
+            onError(new NullPointerException("onNext called with null"));
+            return;
+        }
+        if (state.observers.get() == State.TERMINATED) {
+            return;
+        }
+        long index = state.publish(item);
+        for (BehaviorInner<T> inner : state.observers.get()) {
+            inner.emitNext(item, index);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        terminate(new ErrorBox(t));
+    }
+
+    @Override
+    public void onComplete() {
+        terminate(COMPLETE);
+    }
+
+    private void terminate(Object terminal) {
+        if (state.observers.get() == State.TERMINATED) {
+            return;
+        }
+        long index = state.publish(terminal);
+        for (BehaviorInner<T> inner : state.terminate()) {
+            inner.emitNext(terminal, index);
+        }
+    }
+
+    // Последний элемент или null, если его не было или Subject завершился
+    @SuppressWarnings("unchecked")
+    public T getValue() {
+        Object v = state.current.value;
+        return v == COMPLETE || v instanceof ErrorBox ? null : (T) v;
+    }
+
+    @Override
+    public boolean hasObservers() {
+        return state.observers.get().length != 0;
+    }
+
+    @Override
+    public boolean hasComplete() {
+        return state.current.value == COMPLETE;
+    }
+
+    @Override
+    public boolean hasThrowable() {
+        return state.current.value instanceof ErrorBox;
+    }
+
+    @Override
+    public Throwable getThrowable() {
+        Object v = state.current.value;
+        return v instanceof ErrorBox ? ((ErrorBox) v).error : null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static final class State<T> implements Observable.OnSubscribe<T> {
+        static final BehaviorInner[] EMPTY = new BehaviorInner[0];
+        static final BehaviorInner[] TERMINATED = new BehaviorInner[0];
+
+        final AtomicReference<BehaviorInner<T>[]> observers = new AtomicReference<>(EMPTY);
+        volatile Snapshot current;
+
+        State(Object initial) {
+            current = new Snapshot(initial, 0L);
+        }
+
+        // Отдаёт текущих подписчиков и закрывает подписку новым; TERMINATED — сырой массив,
+        // поэтому приведение держим здесь, под подавлением предупреждений класса
+        BehaviorInner<T>[] terminate() {
+            return observers.getAndSet(TERMINATED);
+        }
+
+        // Пишет только источник (вызовы onNext последовательны), поэтому без CAS
+        long publish(Object value) {
+            long index = current.index + 1;
+            current = new Snapshot(value, index);
+            return index;
+        }
+
+        @Override
+        public Disposable call(Observer<? super T> observer) {
+            BehaviorInner<T> inner = new BehaviorInner<>(observer, this);
+            if (add(inner)) {
+                inner.emitFirst();
+                return inner;
+            }
+            // Subject уже завершён — отдаём только сигнал завершения
+            Object v = current.value;
+            if (v instanceof ErrorBox) {
+                observer.onError(((ErrorBox) v).error);
+            } else {
+                observer.onComplete();
+            }
+            return DisposableHelper.DISPOSED;
+        }
+
+        boolean add(BehaviorInner<T> inner) {
+            for (;;) {
+                BehaviorInner<T>[] a = observers.get();
+                if (a == TERMINATED) {
+                    return false;
+                }
+                int n = a.length;
+                BehaviorInner<T>[] b = new BehaviorInner[n + 1];
+                System.arraycopy(a, 0, b, 0, n);
+                b[n] = inner;
+                if (observers.compareAndSet(a, b)) {
+                    return true;
+                }
+            }
+        }
+
+        void remove(BehaviorInner<T> inner) {
+            for (;;) {
+                BehaviorInner<T>[] a = observers.get();
+                int n = a.length;
+                int j = -1;
+                for (int i = 0; i < n; i++) {
+                    if (a[i] == inner) {
+                        j = i;
+                        break;
+                    }
+                }
+                if (j < 0) {
+                    return;
+                }
+                BehaviorInner<T>[] b;
+                if (n == 1) {
+                    b = EMPTY;
+                } else {
+                    b = new BehaviorInner[n - 1];
+                    System.arraycopy(a, 0, b, 0, j);
+                    System.arraycopy(a, j + 1, b, j, n - j - 1);
+                }
+                if (observers.compareAndSet(a, b)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Первое значение подписчику отдаёт поток подписки, следующие — поток источника.
+    // Пока первое не выдано, новые значения копятся в queue; затем источник переходит на fastPath.
+    static final class BehaviorInner<T> implements Disposable {
+        private final Observer<? super T> downstream;
+        private final State<T> state;
+        private volatile boolean cancelled;
+
+        // Защищены this
+        private boolean next;
+        private boolean emitting;
+        private List<Object> queue;
+        private long index;
+
+        // Только поток источника
+        private boolean fastPath;
+
+        BehaviorInner(Observer<? super T> downstream, State<T> state) {
+            this.downstream = downstream;
+            this.state = state;
+        }
+
+        void emitFirst() {
+            if (cancelled) {
+                return;
+            }
+            Snapshot s;
+            synchronized (this) {
+                // next == true — источник успел выдать что-то свежее раньше нас
+                if (cancelled || next) {
+                    return;
+                }
+                s = state.current;
+                index = s.index;
+                emitting = s.value != null;
+                next = true;
+            }
+            if (s.value != null) {
+                if (test(s.value)) {
+                    return;
+                }
+                emitLoop();
+            }
+        }
+
+        void emitNext(Object value, long stateIndex) {
+            if (cancelled) {
+                return;
+            }
+            if (!fastPath) {
+                synchronized (this) {
+                    if (cancelled) {
+                        return;
+                    }
+                    // Это значение уже выдал emitFirst
+                    if (index == stateIndex) {
+                        return;
+                    }
+                    if (emitting) {
+                        if (queue == null) {
+                            queue = new ArrayList<>(4);
+                        }
+                        queue.add(value);
+                        return;
+                    }
+                    next = true;
+                }
+                fastPath = true;
+            }
+            test(value);
+        }
+
+        private void emitLoop() {
+            for (;;) {
+                if (cancelled) {
+                    return;
+                }
+                List<Object> q;
+                synchronized (this) {
+                    q = queue;
+                    if (q == null) {
+                        emitting = false;
+                        return;
+                    }
+                    queue = null;
+                }
+                for (Object o : q) {
+                    if (test(o)) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        // true — дальше выдавать нечего (завершение или отмена)
+        @SuppressWarnings("unchecked")
+        private boolean test(Object o) {
+            if (cancelled) {
+                return true;
+            }
+            if (o == COMPLETE) {
+                cancelled = true;
+                downstream.onComplete();
+                return true;
+            }
+            if (o instanceof ErrorBox) {
+                cancelled = true;
+                downstream.onError(((ErrorBox) o).error);
+                return true;
+            }
+            downstream.onNext((T) o);
+            return false;
+        }
+
+        @Override
+        public void dispose() {
+            if (!cancelled) {
+                cancelled = true;
+                state.remove(this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.rxjava.alt.subjects;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.internal.DisposableHelper;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+// PublishSubject раздаёт подписчикам только элементы, пришедшие после их подписки.
+// Подписчики хранятся в массиве, который при подписке/отписке заменяется копией (copy-on-write),
+// поэтому onNext — это один проход по массиву без блокировок.
+// Опоздавший после завершения подписчик сразу получает onComplete/onError.
+public final class PublishSubject<T> extends Subject<T> {
+    private final State<T> state;
+
+    private PublishSubject(State<T> state) {
+        super(state);
+        this.state = state;
+    }
+
+    public static <T> PublishSubject<T> create() {
+        return new PublishSubject<>(new State<>());
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (item == null) {
+            onError(new NullPointerException("onNext called with null"));
+            return;
+        }
+        for (PublishInner<T> inner : state.observers.get()) {
+            inner.onNext(item);
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (state.observers.get() == State.TERMINATED) {
+            return;
+        }
+        state.error = t;
+        for (PublishInner<T> inner : state.terminate()) {
+            inner.onError(t);
+        }
+    }
+
+    @Override
+    public void onComplete() {
+        if (state.observers.get() == State.TERMINATED) {
+            return;
+        }
+        for (PublishInner<T> inner : state.terminate()) {
+            inner.onComplete();
+        }
+    }
+
+    @Override
+    public boolean hasObservers() {
+        return state.observers.get().length != 0;
+    }
+
+    @Override
+    public boolean hasComplete() {
+        return state.observers.get() == State.TERMINATED && state.error == null;
+    }
+
+    @Override
+    public boolean hasThrowable() {
+        return state.observers.get() == State.TERMINATED && state.error != null;
+    }
+
+    @Override
+    public Throwable getThrowable() {
+        return state.observers.get() == State.TERMINATED ? state.error : null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static final class State<T> implements Observable.OnSubscribe<T> {
+        static final PublishInner[] EMPTY = new PublishInner[0];
+        static final PublishInner[] TERMINATED = new PublishInner[0];
+
+        final AtomicReference<PublishInner<T>[]> observers = new AtomicReference<>(EMPTY);
+        // Записывается до публикации TERMINATED, поэтому видна всем, кто увидел TERMINATED
+        Throwable error;
+
+        @Override
+        public Disposable call(Observer<? super T> observer) {
+            PublishInner<T> inner = new PublishInner<>(observer, this);
+            if (add(inner)) {
+                return inner;
+            }
+            Throwable ex = error;
+            if (ex != null) {
+                observer.onError(ex);
+            } else {
+                observer.onComplete();
+            }
+            return DisposableHelper.DISPOSED;
+        }
+
+        PublishInner<T>[] terminate() {
+            return observers.getAndSet(TERMINATED);
+        }
+
+        boolean add(PublishInner<T> inner) {
+            for (;;) {
+                PublishInner<T>[] a = observers.get();
+                if (a == TERMINATED) {
+                    return false;
+                }
+                int n = a.length;
+                PublishInner<T>[] b = new PublishInner[n + 1];
+                System.arraycopy(a, 0, b, 0, n);
+                b[n] = inner;
+                if (observers.compareAndSet(a, b)) {
+                    return true;
+                }
+            }
+        }
+
+        void remove(PublishInner<T> inner) {
+            for (;;) {
+                PublishInner<T>[] a = observers.get();
+                int n = a.length;
+                int j = -1;
+                for (int i = 0; i < n; i++) {
+                    if (a[i] == inner) {
+                        j = i;
+                        break;
+                    }
+                }
+                if (j < 0) {
+                    // Уже удалён или Subject завершился
+                    return;
+                }
+                PublishInner<T>[] b;
+                if (n == 1) {
+                    b = EMPTY;
+                } else {
+                    b = new PublishInner[n - 1];
+                    System.arraycopy(a, 0, b, 0, j);
+                    System.arraycopy(a, j + 1, b, j, n - j - 1);
+                }
+                if (observers.compareAndSet(a, b)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // Подписчик в массиве; флаг отмены отсекает события, пришедшие в уже снятый снимок массива
+    static final class PublishInner<T> extends AtomicBoolean implements Disposable {
+        private final Observer<? super T> downstream;
+        private final State<T> parent;
+
+        PublishInner(Observer<? super T> downstream, State<T> parent) {
+            this.downstream = downstream;
+            this.parent = parent;
+        }
+
+        void onNext(T item) {
+            if (!get()) {
+                downstream.onNext(item);
+            }
+        }
+
+        void onError(Throwable t) {
+            if (!get()) {
+                downstream.onError(t);
+            }
+        }
+
+        void onComplete() {
+            if (!get()) {
+                downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (compareAndSet(false, true)) {
+                parent.remove(this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return get();
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.rxjava.alt.subjects;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// ReplaySubject хранит элементы и проигрывает их каждому новому подписчику, а затем
+// продолжает выдавать свежие. Буфер — односвязный список, в который пишет только источник;
+// ограничения по размеру и возрасту сдвигают голову списка, поэтому старые узлы
+// уходят в сборщик мусора, как только их не держит ни один отстающий подписчик.
+// Каждый подписчик сам помнит свой узел и догоняет хвост drain-циклом (wip), без блокировок.
+public final class ReplaySubject<T> extends Subject<T> {
+    private final State<T> state;
+
+    private ReplaySubject(State<T> state) {
+        super(state);
+        this.state = state;
+    }
+
+    // Хранит все элементы
+    public static <T> ReplaySubject<T> create() {
+        return new ReplaySubject<>(new State<>(Integer.MAX_VALUE, Long.MAX_VALUE));
+    }
+
+    // Хранит не больше maxSize последних элементов
+    public static <T> ReplaySubject<T> createWithSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        return new ReplaySubject<>(new State<>(maxSize, Long.MAX_VALUE));
+    }
+
+    // Хранит элементы не старше maxAge
+    public static <T> ReplaySubject<T> createWithTime(long maxAge, TimeUnit unit) {
+        return createWithTimeAndSize(maxAge, unit, Integer.MAX_VALUE);
+    }
+
+    public static <T> ReplaySubject<T> createWithTimeAndSize(long maxAge, TimeUnit unit, int maxSize) {
+        if (maxAge <= 0L) {
+            throw new IllegalArgumentException("maxAge > 0 required but it was " + maxAge);
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize > 0 required but it was " + maxSize);
+        }
+        return new ReplaySubject<>(new State<>(maxSize, unit.toNanos(maxAge)));
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (item == null) {
+            onError(new NullPointerException("onNext called with null"));
+            return;
+        }
+        if (state.done) {
+            return;
+        }
+        state.add(item);
+        for (ReplayInner<T> inner : state.observers.get()) {
+            inner.replay();
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (state.done) {
+            return;
+        }
+        state.error = t;
+        terminate();
+    }
+
+    @Override
+    public void onComplete() {
+        if (state.done) {
+            return;
+        }
+        terminate();
+    }
+
+    private void terminate() {
+        state.done = true;
+        for (ReplayInner<T> inner : state.terminate()) {
+            inner.replay();
+        }
+    }
+
+    @Override
+    public boolean hasObservers() {
+        return state.observers.get().length != 0;
+    }
+
+    @Override
+    public boolean hasComplete() {
+        return state.done && state.error == null;
+    }
+
+    @Override
+    public boolean hasThrowable() {
+        return state.done && state.error != null;
+    }
+
+    @Override
+    public Throwable getThrowable() {
+        return state.done ? state.error : null;
+    }
+
+    static final class Node<T> {
+        final T value;
+        final long time;
+        volatile Node<T> next;
+
+        Node(T value, long time) {
+            this.value = value;
+            this.time = time;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static final class State<T> implements Observable.OnSubscribe<T> {
+        static final ReplayInner[] EMPTY = new ReplayInner[0];
+        static final ReplayInner[] TERMINATED = new ReplayInner[0];
+
+        final AtomicReference<ReplayInner<T>[]> observers = new AtomicReference<>(EMPTY);
+        private final int maxSize;
+        private final long maxAgeNanos;
+
+        // Голова — служебный узел: подписчик начинает с элементов после него
+        volatile Node<T> head = new Node<>(null, 0L);
+        // Только поток источника
+        private Node<T> tail = head;
+        private int size;
+
+        volatile boolean done;
+        // Записывается до done
+        Throwable error;
+
+        State(int maxSize, long maxAgeNanos) {
+            this.maxSize = maxSize;
+            this.maxAgeNanos = maxAgeNanos;
+        }
+
+        // Подписчики на момент завершения; после вызова новые подписки уже не добавляются
+        ReplayInner<T>[] terminate() {
+            return observers.getAndSet(TERMINATED);
+        }
+
+        private boolean timed() {
+            return maxAgeNanos != Long.MAX_VALUE;
+        }
+
+        void add(T item) {
+            long now = timed() ? System.nanoTime() : 0L;
+            Node<T> n = new Node<>(item, now);
+            tail.next = n;
+            tail = n;
+            size++;
+            Node<T> h = head;
+            while (size > maxSize) {
+                h = h.next;
+                size--;
+            }
+            if (timed()) {
+                long limit = now - maxAgeNanos;
+                // Последний элемент не выбрасываем: он только что пришёл
+                while (h.next != tail && h.next.time - limit <= 0) {
+                    h = h.next;
+                    size--;
+                }
+            }
+            head = h;
+        }
+
+        // Узел, после которого начинается проигрывание для нового подписчика
+        Node<T> start() {
+            Node<T> h = head;
+            if (timed()) {
+                long limit = System.nanoTime() - maxAgeNanos;
+                Node<T> next = h.next;
+                while (next != null && next.time - limit <= 0) {
+                    h = next;
+                    next = h.next;
+                }
+            }
+            return h;
+        }
+
+        @Override
+        public Disposable call(Observer<? super T> observer) {
+            ReplayInner<T> inner = new ReplayInner<>(observer, this);
+            // После завершения подписчик в массив не попадает, но буфер всё равно получает
+            add(inner);
+            inner.replay();
+            return inner;
+        }
+
+        boolean add(ReplayInner<T> inner) {
+            for (;;) {
+                ReplayInner<T>[] a = observers.get();
+                if (a == TERMINATED) {
+                    return false;
+                }
+                int n = a.length;
+                ReplayInner<T>[] b = new ReplayInner[n + 1];
+                System.arraycopy(a, 0, b, 0, n);
+                b[n] = inner;
+                if (observers.compareAndSet(a, b)) {
+                    return true;
+                }
+            }
+        }
+
+        void remove(ReplayInner<T> inner) {
+            for (;;) {
+                ReplayInner<T>[] a = observers.get();
+                int n = a.length;
+                int j = -1;
+                for (int i = 0; i < n; i++) {
+                    if (a[i] == inner) {
+                        j = i;
+                        break;
+                    }
+                }
+                if (j < 0) {
+                    return;
+                }
+                ReplayInner<T>[] b;
+                if (n == 1) {
+                    b = EMPTY;
+                } else {
+                    b = new ReplayInner[n - 1];
+                    System.arraycopy(a, 0, b, 0, j);
+                    System.arraycopy(a, j + 1, b, j, n - j - 1);
+                }
+                if (observers.compareAndSet(a, b)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    static final class ReplayInner<T> implements Disposable {
+        private final Observer<? super T> downstream;
+        private final State<T> state;
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        // Последний выданный узел; меняется только внутри drain
+        private Node<T> node;
+
+        ReplayInner(Observer<? super T> downstream, State<T> state) {
+            this.downstream = downstream;
+            this.state = state;
+        }
+
+        void replay() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            for (;;) {
+                Node<T> n = node;
+                if (n == null) {
+                    n = state.start();
+                }
+                for (;;) {
+                    if (cancelled) {
+                        node = null;
+                        return;
+                    }
+                    // done читаем до next: если источник завершён, все его узлы уже видны
+                    boolean d = state.done;
+                    Node<T> next = n.next;
+                    if (next == null) {
+                        if (d) {
+                            node = null;
+                            cancelled = true;
+                            Throwable ex = state.error;
+                            if (ex != null) {
+                                downstream.onError(ex);
+                            } else {
+                                downstream.onComplete();
+                            }
+                            return;
+                        }
+                        break;
+                    }
+                    downstream.onNext(next.value);
+                    n = next;
+                }
+                node = n;
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) {
+                    break;
+                }
+            }
+        }
+
+        @Override
+        public void dispose() {
+            if (!cancelled) {
+                cancelled = true;
+                state.remove(this);
+            }
+        }
+
+        @Override
+        public boolean isDisposed() {
+            return cancelled;
+        }
+    }
+}
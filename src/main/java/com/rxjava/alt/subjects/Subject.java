@@ -0,0 +1,28 @@
+package com.rxjava.alt.subjects;
+
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+
+// Subject — одновременно Observer и Observable: элементы, пришедшие в onNext, раздаются всем
+// текущим подписчикам. Так один запуск источника (source.subscribe(subject)) обслуживает многих
+// подписчиков, вместо того чтобы каждый subscribe заново выполнял OnSubscribe.call.
+// Вызовы onNext/onError/onComplete самого Subject'а должны идти последовательно, как у любого Observer.
+public abstract class Subject<T> extends Observable<T> implements Observer<T> {
+
+    protected Subject(OnSubscribe<T> onSubscribe) {
+        super(onSubscribe);
+    }
+
+    public abstract boolean hasObservers();
+
+    public abstract boolean hasComplete();
+
+    public abstract boolean hasThrowable();
+
+    // Ошибка, которой завершился Subject, или null
+    public abstract Throwable getThrowable();
+
+    public boolean isTerminated() {
+        return hasComplete() || hasThrowable();
+    }
+}
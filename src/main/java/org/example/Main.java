@@ -2,8 +2,8 @@ package org.example;
 
 import com.rxjava.alt.core.Observable;
 import com.rxjava.alt.core.Observer;
-import com.rxjava.alt.schedulers.IOThreadScheduler;
-import com.rxjava.alt.schedulers.SingleThreadScheduler;
+import com.rxjava.alt.schedulers.Schedulers;
+import java.util.concurrent.TimeUnit;
 
 // Пример работы реактивного потока
 public class Main {
@@ -35,9 +35,9 @@ public class Main {
                     return () -> {};
                 }))
                 // Переносим эмиссию данных в пул IO (subscribeOn)
-                .subscribeOn(new IOThreadScheduler())
+                .subscribeOn(Schedulers.io())
                 // Доставку результатов — в однопоточный пул (observeOn)
-                .observeOn(new SingleThreadScheduler())
+                .observeOn(Schedulers.single())
                 // Подписываемся на готовый поток
                 .subscribe(new Observer<Integer>() {
                     @Override
@@ -62,5 +62,9 @@ public class Main {
 
         // Задерживаем основной поток, чтобы фоновая работа успела завершиться
         Thread.sleep(1000);
+
+        // Останавливаем общие пулы и ждём, пока их потоки завершатся
+        Schedulers.shutdown();
+        Schedulers.awaitTermination(1, TimeUnit.SECONDS);
     }
 }
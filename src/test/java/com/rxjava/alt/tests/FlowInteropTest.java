@@ -0,0 +1,278 @@
+package com.rxjava.alt.tests;
+
+import static com.rxjava.alt.tests.TestUtil.range;
+
+import com.rxjava.alt.core.BackpressureStrategy;
+import com.rxjava.alt.core.Flowable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Проверки мостов к java.util.concurrent.Flow по правилам спецификации Reactive Streams
+// (номера правил — как в TCK). Сам TCK не подключён, вместо него — RuleSubscriber,
+// который записывает каждое нарушение правил со стороны издателя
+public class FlowInteropTest {
+
+    // Flow.Subscriber, проверяющий издателя: onSubscribe ровно один раз и первым (§1.9),
+    // onNext не больше запрошенного (§1.1), сигналы не пересекаются (§1.3),
+    // после терминального сигнала тишина (§1.7)
+    static class RuleSubscriber<T> implements Flow.Subscriber<T> {
+        final List<T> values = new CopyOnWriteArrayList<>();
+        final List<String> violations = new CopyOnWriteArrayList<>();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CountDownLatch terminated = new CountDownLatch(1);
+        final AtomicLong requested = new AtomicLong();
+        final AtomicInteger inside = new AtomicInteger();
+        final long initialRequest;
+        volatile Flow.Subscription subscription;
+        volatile boolean done;
+        // Наибольшая глубина вложенных onNext (request из onNext не должен давать рекурсию, §3.3)
+        int depth;
+        int maxDepth;
+
+        RuleSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        private void enter(String signal) {
+            if (inside.getAndIncrement() != 0 && !signal.equals("onNext")) {
+                violations.add("§1.3: " + signal + " overlaps another signal");
+            }
+            if (done) {
+                violations.add("§1.7: " + signal + " after a terminal signal");
+            }
+        }
+
+        @Override public void onSubscribe(Flow.Subscription s) {
+            enter("onSubscribe");
+            if (subscription != null) {
+                violations.add("§1.9: onSubscribe called twice");
+            }
+            subscription = s;
+            inside.decrementAndGet();
+            if (initialRequest > 0) {
+                request(initialRequest);
+            }
+        }
+
+        void request(long n) {
+            requested.accumulateAndGet(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+            subscription.request(n);
+        }
+
+        @Override public void onNext(T item) {
+            if (subscription == null) {
+                violations.add("§1.9: onNext before onSubscribe");
+            }
+            enter("onNext");
+            maxDepth = Math.max(maxDepth, ++depth);
+            if (inside.get() > depth) {
+                violations.add("§1.3: concurrent onNext");
+            }
+            values.add(item);
+            if (values.size() > requested.get()) {
+                violations.add("§1.1: more items than requested");
+            }
+            onItem(item);
+            depth--;
+            inside.decrementAndGet();
+        }
+
+        void onItem(T item) {
+        }
+
+        @Override public void onError(Throwable t) {
+            enter("onError");
+            done = true;
+            error.set(t);
+            inside.decrementAndGet();
+            terminated.countDown();
+        }
+
+        @Override public void onComplete() {
+            enter("onComplete");
+            done = true;
+            inside.decrementAndGet();
+            terminated.countDown();
+        }
+
+        void assertClean() {
+            Assertions.assertEquals(List.of(), violations, "Нарушены правила Reactive Streams");
+        }
+    }
+
+    @Test
+    void testPublisherRespectsDemand() throws InterruptedException {
+        Flow.Publisher<Integer> publisher = range(10).toPublisher(BackpressureStrategy.BUFFER);
+        RuleSubscriber<Integer> ts = new RuleSubscriber<>(3);
+        publisher.subscribe(ts);
+        Assertions.assertEquals(List.of(0, 1, 2), ts.values, "Выдаётся только запрошенное (§1.1)");
+
+        ts.request(Long.MAX_VALUE);
+        // Повторный запрос Long.MAX_VALUE не переполняет счётчик спроса (§3.17)
+        ts.request(Long.MAX_VALUE);
+        Assertions.assertTrue(ts.terminated.await(1, TimeUnit.SECONDS));
+        Assertions.assertEquals(10, ts.values.size());
+        Assertions.assertNull(ts.error.get());
+        ts.assertClean();
+
+        // Каждый подписчик получает свою подписку на источник
+        RuleSubscriber<Integer> second = new RuleSubscriber<>(Long.MAX_VALUE);
+        publisher.subscribe(second);
+        Assertions.assertEquals(10, second.values.size());
+        second.assertClean();
+    }
+
+    @Test
+    void testPublisherRules() throws InterruptedException {
+        Flow.Publisher<Integer> publisher = Flowable.range(0, 10_000).toPublisher();
+
+        // §1.9: null вместо подписчика — NullPointerException
+        Assertions.assertThrows(NullPointerException.class, () -> publisher.subscribe(null));
+
+        // §3.9: request(0) завершает подписку IllegalArgumentException
+        RuleSubscriber<Integer> zero = new RuleSubscriber<>(0);
+        publisher.subscribe(zero);
+        zero.request(0);
+        Assertions.assertTrue(zero.terminated.await(1, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(IllegalArgumentException.class, zero.error.get());
+        zero.assertClean();
+
+        // §3.3: request(1) из onNext не растит стек, все 10 000 элементов приходят по одному
+        RuleSubscriber<Integer> oneByOne = new RuleSubscriber<>(1) {
+            @Override void onItem(Integer item) {
+                request(1);
+            }
+        };
+        publisher.subscribe(oneByOne);
+        Assertions.assertTrue(oneByOne.terminated.await(1, TimeUnit.SECONDS));
+        Assertions.assertEquals(10_000, oneByOne.values.size());
+        Assertions.assertEquals(1, oneByOne.maxDepth, "request из onNext не должен вызывать onNext рекурсивно");
+        oneByOne.assertClean();
+
+        // §3.7, §3.12: после cancel() сигналов больше нет, повторный cancel() безопасен
+        RuleSubscriber<Integer> cancelling = new RuleSubscriber<>(Long.MAX_VALUE) {
+            @Override void onItem(Integer item) {
+                if (item == 5) {
+                    subscription.cancel();
+                    subscription.cancel();
+                }
+            }
+        };
+        publisher.subscribe(cancelling);
+        Assertions.assertEquals(6, cancelling.values.size());
+        Assertions.assertEquals(1, cancelling.terminated.getCount(), "После cancel() терминального сигнала нет");
+        cancelling.assertClean();
+    }
+
+    @Test
+    void testFromSubmissionPublisher() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        // close() издателя — часть сценария (он завершает поток), поэтому без try-with-resources
+        SubmissionPublisher<Integer> publisher = new SubmissionPublisher<>(executor, 16);
+        try {
+            List<Integer> received = new CopyOnWriteArrayList<>();
+            CountDownLatch done = new CountDownLatch(1);
+            Observable.fromPublisher(publisher, 8).subscribe(new Observer<Integer>() {
+                @Override public void onNext(Integer item) {
+                    received.add(item);
+                }
+                @Override public void onError(Throwable t) {
+                    done.countDown();
+                }
+                @Override public void onComplete() {
+                    done.countDown();
+                }
+            });
+            // submit() блокируется, пока буфер издателя полон: память ограничена с обеих сторон
+            for (int i = 0; i < 1000; i++) {
+                publisher.submit(i);
+            }
+            publisher.close();
+            Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                expected.add(i);
+            }
+            Assertions.assertEquals(expected, received);
+        } finally {
+            publisher.close();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testFromPublisherBoundsDemandAndCancels() {
+        AtomicLong outstanding = new AtomicLong();
+        AtomicLong maxOutstanding = new AtomicLong();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Flow.Publisher<Integer> inner = Flowable.range(0, 1000).toPublisher();
+        // Издатель-обёртка, считающий спрос, который ещё не покрыт элементами
+        Flow.Publisher<Integer> tracking = subscriber -> inner.subscribe(new Flow.Subscriber<Integer>() {
+            @Override public void onSubscribe(Flow.Subscription s) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override public void request(long n) {
+                        maxOutstanding.accumulateAndGet(outstanding.addAndGet(n), Math::max);
+                        s.request(n);
+                    }
+                    @Override public void cancel() {
+                        cancelled.set(true);
+                        s.cancel();
+                    }
+                });
+            }
+            @Override public void onNext(Integer item) {
+                outstanding.decrementAndGet();
+                subscriber.onNext(item);
+            }
+            @Override public void onError(Throwable t) {
+                subscriber.onError(t);
+            }
+            @Override public void onComplete() {
+                subscriber.onComplete();
+            }
+        });
+
+        List<Integer> received = new ArrayList<>();
+        Observable.fromPublisher(tracking, 16).subscribe(new Observer<Integer>() {
+            @Override public void onNext(Integer item) {
+                received.add(item);
+            }
+            @Override public void onError(Throwable t) {}
+            @Override public void onComplete() {}
+        });
+        // Синхронный источник выдал всё за subscribe(): 1000 элементов при спросе не больше 16
+        Assertions.assertEquals(1000, received.size());
+        Assertions.assertTrue(maxOutstanding.get() <= 16, "В пути не больше prefetch элементов, было " + maxOutstanding.get());
+        Assertions.assertFalse(cancelled.get());
+
+        // dispose() отменяет Flow.Subscription
+        Flow.Publisher<Integer> never = subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            @Override public void request(long n) {}
+            @Override public void cancel() {
+                cancelled.set(true);
+            }
+        });
+        Observable.fromPublisher(never).subscribe(new Observer<Integer>() {
+            @Override public void onNext(Integer item) {}
+            @Override public void onError(Throwable t) {}
+            @Override public void onComplete() {}
+        }).dispose();
+        Assertions.assertTrue(cancelled.get(), "dispose() должен отменить подписку у издателя");
+    }
+}
@@ -0,0 +1,256 @@
+package com.rxjava.alt.tests;
+
+import com.rxjava.alt.core.BackpressureStrategy;
+import com.rxjava.alt.core.Flowable;
+import com.rxjava.alt.core.MissingBackpressureException;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Subscriber;
+import com.rxjava.alt.core.Subscription;
+import com.rxjava.alt.schedulers.ComputationScheduler;
+import com.rxjava.alt.schedulers.IOThreadScheduler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class FlowableTest {
+
+    // Подписчик, который сам решает, сколько элементов запросить
+    static class TestSubscriber<T> implements Subscriber<T> {
+        final List<T> values = new CopyOnWriteArrayList<>();
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final CountDownLatch terminated = new CountDownLatch(1);
+        final long initialRequest;
+        volatile Subscription subscription;
+
+        TestSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override public void onSubscribe(Subscription s) {
+            subscription = s;
+            s.request(initialRequest);
+        }
+        @Override public void onNext(T item) {
+            values.add(item);
+        }
+        @Override public void onError(Throwable t) {
+            error.set(t);
+            terminated.countDown();
+        }
+        @Override public void onComplete() {
+            terminated.countDown();
+        }
+    }
+
+    @Test
+    void testRequestLimitsEmission() {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(3);
+
+        Flowable.range(1, 10)
+                .map(i -> i * 10)
+                .filter(i -> i != 20)
+                .subscribe(ts);
+
+        // Запросили 3 элемента — получили ровно 3, несмотря на отброшенный filter'ом
+        Assertions.assertEquals(Arrays.asList(10, 30, 40), ts.values);
+        Assertions.assertEquals(1, ts.terminated.getCount(), "Поток не должен завершиться без запроса");
+
+        ts.subscription.request(Long.MAX_VALUE);
+        Assertions.assertEquals(9, ts.values.size());
+        Assertions.assertEquals(0, ts.terminated.getCount(), "Поток должен завершиться");
+    }
+
+    @Test
+    void testObserveOnKeepsOrder() throws InterruptedException {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(Long.MAX_VALUE);
+
+        Flowable.range(0, 10_000)
+                .subscribeOn(new IOThreadScheduler())
+                .observeOn(new ComputationScheduler(), 16)
+                .subscribe(ts);
+
+        Assertions.assertTrue(ts.terminated.await(5, TimeUnit.SECONDS), "Поток не завершился вовремя");
+        Assertions.assertNull(ts.error.get());
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            expected.add(i);
+        }
+        Assertions.assertEquals(expected, ts.values);
+    }
+
+    @Test
+    void testFlatMapMergesAllInners() throws InterruptedException {
+        TestSubscriber<Integer> ts = new TestSubscriber<>(Long.MAX_VALUE);
+
+        Flowable.range(0, 100)
+                .flatMap(i -> Flowable.range(i * 10, 10).subscribeOn(new ComputationScheduler()), 4, 2)
+                .subscribe(ts);
+
+        Assertions.assertTrue(ts.terminated.await(5, TimeUnit.SECONDS), "Поток не завершился вовремя");
+        Assertions.assertNull(ts.error.get());
+        Assertions.assertEquals(1000, ts.values.size());
+        Assertions.assertEquals(1000, ts.values.stream().distinct().count());
+    }
+
+    @Test
+    void testFlatMapManyShortInners() {
+        AtomicLong count = new AtomicLong();
+        AtomicLong sum = new AtomicLong();
+        AtomicReference<Subscription> subscription = new AtomicReference<>();
+        CountDownLatch terminated = new CountDownLatch(1);
+
+        // Спроса пока нет — тысячи одноэлементных внутренних потоков копятся активными
+        Flowable.range(0, 200_000)
+                .flatMap(i -> Flowable.range(i, 1), 5_000, 1)
+                .subscribe(new Subscriber<Integer>() {
+                    @Override public void onSubscribe(Subscription s) {
+                        subscription.set(s);
+                    }
+                    @Override public void onNext(Integer item) {
+                        count.incrementAndGet();
+                        sum.addAndGet(item);
+                    }
+                    @Override public void onError(Throwable t) {
+                        terminated.countDown();
+                    }
+                    @Override public void onComplete() {
+                        terminated.countDown();
+                    }
+                });
+        Assertions.assertEquals(0, count.get());
+
+        subscription.get().request(1_000);
+        Assertions.assertEquals(1_000, count.get(), "Выдано ровно запрошенное");
+        subscription.get().request(Long.MAX_VALUE);
+        Assertions.assertEquals(0, terminated.getCount(), "Поток должен завершиться");
+        Assertions.assertEquals(200_000, count.get());
+        Assertions.assertEquals(199_999L * 200_000 / 2, sum.get(), "Каждый элемент выдан один раз");
+    }
+
+    @Test
+    void testToFlowableStrategies() {
+        Observable<Integer> source = Observable.<Integer>create(emitter -> {
+            for (int i = 1; i <= 5; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+            return () -> {};
+        });
+
+        // BUFFER: всё копится и выдаётся по запросу
+        TestSubscriber<Integer> buffer = new TestSubscriber<>(2);
+        source.toFlowable(BackpressureStrategy.BUFFER).subscribe(buffer);
+        Assertions.assertEquals(Arrays.asList(1, 2), buffer.values);
+        buffer.subscription.request(10);
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 4, 5), buffer.values);
+        Assertions.assertEquals(0, buffer.terminated.getCount());
+
+        // DROP: лишние элементы теряются
+        TestSubscriber<Integer> drop = new TestSubscriber<>(2);
+        source.toFlowable(BackpressureStrategy.DROP).subscribe(drop);
+        Assertions.assertEquals(Arrays.asList(1, 2), drop.values);
+        Assertions.assertEquals(0, drop.terminated.getCount());
+
+        // LATEST: после запроса приходит последний выпущенный элемент
+        TestSubscriber<Integer> latest = new TestSubscriber<>(1);
+        source.toFlowable(BackpressureStrategy.LATEST).subscribe(latest);
+        latest.subscription.request(1);
+        Assertions.assertEquals(Arrays.asList(1, 5), latest.values);
+
+        // ERROR: элемент без спроса приводит к MissingBackpressureException
+        TestSubscriber<Integer> error = new TestSubscriber<>(1);
+        source.toFlowable(BackpressureStrategy.ERROR).subscribe(error);
+        Assertions.assertEquals(Arrays.asList(1), error.values);
+        Assertions.assertTrue(error.error.get() instanceof MissingBackpressureException);
+    }
+
+    // Нарушает §3.9: в первом onNext вызывает request(0) и запоминает, если onError пришёл прямо внутри onNext
+    static final class BadRequestSubscriber<T> extends TestSubscriber<T> {
+        final AtomicBoolean nested = new AtomicBoolean();
+        private volatile boolean inOnNext;
+
+        BadRequestSubscriber() {
+            super(4);
+        }
+
+        @Override public void onNext(T item) {
+            inOnNext = true;
+            values.add(item);
+            if (values.size() == 1) {
+                subscription.request(0);
+            }
+            inOnNext = false;
+        }
+        @Override public void onError(Throwable t) {
+            if (inOnNext) {
+                nested.set(true);
+            }
+            super.onError(t);
+        }
+    }
+
+    @Test
+    void testBadRequestErrorGoesThroughDrain() throws InterruptedException {
+        Observable<Integer> push = Observable.<Integer>create(emitter -> {
+            for (int i = 1; i <= 10; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+            return () -> {};
+        });
+        List<Flowable<Integer>> sources = Arrays.asList(
+                Flowable.range(1, 10),
+                Flowable.range(1, 10).observeOn(new ComputationScheduler(), 16),
+                Flowable.range(1, 3).flatMap(i -> Flowable.range(i * 10, 3)),
+                push.toFlowable(BackpressureStrategy.BUFFER),
+                push.toFlowable(BackpressureStrategy.DROP));
+        for (int i = 0; i < sources.size(); i++) {
+            BadRequestSubscriber<Integer> ts = new BadRequestSubscriber<>();
+            sources.get(i).subscribe(ts);
+            Assertions.assertTrue(ts.terminated.await(5, TimeUnit.SECONDS), "Источник " + i + " не завершился");
+            Assertions.assertInstanceOf(IllegalArgumentException.class, ts.error.get(), "Источник " + i);
+            // Ошибку отдаёт тот, кто выдаёт элементы, после возврата из onNext, а не поток, вызвавший request
+            Assertions.assertFalse(ts.nested.get(), "onError пришёл внутри onNext, источник " + i);
+            Assertions.assertEquals(1, ts.values.size(), "После ошибки элементы не должны приходить, источник " + i);
+        }
+    }
+
+    @Test
+    void testCancelStopsEmission() {
+        AtomicBoolean completed = new AtomicBoolean();
+        List<Integer> values = new ArrayList<>();
+
+        Flowable.range(0, 1000).subscribe(new Subscriber<Integer>() {
+            private Subscription s;
+
+            @Override public void onSubscribe(Subscription s) {
+                this.s = s;
+                s.request(Long.MAX_VALUE);
+            }
+            @Override public void onNext(Integer item) {
+                values.add(item);
+                if (values.size() == 5) {
+                    s.cancel();
+                }
+            }
+            @Override public void onError(Throwable t) {
+                Assertions.fail("Ошибка в тесте: " + t.getMessage());
+            }
+            @Override public void onComplete() {
+                completed.set(true);
+            }
+        });
+
+        Assertions.assertEquals(5, values.size());
+        Assertions.assertFalse(completed.get());
+    }
+}
@@ -0,0 +1,137 @@
+package com.rxjava.alt.tests;
+
+import static com.rxjava.alt.tests.TestUtil.range;
+
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.instrumentation.Instrumentation;
+import com.rxjava.alt.instrumentation.JmxExporter;
+import com.rxjava.alt.instrumentation.LatencyHistogram;
+import com.rxjava.alt.instrumentation.MetricsRegistry;
+import com.rxjava.alt.instrumentation.SchedulerMetrics;
+import com.rxjava.alt.instrumentation.StageMetrics;
+import com.rxjava.alt.schedulers.IOThreadScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class InstrumentationTest {
+
+    @AfterEach
+    void tearDown() {
+        Instrumentation.disable();
+    }
+
+    static void consume(Observable<Integer> source) {
+        source.subscribe(new Observer<Integer>() {
+            @Override public void onNext(Integer item) {}
+            @Override public void onError(Throwable t) {}
+            @Override public void onComplete() {}
+        });
+    }
+
+    @Test
+    void testStageMetrics() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Instrumentation.enable(registry);
+
+        // filter пропускает половину: у источника 1000 элементов, у слитой стадии map/filter — 500
+        consume(range(1000).map(v -> v + 1).filter(v -> v % 2 == 0));
+
+        StageMetrics fused = registry.stage("FusedMapFilterObservable");
+        Assertions.assertEquals(1, fused.subscriptions());
+        Assertions.assertEquals(500, fused.items());
+        Assertions.assertEquals(1, fused.completions());
+        Assertions.assertEquals(500, fused.onNextLatency().count());
+        // Источник создан лямбдой из TestUtil.range
+        Assertions.assertEquals(1000, registry.stage("TestUtil").items());
+    }
+
+    @Test
+    void testDisabledDoesNotRecord() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Instrumentation.enable(registry);
+        Instrumentation.disable();
+        consume(range(10).map(v -> v));
+        Assertions.assertTrue(registry.stages().isEmpty(), "Выключенное инструментирование не должно собирать метрики");
+    }
+
+    @Test
+    void testSchedulerMetrics() throws InterruptedException {
+        MetricsRegistry registry = new MetricsRegistry();
+        Instrumentation.enable(registry);
+        IOThreadScheduler scheduler = new IOThreadScheduler();
+        CountDownLatch done = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            scheduler.execute(done::countDown);
+        }
+        Assertions.assertTrue(done.await(1, TimeUnit.SECONDS));
+
+        SchedulerMetrics m = registry.scheduler("IOThreadScheduler");
+        // completed увеличивается после задачи, поэтому даём ей дойти до конца
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (m.completed() < 10 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        Assertions.assertEquals(10, m.submitted());
+        Assertions.assertEquals(10, m.completed());
+        Assertions.assertEquals(0, m.queueDepth());
+        Assertions.assertEquals(0, m.activeThreads());
+        Assertions.assertEquals(10, m.waitTime().count());
+    }
+
+    @Test
+    void testItemsPerSecondSampledByRegistry() throws InterruptedException {
+        MetricsRegistry registry = new MetricsRegistry(500, TimeUnit.MILLISECONDS);
+        Instrumentation.enable(registry);
+        consume(range(100).map(v -> v));
+
+        StageMetrics m = registry.stage("FusedMapFilterObservable");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (m.itemsPerSecond() == 0.0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        double rate = m.itemsPerSecond();
+        Assertions.assertTrue(rate > 0.0, "Реестр должен сам замерить скорость");
+        // Чтение не сбрасывает окно: повторный опрос видит тот же замер
+        Assertions.assertEquals(rate, m.itemsPerSecond());
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        LatencyHistogram h = new LatencyHistogram();
+        for (long v = 1; v <= 10_000; v++) {
+            h.record(v * 1000);
+        }
+        // Погрешность корзин не больше 1/16
+        Assertions.assertEquals(5_000_000, h.percentile(50), 5_000_000 / 16.0);
+        Assertions.assertEquals(9_900_000, h.percentile(99), 9_900_000 / 16.0);
+        Assertions.assertEquals(10_000_000, h.max());
+        Assertions.assertEquals(5_000_500, h.mean(), 1.0);
+    }
+
+    @Test
+    void testJmxExport() throws Exception {
+        MetricsRegistry registry = new MetricsRegistry();
+        Instrumentation.enable(registry);
+        consume(range(100).map(v -> v));
+
+        ObjectName name = JmxExporter.register(registry, "test");
+        try {
+            Object items = ManagementFactory.getPlatformMBeanServer()
+                    .getAttribute(name, "stage.FusedMapFilterObservable.items");
+            Assertions.assertEquals(100L, items);
+            // Операций нет: вызов отклоняется проверяемым исключением JMX, а не RuntimeException
+            Assertions.assertThrows(ReflectionException.class, () -> ManagementFactory.getPlatformMBeanServer()
+                    .invoke(name, "reset", new Object[0], new String[0]));
+        } finally {
+            JmxExporter.unregister(name);
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.rxjava.alt.tests;
+
+import static com.rxjava.alt.tests.TestUtil.await;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Flowable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observables;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.io.ByteBufferPool;
+import com.rxjava.alt.io.FileSinks;
+import com.rxjava.alt.schedulers.IOThreadScheduler;
+import com.rxjava.alt.schedulers.Scheduler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+public class IoTest {
+    static final IOThreadScheduler IO = new IOThreadScheduler();
+
+    @TempDir
+    Path dir;
+
+    static String decode(ByteBuffer b) {
+        return StandardCharsets.UTF_8.decode(b.duplicate()).toString();
+    }
+
+    // Для источников, переиспользующих буфер (fromChannel, splitLines): он валиден только внутри onNext,
+    // поэтому каждый сразу превращается в значение — map выполняется в том же onNext
+    static <R> List<R> awaitCopies(Observable<ByteBuffer> source, Function<ByteBuffer, R> copy) throws InterruptedException {
+        return await(source.map(copy));
+    }
+
+    @Test
+    void testMappedFileChunks() throws Exception {
+        Path file = dir.resolve("data.txt");
+        Files.writeString(file, "0123456789abcdefghij!");
+
+        // Срезы отображения не переиспользуются, поэтому их можно копить как есть
+        List<ByteBuffer> chunks = await(Observables.fromMappedFile(file, 8, IO));
+        chunks.forEach(b -> Assertions.assertTrue(b.isReadOnly(), "Срез должен быть только для чтения"));
+        Assertions.assertEquals(List.of("01234567", "89abcdef", "ghij!"), chunks.stream().map(IoTest::decode).toList());
+
+        Files.write(dir.resolve("empty"), new byte[0]);
+        Assertions.assertTrue(await(Observables.fromMappedFile(dir.resolve("empty"), 8, IO)).isEmpty());
+    }
+
+    @Test
+    void testChannelUsesPooledDirectBuffer() throws Exception {
+        Path file = dir.resolve("channel.bin");
+        byte[] data = new byte[10_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        Files.write(file, data);
+
+        ByteBufferPool pool = new ByteBufferPool(1024, 4);
+        FileChannel channel = FileChannel.open(file);
+        List<byte[]> chunks = awaitCopies(Observables.fromChannel(channel, pool, IO), b -> {
+            Assertions.assertTrue(b.isDirect(), "Буфер должен быть direct");
+            byte[] copy = new byte[b.remaining()];
+            b.get(copy);
+            return copy;
+        });
+
+        int offset = 0;
+        for (byte[] chunk : chunks) {
+            for (byte v : chunk) {
+                Assertions.assertEquals(data[offset++], v);
+            }
+        }
+        Assertions.assertEquals(data.length, offset);
+        Assertions.assertFalse(channel.isOpen(), "Канал должен закрыться после чтения");
+        Assertions.assertEquals(1, pool.available(), "Буфер должен вернуться в пул");
+    }
+
+    @Test
+    void testSplitLinesAcrossChunks() throws Exception {
+        Path file = dir.resolve("lines.txt");
+        Files.writeString(file, "alpha\r\nbeta\ngamma\n\ndelta");
+
+        // Крошечные куски режут строки и даже пару "\r\n" посередине
+        for (int chunkSize : new int[]{1, 3, 6, 64}) {
+            List<String> lines = awaitCopies(Observables.splitLines(Observables.fromMappedFile(file, chunkSize, IO)), IoTest::decode);
+            Assertions.assertEquals(List.of("alpha", "beta", "gamma", "", "delta"), lines, "chunkSize=" + chunkSize);
+        }
+    }
+
+    @Test
+    void testDisposeStopsReadingMidFile() throws IOException, InterruptedException {
+        Path file = dir.resolve("big.bin");
+        Files.write(file, new byte[1024 * 1024]);
+
+        AtomicInteger chunks = new AtomicInteger();
+        AtomicReference<Disposable> ref = new AtomicReference<>();
+        CountDownLatch first = new CountDownLatch(1);
+        Disposable d = Observables.fromMappedFile(file, 64, IO).subscribe(new Observer<ByteBuffer>() {
+            @Override public void onNext(ByteBuffer item) {
+                if (chunks.incrementAndGet() == 10) {
+                    first.countDown();
+                    // Ждём, пока тест получит Disposable, и отменяем подписку прямо из onNext
+                    while (ref.get() == null) {
+                        Thread.onSpinWait();
+                    }
+                    ref.get().dispose();
+                }
+            }
+            @Override public void onError(Throwable t) {}
+            @Override public void onComplete() {}
+        });
+        ref.set(d);
+        Assertions.assertTrue(first.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        Assertions.assertTrue(chunks.get() < 1024 * 1024 / 64, "Чтение должно остановиться посреди файла");
+        Assertions.assertEquals(10, chunks.get(), "После dispose() куски не должны приходить");
+    }
+
+    @Test
+    void testDisposeBeforeReadClosesChannel() throws IOException {
+        Path file = dir.resolve("small.txt");
+        Files.writeString(file, "data");
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        // Scheduler, который только копит задачи: отписываемся раньше, чем чтение запустится
+        List<Runnable> tasks = new ArrayList<>();
+        Scheduler manual = tasks::add;
+        Disposable d = Observables.fromChannel(channel, ByteBufferPool.shared(), manual).subscribe(new Observer<ByteBuffer>() {
+            @Override public void onNext(ByteBuffer item) {}
+            @Override public void onError(Throwable t) {}
+            @Override public void onComplete() {}
+        });
+        d.dispose();
+        tasks.forEach(Runnable::run);
+        Assertions.assertFalse(channel.isOpen(), "Канал должен закрыться, даже если чтение не началось");
+    }
+
+    static long awaitWritten(Observable<Long> result) throws InterruptedException {
+        List<Long> written = await(result);
+        Assertions.assertEquals(1, written.size(), "Запись должна выдать ровно одно число байтов");
+        return written.get(0);
+    }
+
+    @Test
+    void testGatherWriteFromFlowable() throws Exception {
+        Path file = dir.resolve("out.txt");
+        StringBuilder expected = new StringBuilder();
+        List<ByteBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String line = "line-" + i + "\n";
+            expected.append(line);
+            buffers.add(ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        AtomicInteger calls = new AtomicInteger();
+        FileChannel fc = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            // Обёртка считает системные вызовы записи
+            GatheringByteChannel counting = new GatheringByteChannel() {
+                @Override public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+                    calls.incrementAndGet();
+                    return fc.write(srcs, offset, length);
+                }
+                @Override public long write(ByteBuffer[] srcs) throws IOException {
+                    return write(srcs, 0, srcs.length);
+                }
+                @Override public int write(ByteBuffer src) throws IOException {
+                    calls.incrementAndGet();
+                    return fc.write(src);
+                }
+                @Override public boolean isOpen() {
+                    return fc.isOpen();
+                }
+                @Override public void close() throws IOException {
+                    fc.close();
+                }
+            };
+            long written = awaitWritten(FileSinks.write(Flowable.fromIterable(buffers), counting, 64, IO));
+            Assertions.assertEquals(expected.length(), written);
+        } finally {
+            fc.close();
+        }
+        Assertions.assertEquals(expected.toString(), Files.readString(file));
+        // Пачки бывают и неполными, но вызовов должно быть намного меньше, чем буферов
+        Assertions.assertTrue(calls.get() < 50, "Буферы должны писаться пачками, а вызовов было " + calls.get());
+    }
+
+    @Test
+    void testObservableSourceWaitsForWriter() throws Exception {
+        AtomicInteger writes = new AtomicInteger();
+        AtomicInteger maxLag = new AtomicInteger();
+        // Медленный канал без векторной записи
+        WritableByteChannel slow = new WritableByteChannel() {
+            @Override public int write(ByteBuffer src) {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                int n = src.remaining();
+                src.position(src.limit());
+                writes.incrementAndGet();
+                return n;
+            }
+            @Override public boolean isOpen() {
+                return true;
+            }
+            @Override public void close() {
+            }
+        };
+        Observable<ByteBuffer> source = Observable.<ByteBuffer>create(obs -> {
+            for (int i = 0; i < 200; i++) {
+                obs.onNext(ByteBuffer.allocate(10));
+                maxLag.accumulateAndGet(i + 1 - writes.get(), Math::max);
+            }
+            obs.onComplete();
+            return () -> {};
+        }).subscribeOn(IO);
+
+        Assertions.assertEquals(2000L, awaitWritten(Observables.write(source, slow, 8, IO)));
+        Assertions.assertTrue(maxLag.get() <= 8, "В очереди не должно быть больше 8 буферов, было " + maxLag.get());
+    }
+
+    @Test
+    void testWriteErrorReleasesBlockedSource() throws Exception {
+        WritableByteChannel failing = new WritableByteChannel() {
+            // Падает не сразу: к этому моменту источник уже занял все места и ждёт в onNext
+            @Override public int write(ByteBuffer src) throws IOException {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new IOException("disk full");
+            }
+            @Override public boolean isOpen() {
+                return true;
+            }
+            @Override public void close() {
+            }
+        };
+        CountDownLatch sourceDone = new CountDownLatch(1);
+        Observable<ByteBuffer> source = Observable.<ByteBuffer>create(obs -> {
+            for (int i = 0; i < 100; i++) {
+                obs.onNext(ByteBuffer.allocate(10));
+            }
+            sourceDone.countDown();
+            return () -> {};
+        }).subscribeOn(IO);
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        Observables.write(source, failing, 4, IO).subscribe(new Observer<Long>() {
+            @Override public void onNext(Long item) {}
+            @Override public void onError(Throwable t) {
+                error.set(t);
+                latch.countDown();
+            }
+            @Override public void onComplete() {
+                latch.countDown();
+            }
+        });
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS), "Запись не завершилась вовремя");
+        Assertions.assertInstanceOf(IOException.class, error.get(), "Ошибка записи должна дойти до подписчика");
+        Assertions.assertTrue(sourceDone.await(5, TimeUnit.SECONDS), "Источник остался ждать места в очереди");
+    }
+
+    @Test
+    void testWriteToAsynchronousFileChannel() throws Exception {
+        Path src = dir.resolve("src.bin");
+        byte[] data = new byte[200_000];
+        new Random(42).nextBytes(data);
+        Files.write(src, data);
+
+        // Мелкие куски склеиваются в промежуточный буфер, крупные пишутся как есть
+        for (int chunkSize : new int[]{100, 100_000}) {
+            Path dst = dir.resolve("dst-" + chunkSize + ".bin");
+            try (AsynchronousFileChannel ch = AsynchronousFileChannel.open(dst,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                long written = awaitWritten(Observables.write(Observables.fromMappedFile(src, chunkSize, IO), ch, 0L, 16));
+                Assertions.assertEquals(data.length, written);
+            }
+            Assertions.assertArrayEquals(data, Files.readAllBytes(dst), "chunkSize=" + chunkSize);
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.rxjava.alt.tests;
 
+import com.rxjava.alt.core.CompositeDisposable;
 import com.rxjava.alt.core.Observable;
 import com.rxjava.alt.core.Observer;
 import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.LongObservable;
+import com.rxjava.alt.core.LongObserver;
+import com.rxjava.alt.core.SerialDisposable;
+import com.rxjava.alt.schedulers.ComputationScheduler;
 import com.rxjava.alt.schedulers.IOThreadScheduler;
 import com.rxjava.alt.schedulers.SingleThreadScheduler;
 import org.junit.jupiter.api.Test;
@@ -117,6 +122,48 @@ public class ObservableTest {
         Assertions.assertTrue(count.get() >= 5, "Элементы не эмитятся или dispose сработал слишком рано");
     }
 
+    @Test
+    void testOnNextExceptionBecomesOnError() throws InterruptedException {
+        AtomicInteger received = new AtomicInteger();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        AtomicBoolean sourceDisposed = new AtomicBoolean();
+        CountDownLatch producerExited = new CountDownLatch(1);
+
+        // Бесконечный источник в своём потоке: выходит из цикла, только когда его отменили
+        Observable<Integer> infinite = Observable.<Integer>create(emitter -> {
+            Thread t = new Thread(() -> {
+                int i = 0;
+                while (!sourceDisposed.get()) {
+                    emitter.onNext(i++);
+                }
+                producerExited.countDown();
+            });
+            t.start();
+            return () -> sourceDisposed.set(true);
+        });
+
+        infinite.subscribe(new Observer<Integer>() {
+            @Override public void onNext(Integer item) {
+                if (received.incrementAndGet() == 3) {
+                    throw new IllegalStateException("boom");
+                }
+            }
+            @Override public void onError(Throwable t) {
+                error.set(t);
+            }
+            @Override public void onComplete() {
+                completed.set(true);
+            }
+        });
+
+        // Поток источника не падает от чужого исключения, а видит отписку и завершается сам
+        Assertions.assertTrue(producerExited.await(1, TimeUnit.SECONDS), "Источник не был отменён");
+        Assertions.assertEquals("boom", error.get().getMessage());
+        Assertions.assertEquals(3, received.get(), "После исключения элементы не должны приходить");
+        Assertions.assertFalse(completed.get());
+    }
+
     @Test
     void testSubscribeOnObserveOn() throws InterruptedException {
         CountDownLatch latch = new CountDownLatch(1);
@@ -144,4 +191,349 @@ public class ObservableTest {
         Assertions.assertTrue(latch.await(1, TimeUnit.SECONDS), "Stream did not complete in time");
         Assertions.assertNotEquals(Thread.currentThread(), threadRef.get(), "Ожидался другой поток");
     }
+
+    @Test
+    void testSubscribeOnReturnsImmediately() throws InterruptedException {
+        // Бесконечный источник: call() не возвращается, пока его не остановят
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch stopped = new CountDownLatch(1);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicInteger afterDispose = new AtomicInteger();
+        AtomicBoolean disposedFlag = new AtomicBoolean();
+
+        Observable<Integer> infinite = Observable.create(emitter -> {
+            started.countDown();
+            while (!cancelled.get()) {
+                emitter.onNext(1);
+                Thread.onSpinWait();
+            }
+            stopped.countDown();
+            return () -> {};
+        });
+
+        Disposable d = infinite
+                .subscribeOn(new IOThreadScheduler())
+                .subscribe(new Observer<Integer>() {
+                    @Override public void onNext(Integer item) {
+                        if (disposedFlag.get()) {
+                            afterDispose.incrementAndGet();
+                        }
+                    }
+                    @Override public void onError(Throwable t) {}
+                    @Override public void onComplete() {}
+                });
+
+        // Сюда попадаем, не дожидаясь конца источника
+        Assertions.assertTrue(started.await(1, TimeUnit.SECONDS), "Источник не запустился в Scheduler'е");
+        d.dispose();
+        disposedFlag.set(true);
+        Assertions.assertTrue(d.isDisposed());
+        Thread.sleep(20);
+        cancelled.set(true);
+        Assertions.assertTrue(stopped.await(1, TimeUnit.SECONDS), "Источник не остановился");
+        // Допускаем один элемент, который уже прошёл проверку флага в момент dispose()
+        Assertions.assertTrue(afterDispose.get() <= 1, "После dispose элементы не должны доходить до подписчика");
+    }
+
+    @Test
+    void testObserveOnKeepsOrderOnMultiThreadScheduler() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Integer> result = new ArrayList<>();
+        AtomicBoolean completedEarly = new AtomicBoolean(false);
+
+        Observable<Integer> src = Observable.<Integer>create(emitter -> {
+            for (int i = 0; i < 10_000; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+            return () -> {};
+        });
+
+        src
+                .observeOn(new ComputationScheduler(), 16)
+                .subscribe(new Observer<Integer>() {
+                    @Override public void onNext(Integer item) {
+                        result.add(item);
+                    }
+                    @Override public void onError(Throwable t) {
+                        Assertions.fail("Ошибка в тесте: " + t.getMessage());
+                    }
+                    @Override public void onComplete() {
+                        completedEarly.set(result.size() != 10_000);
+                        latch.countDown();
+                    }
+                });
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS), "Поток не завершился вовремя");
+        Assertions.assertFalse(completedEarly.get(), "onComplete пришёл раньше последнего onNext");
+        for (int i = 0; i < 10_000; i++) {
+            Assertions.assertEquals(i, result.get(i), "Нарушен порядок элементов");
+        }
+    }
+
+    @Test
+    void testFusedMapFilterChain() throws InterruptedException {
+        List<Integer> result = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Observable<Integer> source = Observable.<Integer>create(emitter -> {
+            for (int i = 1; i <= 6; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+            return () -> {};
+        });
+
+        // Подряд идущие map/filter сливаются в одну стадию, результат не должен меняться
+        source
+                .map(i -> i * 2)
+                .filter(i -> i % 3 != 0)
+                .map(i -> i + 1)
+                .filter(i -> i > 3)
+                .map(i -> "v" + i)
+                .map(String::length)
+                .subscribe(new Observer<Integer>() {
+                    @Override public void onNext(Integer item) {
+                        result.add(item);
+                    }
+                    @Override public void onError(Throwable t) {
+                        error.set(t);
+                    }
+                    @Override public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+
+        Assertions.assertTrue(latch.await(1, TimeUnit.SECONDS), "Поток не завершился вовремя");
+        Assertions.assertNull(error.get());
+        // [2,4,6,8,10,12] -> [2,4,8,10] -> [3,5,9,11] -> [5,9,11] -> ["v5","v9","v11"] -> [2,2,3]
+        Assertions.assertEquals(Arrays.asList(2, 2, 3), result);
+
+        // Ошибка в функции слитой цепочки приходит в onError
+        CountDownLatch errorLatch = new CountDownLatch(1);
+        source
+                .map(i -> i * 2)
+                .map(i -> {
+                    if (i == 4) {
+                        throw new IllegalStateException("boom");
+                    }
+                    return i;
+                })
+                .subscribe(new Observer<Integer>() {
+                    @Override public void onNext(Integer item) {}
+                    @Override public void onError(Throwable t) {
+                        error.set(t);
+                        errorLatch.countDown();
+                    }
+                    @Override public void onComplete() {}
+                });
+        Assertions.assertTrue(errorLatch.await(1, TimeUnit.SECONDS), "onError не был вызван");
+        Assertions.assertEquals("boom", error.get().getMessage());
+    }
+
+    @Test
+    void testFlatMapMaxConcurrencyWaitsForInners() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicInteger received = new AtomicInteger();
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        AtomicInteger receivedAtComplete = new AtomicInteger(-1);
+
+        Observable<Integer> source = Observable.<Integer>create(emitter -> {
+            for (int i = 0; i < 20; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+            return () -> {};
+        });
+
+        source
+                .flatMap(i -> Observable.<Integer>create(inner -> {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    // Внутренний поток выпускает элементы асинхронно, уже после завершения source
+                    Thread t = new Thread(() -> {
+                        try {
+                            Thread.sleep(5);
+                        } catch (InterruptedException ignored) {
+                        }
+                        for (int j = 0; j < 10; j++) {
+                            inner.onNext(i * 10 + j);
+                        }
+                        active.decrementAndGet();
+                        inner.onComplete();
+                    });
+                    t.start();
+                    return t::interrupt;
+                }), 3, 4)
+                .subscribe(new Observer<Integer>() {
+                    @Override public void onNext(Integer item) {
+                        received.incrementAndGet();
+                    }
+                    @Override public void onError(Throwable t) {
+                        Assertions.fail("Ошибка в тесте: " + t.getMessage());
+                    }
+                    @Override public void onComplete() {
+                        receivedAtComplete.set(received.get());
+                        latch.countDown();
+                    }
+                });
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS), "Поток не завершился вовремя");
+        Assertions.assertEquals(200, receivedAtComplete.get(), "onComplete пришёл раньше элементов внутренних потоков");
+        Assertions.assertTrue(maxActive.get() <= 3, "Превышен maxConcurrency: " + maxActive.get());
+    }
+
+    @Test
+    void testLongObservableMapFilterSum() {
+        // range -> map -> filter -> sum целиком на примитивах
+        long[] sum = new long[1];
+        AtomicBoolean completed = new AtomicBoolean();
+        LongObservable.range(1, 100)
+                .map(v -> v * 2)
+                .filter(v -> v % 3 == 0)
+                .sum()
+                .subscribe(new LongObserver() {
+                    @Override public void onNext(long value) {
+                        sum[0] = value;
+                    }
+                    @Override public void onError(Throwable t) {
+                        Assertions.fail("Неожиданная ошибка: " + t);
+                    }
+                    @Override public void onComplete() {
+                        completed.set(true);
+                    }
+                });
+        long expected = 0;
+        for (long v = 1; v <= 100; v++) {
+            if (v * 2 % 3 == 0) {
+                expected += v * 2;
+            }
+        }
+        Assertions.assertTrue(completed.get(), "Поток должен завершиться");
+        Assertions.assertEquals(expected, sum[0]);
+    }
+
+    @Test
+    void testPrimitiveConversions() {
+        // Observable -> IntObservable -> Observable, ошибка в mapper доходит до onError
+        List<Object> result = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Observable.<String>create(emitter -> {
+            emitter.onNext("a");
+            emitter.onNext("bbb");
+            emitter.onNext("");
+            emitter.onComplete();
+            return () -> {};
+        }).mapToInt(String::length)
+                .map(v -> 10 / v)
+                .boxed()
+                .subscribe(new Observer<Integer>() {
+                    @Override public void onNext(Integer item) {
+                        result.add(item);
+                    }
+                    @Override public void onError(Throwable t) {
+                        error.set(t);
+                    }
+                    @Override public void onComplete() {
+                        result.add("complete");
+                    }
+                });
+        Assertions.assertEquals(Arrays.asList(10, 3), result);
+        Assertions.assertInstanceOf(ArithmeticException.class, error.get(), "Ошибка mapper должна дойти до подписчика");
+    }
+
+    // Простой Disposable, который запоминает, был ли отменён
+    static final class Flag implements Disposable {
+        volatile boolean disposed;
+
+        @Override public void dispose() {
+            disposed = true;
+        }
+        @Override public boolean isDisposed() {
+            return disposed;
+        }
+    }
+
+    @Test
+    void testCompositeDisposable() {
+        CompositeDisposable composite = new CompositeDisposable();
+        List<Flag> flags = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            Flag f = new Flag();
+            flags.add(f);
+            Assertions.assertTrue(composite.add(f));
+        }
+        // delete убирает без отмены, remove — с отменой
+        for (int i = 0; i < 9_000; i++) {
+            Assertions.assertTrue(composite.delete(flags.get(i)));
+        }
+        Assertions.assertTrue(composite.remove(flags.get(9_000)));
+        Assertions.assertFalse(composite.delete(flags.get(0)), "Повторное удаление должно возвращать false");
+        Assertions.assertEquals(999, composite.size());
+        Assertions.assertFalse(flags.get(0).disposed);
+        Assertions.assertTrue(flags.get(9_000).disposed);
+
+        composite.dispose();
+        Assertions.assertTrue(composite.isDisposed());
+        Assertions.assertEquals(0, composite.size());
+        for (int i = 9_001; i < 10_000; i++) {
+            Assertions.assertTrue(flags.get(i).disposed, "Все оставшиеся элементы должны быть отменены");
+        }
+        // Добавленное после dispose() отменяется сразу
+        Flag late = new Flag();
+        Assertions.assertFalse(composite.add(late));
+        Assertions.assertTrue(late.disposed);
+    }
+
+    @Test
+    void testSerialDisposable() {
+        SerialDisposable serial = new SerialDisposable();
+        Flag first = new Flag();
+        Flag second = new Flag();
+        Flag third = new Flag();
+        serial.set(first);
+        serial.set(second);
+        Assertions.assertTrue(first.disposed, "set() отменяет предыдущий Disposable");
+        serial.replace(third);
+        Assertions.assertFalse(second.disposed, "replace() не отменяет предыдущий Disposable");
+        serial.dispose();
+        Assertions.assertTrue(third.disposed);
+        Flag late = new Flag();
+        Assertions.assertFalse(serial.set(late));
+        Assertions.assertTrue(late.disposed);
+    }
+
+    @Test
+    void testFlatMapManySequentialInners() throws InterruptedException {
+        // Долгоживущий flatMap через множество завершающихся внутренних потоков
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicInteger count = new AtomicInteger();
+        Observable<Integer> source = Observable.create(emitter -> {
+            for (int i = 0; i < 200_000; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+            return () -> {};
+        });
+        Disposable d = source.flatMap(i -> Observable.<Integer>create(inner -> {
+            inner.onNext(i);
+            inner.onComplete();
+            return () -> {};
+        })).subscribe(new Observer<Integer>() {
+            @Override public void onNext(Integer item) {
+                count.incrementAndGet();
+            }
+            @Override public void onError(Throwable t) {
+                done.countDown();
+            }
+            @Override public void onComplete() {
+                done.countDown();
+            }
+        });
+        Assertions.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(200_000, count.get());
+        d.dispose();
+        Assertions.assertTrue(d.isDisposed());
+    }
 }
@@ -0,0 +1,606 @@
+package com.rxjava.alt.tests;
+
+import static com.rxjava.alt.tests.TestUtil.await;
+
+import com.rxjava.alt.core.BackoffPolicy;
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.GroupedObservable;
+import com.rxjava.alt.core.MissingBackpressureException;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observables;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.core.WindowStats;
+import com.rxjava.alt.operators.Memoizer;
+import com.rxjava.alt.schedulers.SingleThreadScheduler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class OperatorsTest {
+
+    // Источник, выпускающий элементы синхронно
+    static Observable<Integer> just(Integer... items) {
+        return Observable.create(emitter -> {
+            for (Integer item : items) {
+                emitter.onNext(item);
+            }
+            emitter.onComplete();
+            return () -> {};
+        });
+    }
+
+    // Внутренний поток, выпускающий value через delayMillis в отдельном потоке
+    static Observable<Integer> delayed(int value, long delayMillis) {
+        return Observable.create(emitter -> {
+            Thread t = new Thread(() -> {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                emitter.onNext(value);
+                emitter.onNext(value + 1);
+                emitter.onComplete();
+            });
+            t.start();
+            return t::interrupt;
+        });
+    }
+
+    @Test
+    void testConcatMapKeepsOrder() throws InterruptedException {
+        // Первый внутренний поток самый медленный, но его элементы всё равно идут первыми
+        List<Integer> result = await(just(1, 2, 3).concatMap(i -> delayed(i * 10, 40 - i * 10L)));
+        Assertions.assertEquals(Arrays.asList(10, 11, 20, 21, 30, 31), result);
+    }
+
+    @Test
+    void testConcatMapSynchronousInners() throws InterruptedException {
+        // Много синхронных внутренних потоков не должны приводить к рекурсии и переполнению стека
+        Integer[] items = new Integer[20_000];
+        Arrays.fill(items, 1);
+        List<Integer> result = await(just(items).concatMap(i -> just(i, i)));
+        Assertions.assertEquals(40_000, result.size());
+    }
+
+    @Test
+    void testSwitchMapKeepsOnlyLatest() throws InterruptedException {
+        // Каждый новый элемент отменяет предыдущий внутренний поток, до подписчика доходит только последний
+        List<Integer> result = await(just(1, 2, 3).switchMap(i -> delayed(i * 10, 30)));
+        Assertions.assertEquals(Arrays.asList(30, 31), result);
+    }
+
+    @Test
+    void testBufferByCount() throws InterruptedException {
+        List<List<Integer>> result = await(just(1, 2, 3, 4, 5).buffer(2));
+        Assertions.assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5)), result);
+    }
+
+    @Test
+    void testBufferByTimeOrCount() throws InterruptedException {
+        // Синхронный источник быстрее таймера: пачки закрываются по размеру, остаток — при завершении
+        Integer[] items = new Integer[10];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = i;
+        }
+        List<List<Integer>> result = await(just(items).buffer(1, TimeUnit.SECONDS, new SingleThreadScheduler(), 4));
+        Assertions.assertEquals(Arrays.asList(
+                Arrays.asList(0, 1, 2, 3), Arrays.asList(4, 5, 6, 7), Arrays.asList(8, 9)), result);
+    }
+
+    @Test
+    void testBufferByTimeFlushesOnTimer() throws InterruptedException {
+        // Источник выпускает элементы медленно — пачки закрывает таймер, элементы не теряются и не меняют порядок
+        Observable<Integer> slow = Observable.create(emitter -> {
+            Thread t = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 6; i++) {
+                        emitter.onNext(i);
+                        Thread.sleep(15);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                emitter.onComplete();
+            });
+            t.start();
+            return t::interrupt;
+        });
+        List<List<Integer>> result = await(slow.buffer(30, TimeUnit.MILLISECONDS, new SingleThreadScheduler()));
+        Assertions.assertTrue(result.size() > 1, "Таймер должен был закрыть хотя бы одну пачку");
+        List<Integer> flat = new ArrayList<>();
+        result.forEach(flat::addAll);
+        Assertions.assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), flat);
+    }
+
+    @Test
+    void testWindowByCount() throws InterruptedException {
+        // Каждое окно сводим в список, чтобы проверить границы окон
+        List<List<Integer>> result = await(just(1, 2, 3, 4, 5).window(2).concatMap(w -> w.buffer(10)));
+        Assertions.assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5)), result);
+    }
+
+    @Test
+    void testWindowByTimeEmitsOnWorker() throws InterruptedException {
+        Thread source = Thread.currentThread();
+        AtomicInteger onSourceThread = new AtomicInteger();
+        Integer[] items = new Integer[100];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = i;
+        }
+        // Источник синхронный: элементы уходят в окна не из его потока, а из Worker'а
+        List<Integer> result = await(just(items)
+                .window(20, TimeUnit.MILLISECONDS, new SingleThreadScheduler())
+                .concatMap(w -> w.map(v -> {
+                    if (Thread.currentThread() == source) {
+                        onSourceThread.incrementAndGet();
+                    }
+                    return v;
+                })));
+        Assertions.assertEquals(Arrays.asList(items), result);
+        Assertions.assertEquals(0, onSourceThread.get(), "Окна не должны вызываться из потока источника");
+    }
+
+    @Test
+    void testCacheRunsSourceOnce() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        Observable<Integer> cached = Observable.<Integer>create(emitter -> {
+            runs.incrementAndGet();
+            for (int i = 1; i <= 5; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+            return () -> {};
+        });
+        Observable<Integer> all = cached.cache();
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 4, 5), await(all));
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 4, 5), await(all));
+        Assertions.assertEquals(1, runs.get(), "Источник должен запускаться один раз");
+
+        // Первый подписчик получает всё вживую, ограниченный кэш помнит для поздних только последние элементы
+        Observable<Integer> tail = cached.cache(2);
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 4, 5), await(tail));
+        Assertions.assertEquals(Arrays.asList(4, 5), await(tail));
+        Assertions.assertEquals(2, runs.get());
+    }
+
+    @Test
+    void testMemoizeHitsAndInFlightDedup() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        Memoizer<Integer, Integer> lookup = Observables.memoize(key -> {
+            calls.incrementAndGet();
+            return delayed(key * 10, 50);
+        }, 10, Duration.ofMinutes(1));
+
+        // Два подписчика на один ключ, пока запрос ещё идёт, — один вызов backend'а
+        CountDownLatch done = new CountDownLatch(2);
+        List<Integer> first = new CopyOnWriteArrayList<>();
+        List<Integer> second = new CopyOnWriteArrayList<>();
+        lookup.apply(1).subscribe(collect(first, done));
+        lookup.apply(1).subscribe(collect(second, done));
+        Assertions.assertTrue(done.await(1, TimeUnit.SECONDS));
+        Assertions.assertEquals(Arrays.asList(10, 11), first);
+        Assertions.assertEquals(Arrays.asList(10, 11), second);
+
+        // Завершённый результат берётся из кэша
+        Assertions.assertEquals(Arrays.asList(10, 11), await(lookup.apply(1)));
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals(1, lookup.misses());
+        Assertions.assertEquals(2, lookup.hits());
+    }
+
+    @Test
+    void testMemoizeFlatMapDeduplicatesKeys() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        Memoizer<Integer, Integer> lookup = Observables.memoize(key -> {
+            calls.incrementAndGet();
+            return just(key);
+        }, 10, Duration.ofMinutes(1));
+        List<Integer> result = await(just(1, 2, 1, 2, 1).flatMap(lookup));
+        Assertions.assertEquals(5, result.size());
+        Assertions.assertEquals(2, calls.get(), "Повторные ключи не должны доходить до backend'а");
+    }
+
+    @Test
+    void testMemoizeEviction() throws InterruptedException {
+        Memoizer<Integer, Integer> lru = Observables.memoize(OperatorsTest::just, 2, Duration.ofMinutes(1), Memoizer.Eviction.LRU);
+        await(lru.apply(1));
+        await(lru.apply(2));
+        await(lru.apply(1));
+        // Ключ 2 использовался давнее всех — вытесняется он
+        await(lru.apply(3));
+        await(lru.apply(1));
+        Assertions.assertEquals(3, lru.misses());
+        Assertions.assertEquals(2, lru.hits());
+
+        Memoizer<Integer, Integer> lfu = Observables.memoize(OperatorsTest::just, 2, Duration.ofMinutes(1), Memoizer.Eviction.LFU);
+        await(lfu.apply(1));
+        await(lfu.apply(1));
+        await(lfu.apply(2));
+        // Ключ 2 использовался реже — вытесняется он, хотя ключ 1 старше
+        await(lfu.apply(3));
+        await(lfu.apply(1));
+        Assertions.assertEquals(3, lfu.misses());
+        Assertions.assertEquals(2, lfu.hits());
+        Assertions.assertEquals(2, lfu.size());
+    }
+
+    @Test
+    void testMemoizeTtlAndErrors() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        Memoizer<Integer, Integer> lookup = Observables.memoize(key -> {
+            if (calls.incrementAndGet() == 1) {
+                return Observable.create(emitter -> {
+                    emitter.onError(new IllegalStateException("backend down"));
+                    return () -> {};
+                });
+            }
+            return just(key);
+        }, 10, Duration.ofMillis(50));
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        lookup.apply(1).subscribe(new Observer<Integer>() {
+            @Override public void onNext(Integer item) {}
+            @Override public void onError(Throwable t) {
+                error.set(t);
+            }
+            @Override public void onComplete() {}
+        });
+        Assertions.assertInstanceOf(IllegalStateException.class, error.get());
+        // Ошибка не закэширована — следующий запрос идёт в backend
+        Assertions.assertEquals(Arrays.asList(1), await(lookup.apply(1)));
+        Assertions.assertEquals(Arrays.asList(1), await(lookup.apply(1)));
+        Assertions.assertEquals(2, calls.get());
+
+        Thread.sleep(100);
+        Assertions.assertEquals(Arrays.asList(1), await(lookup.apply(1)));
+        Assertions.assertEquals(3, calls.get(), "Устаревшая запись должна загрузиться заново");
+    }
+
+    static <T> Observer<T> collect(List<T> into, CountDownLatch done) {
+        return new Observer<T>() {
+            @Override public void onNext(T item) {
+                into.add(item);
+            }
+            @Override public void onError(Throwable t) {
+                done.countDown();
+            }
+            @Override public void onComplete() {
+                done.countDown();
+            }
+        };
+    }
+
+    // Пачки элементов: внутри пачки элементы идут подряд, между пачками — пауза gapMillis
+    static Observable<Integer> bursts(long gapMillis, int[]... groups) {
+        return Observable.create(emitter -> {
+            Thread t = new Thread(() -> {
+                try {
+                    for (int g = 0; g < groups.length; g++) {
+                        if (g > 0) {
+                            Thread.sleep(gapMillis);
+                        }
+                        for (int v : groups[g]) {
+                            emitter.onNext(v);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                emitter.onComplete();
+            });
+            t.start();
+            return t::interrupt;
+        });
+    }
+
+    @Test
+    void testThrottleFirstAndDebounce() throws InterruptedException {
+        Observable<Integer> source = bursts(150, new int[] {1, 2, 3}, new int[] {4, 5});
+        // Из каждой пачки throttleFirst пропускает первый элемент, debounce — последний
+        Assertions.assertEquals(Arrays.asList(1, 4), await(source.throttleFirst(100, TimeUnit.MILLISECONDS)));
+        Assertions.assertEquals(Arrays.asList(3, 5),
+                await(source.debounce(50, TimeUnit.MILLISECONDS, new SingleThreadScheduler())));
+    }
+
+    @Test
+    void testSample() throws InterruptedException {
+        // Первая пачка выдаётся по таймеру последним элементом, остаток второй — при завершении
+        List<Integer> result = await(bursts(150, new int[] {1, 2, 3}, new int[] {4})
+                .sample(50, TimeUnit.MILLISECONDS, new SingleThreadScheduler()));
+        Assertions.assertEquals(Arrays.asList(3, 4), result);
+    }
+
+    @Test
+    void testTimeout() throws InterruptedException {
+        SingleThreadScheduler scheduler = new SingleThreadScheduler();
+        Observable<Integer> never = Observable.create(emitter -> () -> {});
+
+        // Источник молчит — переключаемся на fallback
+        Assertions.assertEquals(Arrays.asList(9),
+                await(never.timeout(50, TimeUnit.MILLISECONDS, scheduler, just(9))));
+
+        // Без fallback — TimeoutException
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        never.timeout(50, TimeUnit.MILLISECONDS, scheduler).subscribe(new Observer<Integer>() {
+            @Override public void onNext(Integer item) {}
+            @Override public void onError(Throwable t) {
+                error.set(t);
+                latch.countDown();
+            }
+            @Override public void onComplete() {
+                latch.countDown();
+            }
+        });
+        Assertions.assertTrue(latch.await(1, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(TimeoutException.class, error.get());
+
+        // Паузы между элементами короче таймаута — поток доходит до конца без переключения
+        List<Integer> result = await(bursts(20, new int[] {1}, new int[] {2}, new int[] {3}, new int[] {4})
+                .timeout(200, TimeUnit.MILLISECONDS, scheduler, just(-1)));
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 4), result);
+    }
+
+    @Test
+    void testGroupBy() throws InterruptedException {
+        Map<Integer, List<String>> groups = new TreeMap<>();
+        List<GroupedObservable<Integer, String>> emitted = await(just(1, 2, 3, 4, 5, 6, 7)
+                .groupBy(i -> i % 3, i -> "v" + i));
+        for (GroupedObservable<Integer, String> g : emitted) {
+            // Элементы ждут в очереди группы, пока на неё не подписались
+            groups.put(g.getKey(), await(g));
+        }
+        Assertions.assertEquals(Arrays.asList(1, 2, 0), emitted.stream().map(GroupedObservable::getKey).toList());
+        Assertions.assertEquals(Arrays.asList("v3", "v6"), groups.get(0));
+        Assertions.assertEquals(Arrays.asList("v1", "v4", "v7"), groups.get(1));
+        Assertions.assertEquals(Arrays.asList("v2", "v5"), groups.get(2));
+    }
+
+    @Test
+    void testGroupByBoundedQueueAndIdleEviction() throws InterruptedException {
+        SingleThreadScheduler scheduler = new SingleThreadScheduler();
+
+        // Никто не подписан на группу: после 4 элементов её очередь переполняется
+        List<GroupedObservable<String, Integer>> groups = await(just(1, 2, 3, 4, 5, 6, 7, 8, 9, 10)
+                .groupBy(i -> "k", i -> i, 4, 1, TimeUnit.MINUTES, scheduler));
+        Assertions.assertEquals(2, groups.size(), "Переполненная группа должна смениться новой");
+        List<Integer> values = new ArrayList<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        groups.get(0).subscribe(new Observer<Integer>() {
+            @Override public void onNext(Integer item) {
+                values.add(item);
+            }
+            @Override public void onError(Throwable t) {
+                error.set(t);
+            }
+            @Override public void onComplete() {}
+        });
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 4), values);
+        Assertions.assertInstanceOf(MissingBackpressureException.class, error.get());
+
+        // Ключ молчит дольше idleTtl — его группа завершается, и следующий элемент открывает новую
+        List<List<Integer>> perGroup = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        bursts(200, new int[] {1, 2}, new int[] {3})
+                .groupBy(i -> "k", i -> i, 16, 50, TimeUnit.MILLISECONDS, scheduler)
+                .subscribe(new Observer<GroupedObservable<String, Integer>>() {
+                    @Override public void onNext(GroupedObservable<String, Integer> g) {
+                        List<Integer> items = new CopyOnWriteArrayList<>();
+                        perGroup.add(items);
+                        g.subscribe(collect(items, new CountDownLatch(1)));
+                    }
+                    @Override public void onError(Throwable t) {
+                        latch.countDown();
+                    }
+                    @Override public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3)), perGroup);
+    }
+
+    @Test
+    void testGroupByCallsObserversOutsideLock() throws InterruptedException {
+        AtomicReference<Disposable> odd = new AtomicReference<>();
+        AtomicReference<Boolean> cancelled = new AtomicReference<>();
+        List<Integer> even = new ArrayList<>();
+        just(1, 2, 4).groupBy(i -> i % 2).subscribe(new Observer<GroupedObservable<Integer, Integer>>() {
+            @Override public void onNext(GroupedObservable<Integer, Integer> g) {
+                if (g.getKey() == 1) {
+                    odd.set(g.subscribe(collect(new ArrayList<>(), new CountDownLatch(1))));
+                    return;
+                }
+                g.subscribe(new Observer<Integer>() {
+                    // Подписчик группы отменяет соседнюю группу из другого потока и ждёт его:
+                    // если бы элемент выдавался под блокировкой groupBy, отмена бы не прошла
+                    @Override public void onNext(Integer item) {
+                        even.add(item);
+                        if (cancelled.get() != null) {
+                            return;
+                        }
+                        Thread t = new Thread(() -> odd.get().dispose());
+                        t.start();
+                        try {
+                            t.join(2000);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        cancelled.set(!t.isAlive());
+                    }
+                    @Override public void onError(Throwable t) {}
+                    @Override public void onComplete() {}
+                });
+            }
+            @Override public void onError(Throwable t) {}
+            @Override public void onComplete() {}
+        });
+        Assertions.assertEquals(Boolean.TRUE, cancelled.get(), "Отмена группы не должна ждать выдачи элемента");
+        Assertions.assertEquals(Arrays.asList(2, 4), even);
+    }
+
+    @Test
+    void testReduceScanCountCollect() throws InterruptedException {
+        Observable<Integer> source = just(1, 2, 3, 4, 5);
+        Assertions.assertEquals(Arrays.asList(15), await(source.reduce(Integer::sum)));
+        Assertions.assertEquals(Arrays.asList(25), await(source.reduce(10, (acc, i) -> acc + i)));
+        Assertions.assertEquals(Arrays.asList(1, 3, 6, 10, 15), await(source.scan(Integer::sum)));
+        Assertions.assertEquals(Arrays.asList(0, 1, 3, 6, 10, 15), await(source.scan(0, (acc, i) -> acc + i)));
+        Assertions.assertEquals(Arrays.asList(5L), await(source.count()));
+        // Контейнер collect создаётся заново на каждую подписку
+        Observable<List<Integer>> collected = source.collect(ArrayList::new, List::add);
+        Assertions.assertEquals(Arrays.asList(Arrays.asList(1, 2, 3, 4, 5)), await(collected));
+        Assertions.assertEquals(Arrays.asList(Arrays.asList(1, 2, 3, 4, 5)), await(collected));
+
+        // Пустой источник: reduce без seed ничего не выдаёт, остальные выдают начальное значение
+        Assertions.assertEquals(List.of(), await(just().reduce(Integer::sum)));
+        Assertions.assertEquals(Arrays.asList(0L), await(just().count()));
+        Assertions.assertEquals(Arrays.asList(7), await(just().reduce(7, (acc, i) -> acc + i)));
+    }
+
+    @Test
+    void testWindowedStats() throws InterruptedException {
+        SingleThreadScheduler scheduler = new SingleThreadScheduler();
+        int[] first = new int[100];
+        for (int i = 0; i < first.length; i++) {
+            first[i] = i + 1;
+        }
+
+        // Окна по 100 мс: 1..100 в первом, затем пустое, затем незаконченное с 1000 при завершении
+        List<WindowStats> tumbling = await(bursts(250, first, new int[] {1000})
+                .windowedStats(i -> i, Duration.ofMillis(100), scheduler));
+        WindowStats w = tumbling.get(0);
+        Assertions.assertEquals(100, w.count());
+        Assertions.assertEquals(1, w.min());
+        Assertions.assertEquals(100, w.max());
+        Assertions.assertEquals(50.5, w.mean(), 1e-9);
+        // Перцентили точны до 1/16 и не занижаются
+        Assertions.assertTrue(w.p50() >= 50 && w.p50() <= 53, "p50 = " + w.p50());
+        Assertions.assertTrue(w.p99() >= 99 && w.p99() <= 100, "p99 = " + w.p99());
+        Assertions.assertTrue(tumbling.stream().anyMatch(s -> s.count() == 0), "Пустое окно тоже выдаётся");
+        WindowStats last = tumbling.get(tumbling.size() - 1);
+        Assertions.assertEquals(1, last.count());
+        Assertions.assertEquals(1000, last.p99());
+
+        // Скользящее окно 200 мс с шагом 100 мс: первая пачка видна в двух окнах подряд
+        List<WindowStats> sliding = await(bursts(250, first, new int[] {1000})
+                .windowedStats(i -> i, Duration.ofMillis(200), Duration.ofMillis(100), scheduler));
+        Assertions.assertEquals(100, sliding.get(0).count());
+        Assertions.assertEquals(100, sliding.get(1).count());
+        Assertions.assertEquals(1000, sliding.get(sliding.size() - 1).max());
+    }
+
+    // Источник, который падает синхронно в первых failures подписках, а потом выдаёт 1, 2
+    static Observable<Integer> failing(AtomicInteger subscriptions, int failures) {
+        return Observable.create(emitter -> {
+            if (subscriptions.incrementAndGet() <= failures) {
+                emitter.onError(new IllegalStateException("attempt " + subscriptions.get()));
+            } else {
+                emitter.onNext(1);
+                emitter.onNext(2);
+                emitter.onComplete();
+            }
+            return () -> {};
+        });
+    }
+
+    @Test
+    void testRetryAndRepeat() throws InterruptedException {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Assertions.assertEquals(Arrays.asList(1, 2), await(failing(subscriptions, 3).retry(3)));
+        Assertions.assertEquals(4, subscriptions.get());
+
+        // Попытки кончились — подписчик получает последнюю ошибку
+        subscriptions.set(0);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        failing(subscriptions, 10).retry(2).subscribe(new Observer<Integer>() {
+            @Override public void onNext(Integer item) {}
+            @Override public void onError(Throwable t) {
+                error.set(t);
+                latch.countDown();
+            }
+            @Override public void onComplete() {
+                latch.countDown();
+            }
+        });
+        Assertions.assertTrue(latch.await(1, TimeUnit.SECONDS));
+        Assertions.assertEquals("attempt 3", error.get().getMessage());
+
+        // Сотни тысяч синхронных повторов идут циклом, а не рекурсией, — стек не переполняется
+        subscriptions.set(0);
+        Assertions.assertEquals(Arrays.asList(1, 2), await(failing(subscriptions, 200_000).retry(200_000)));
+
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, 1, 2, 3, 1, 2, 3), await(just(1, 2, 3).repeat(3)));
+        Assertions.assertEquals(Arrays.asList(200_000L), await(just(7).repeat(200_000).count()),
+                "repeat тоже не растит стек");
+    }
+
+    @Test
+    void testRetryWhenBackoff() throws InterruptedException {
+        SingleThreadScheduler scheduler = new SingleThreadScheduler();
+        AtomicInteger subscriptions = new AtomicInteger();
+        List<Long> delays = new CopyOnWriteArrayList<>();
+        BackoffPolicy exponential = BackoffPolicy.exponential(Duration.ofMillis(20), Duration.ofMillis(50), 2.0, 0.0, 5);
+        BackoffPolicy recorded = (attempt, error) -> {
+            long d = exponential.delayNanos(attempt, error);
+            delays.add(d);
+            return d;
+        };
+        long start = System.nanoTime();
+        Assertions.assertEquals(Arrays.asList(1, 2), await(failing(subscriptions, 3).retryWhen(recorded, scheduler)));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        // 20, 40 и 50 (потолок) мс ожидания между попытками
+        Assertions.assertEquals(Arrays.asList(20_000_000L, 40_000_000L, 50_000_000L), delays);
+        Assertions.assertTrue(elapsedMillis >= 100, "Повторы не ждали задержку: " + elapsedMillis + " мс");
+
+        // Джиттер только уменьшает задержку, и не больше чем на свою долю
+        BackoffPolicy jittered = BackoffPolicy.exponential(Duration.ofMillis(100), Duration.ofSeconds(1), 2.0, 0.5, 3);
+        for (int i = 0; i < 100; i++) {
+            long d = jittered.delayNanos(2, null);
+            Assertions.assertTrue(d >= 100_000_000L && d <= 200_000_000L, "Задержка вне диапазона: " + d);
+        }
+        Assertions.assertEquals(-1L, jittered.delayNanos(4, null), "После maxAttempts — отказ");
+
+        // Политика отказалась — ошибка уходит подписчику
+        subscriptions.set(0);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch failed = new CountDownLatch(1);
+        failing(subscriptions, 10).retryWhen((attempt, e) -> attempt <= 2 ? 1_000_000L : -1L, scheduler)
+                .subscribe(new Observer<Integer>() {
+                    @Override public void onNext(Integer item) {}
+                    @Override public void onError(Throwable t) {
+                        error.set(t);
+                        failed.countDown();
+                    }
+                    @Override public void onComplete() {}
+                });
+        Assertions.assertTrue(failed.await(1, TimeUnit.SECONDS));
+        Assertions.assertEquals(3, subscriptions.get());
+
+        // Отмена во время ожидания — новой подписки уже не будет
+        subscriptions.set(0);
+        Disposable d = failing(subscriptions, 10).retryWhen((attempt, e) -> 100_000_000L, scheduler)
+                .subscribe(new Observer<Integer>() {
+                    @Override public void onNext(Integer item) {}
+                    @Override public void onError(Throwable t) {}
+                    @Override public void onComplete() {}
+                });
+        d.dispose();
+        Thread.sleep(250);
+        Assertions.assertEquals(1, subscriptions.get(), "После dispose источник не переподписывается");
+    }
+}
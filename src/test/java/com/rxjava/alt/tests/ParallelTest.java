@@ -0,0 +1,102 @@
+package com.rxjava.alt.tests;
+
+import static com.rxjava.alt.tests.TestUtil.await;
+import static com.rxjava.alt.tests.TestUtil.range;
+
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.schedulers.ComputationScheduler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelTest {
+    static final ComputationScheduler SCHEDULER = new ComputationScheduler(4, true);
+
+    @Test
+    void testSequentialRunsRailsOnDifferentThreads() throws InterruptedException {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Integer> result = await(range(10_000).parallel(4).runOn(SCHEDULER)
+                .map(i -> {
+                    threads.add(Thread.currentThread().getName());
+                    return i * 2;
+                })
+                .filter(i -> i % 3 == 0)
+                .sequential());
+
+        // Порядок между рельсами не сохраняется, но ни один элемент не теряется и не дублируется
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            if (i * 2 % 3 == 0) {
+                expected.add(i * 2);
+            }
+        }
+        List<Integer> sorted = new ArrayList<>(result);
+        Collections.sort(sorted);
+        Assertions.assertEquals(expected, sorted);
+        Assertions.assertEquals(4, threads.size(), "Каждая рельса должна работать на своём потоке");
+    }
+
+    @Test
+    void testSortedJoin() throws InterruptedException {
+        List<Integer> result = await(range(1000).parallel(3).runOn(SCHEDULER)
+                .map(i -> (i * 7919) % 1000)
+                .sorted(Integer::compare));
+        Assertions.assertEquals(1000, result.size());
+        for (int i = 1; i < result.size(); i++) {
+            Assertions.assertTrue(result.get(i - 1) <= result.get(i), "Результат должен быть отсортирован");
+        }
+    }
+
+    @Test
+    void testReduce() throws InterruptedException {
+        // Свёртка внутри рельс, затем свёртка результатов рельс
+        List<Integer> sum = await(range(101).parallel(4).runOn(SCHEDULER).reduce(Integer::sum));
+        Assertions.assertEquals(List.of(5050), sum);
+
+        // Свёртка с seed даёт по одному результату на рельсу
+        List<Integer> counts = await(range(100).parallel(4).runOn(SCHEDULER)
+                .reduce(() -> 0, (acc, i) -> acc + 1)
+                .sequential());
+        Assertions.assertEquals(List.of(25, 25, 25, 25), counts);
+
+        Assertions.assertTrue(await(range(0).parallel(2).reduce(Integer::sum)).isEmpty());
+    }
+
+    @Test
+    void testErrorInRailCancelsOthers() throws InterruptedException {
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger processed = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        range(100_000).parallel(4).runOn(SCHEDULER)
+                .map(i -> {
+                    processed.incrementAndGet();
+                    if (i == 10) {
+                        throw new IllegalStateException("boom");
+                    }
+                    return i;
+                })
+                .sequential()
+                .subscribe(new Observer<Integer>() {
+                    @Override public void onNext(Integer item) {}
+                    @Override public void onError(Throwable t) {
+                        errors.incrementAndGet();
+                        latch.countDown();
+                    }
+                    @Override public void onComplete() {
+                        latch.countDown();
+                    }
+                });
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        Assertions.assertEquals(1, errors.get(), "Ошибка должна прийти ровно один раз");
+        Assertions.assertTrue(processed.get() < 100_000, "Остальные рельсы должны быть отменены");
+    }
+}
@@ -0,0 +1,300 @@
+package com.rxjava.alt.tests;
+
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.schedulers.ComputationScheduler;
+import com.rxjava.alt.schedulers.HashedWheelTimer;
+import com.rxjava.alt.schedulers.IOThreadScheduler;
+import com.rxjava.alt.schedulers.Scheduler;
+import com.rxjava.alt.schedulers.Schedulers;
+import com.rxjava.alt.schedulers.SingleThreadScheduler;
+import com.rxjava.alt.schedulers.VirtualThreadScheduler;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SchedulerTest {
+
+    private static List<Scheduler> schedulers() {
+        return Arrays.asList(new ComputationScheduler(), new IOThreadScheduler(), new SingleThreadScheduler(),
+                new VirtualThreadScheduler());
+    }
+
+    @Test
+    void testWorkerKeepsOrder() throws InterruptedException {
+        for (Scheduler scheduler : schedulers()) {
+            Scheduler.Worker worker = scheduler.createWorker();
+            List<Integer> result = new ArrayList<>();
+            AtomicInteger running = new AtomicInteger();
+            AtomicBoolean overlapped = new AtomicBoolean();
+            CountDownLatch latch = new CountDownLatch(1);
+
+            for (int i = 0; i < 1000; i++) {
+                int value = i;
+                worker.schedule(() -> {
+                    // Задачи одного Worker'а не должны выполняться параллельно
+                    if (running.incrementAndGet() != 1) {
+                        overlapped.set(true);
+                    }
+                    result.add(value);
+                    running.decrementAndGet();
+                });
+            }
+            worker.schedule(latch::countDown);
+
+            Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS), "Задачи не выполнились вовремя");
+            Assertions.assertFalse(overlapped.get(), "Задачи Worker'а выполнялись параллельно");
+            for (int i = 0; i < 1000; i++) {
+                Assertions.assertEquals(i, result.get(i), "Нарушен порядок задач");
+            }
+            worker.dispose();
+        }
+    }
+
+    @Test
+    void testDelayedAndPeriodic() throws InterruptedException {
+        for (Scheduler scheduler : schedulers()) {
+            Scheduler.Worker worker = scheduler.createWorker();
+            CountDownLatch delayed = new CountDownLatch(1);
+            long start = System.nanoTime();
+            worker.schedule(delayed::countDown, 50, TimeUnit.MILLISECONDS);
+            Assertions.assertTrue(delayed.await(1, TimeUnit.SECONDS), "Отложенная задача не выполнилась");
+            Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50),
+                    "Отложенная задача выполнилась раньше срока");
+
+            CountDownLatch ticks = new CountDownLatch(3);
+            worker.schedulePeriodically(ticks::countDown, 0, 10, TimeUnit.MILLISECONDS);
+            Assertions.assertTrue(ticks.await(1, TimeUnit.SECONDS), "Периодическая задача не повторялась");
+            worker.dispose();
+        }
+    }
+
+    @Test
+    void testDisposeCancelsPendingTasks() throws InterruptedException {
+        for (Scheduler scheduler : schedulers()) {
+            Scheduler.Worker worker = scheduler.createWorker();
+            AtomicInteger executed = new AtomicInteger();
+
+            worker.schedule(executed::incrementAndGet, 100, TimeUnit.MILLISECONDS);
+            worker.schedulePeriodically(executed::incrementAndGet, 100, 10, TimeUnit.MILLISECONDS);
+            worker.dispose();
+            worker.schedule(executed::incrementAndGet);
+
+            Thread.sleep(200);
+            Assertions.assertTrue(worker.isDisposed());
+            Assertions.assertEquals(0, executed.get(), "Задачи выполнились после dispose()");
+        }
+    }
+
+    @Test
+    void testVirtualThreadSchedulerLimitsConcurrency() throws InterruptedException {
+        Scheduler scheduler = new VirtualThreadScheduler(4);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(100);
+
+        for (int i = 0; i < 100; i++) {
+            scheduler.execute(() -> {
+                int now = running.incrementAndGet();
+                maxRunning.accumulateAndGet(now, Math::max);
+                try {
+                    // Имитация блокирующего вызова
+                    Thread.sleep(5);
+                } catch (InterruptedException ignored) {
+                }
+                running.decrementAndGet();
+                latch.countDown();
+            });
+        }
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS), "Задачи не выполнились вовремя");
+        Assertions.assertTrue(maxRunning.get() <= 4, "Превышен лимит одновременных задач: " + maxRunning.get());
+    }
+
+    @Test
+    void testComputationWorkerIsPinnedToOneThread() throws InterruptedException {
+        Scheduler.Worker worker = new ComputationScheduler().createWorker();
+        AtomicReference<Thread> first = new AtomicReference<>();
+        AtomicBoolean switched = new AtomicBoolean();
+        CountDownLatch latch = new CountDownLatch(100);
+
+        for (int i = 0; i < 100; i++) {
+            worker.schedule(() -> {
+                first.compareAndSet(null, Thread.currentThread());
+                if (first.get() != Thread.currentThread()) {
+                    switched.set(true);
+                }
+                latch.countDown();
+            });
+        }
+
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS), "Задачи не выполнились вовремя");
+        Assertions.assertFalse(switched.get(), "Задачи Worker'а выполнялись в разных потоках");
+        worker.dispose();
+    }
+
+    @Test
+    void testComputationIdleLoopStealsTasks() throws InterruptedException {
+        ComputationScheduler scheduler = new ComputationScheduler(2, true);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch stolen = new CountDownLatch(1);
+
+        // Первая задача занимает цикл 0, вторая уходит в цикл 1, третья снова в очередь цикла 0
+        scheduler.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException ignored) {
+            }
+        });
+        scheduler.execute(() -> {});
+        scheduler.execute(stolen::countDown);
+
+        // Цикл 0 заблокирован, значит третью задачу должен забрать свободный цикл 1
+        boolean ran = stolen.await(2, TimeUnit.SECONDS);
+        release.countDown();
+        Assertions.assertTrue(ran, "Свободный цикл не забрал задачу у занятого");
+    }
+
+    @Test
+    void testHashedWheelTimer() throws InterruptedException {
+        HashedWheelTimer wheel = new HashedWheelTimer("test-wheel");
+        AtomicInteger fired = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(500);
+        List<Disposable> timeouts = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            // Часть сроков длиннее одного оборота колеса (512 тиков по 1 мс)
+            timeouts.add(wheel.schedule(() -> {
+                fired.incrementAndGet();
+                done.countDown();
+            }, 10 + (i % 2) * 600L, TimeUnit.MILLISECONDS));
+        }
+        // Отменяем каждый второй таймаут: сработать должны только оставшиеся
+        for (int i = 0; i < timeouts.size(); i += 2) {
+            timeouts.get(i).dispose();
+        }
+        long start = System.nanoTime();
+        Assertions.assertTrue(done.await(2, TimeUnit.SECONDS));
+        Assertions.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(550),
+                "Таймауты дальше одного оборота не должны срабатывать раньше срока");
+        Thread.sleep(50);
+        Assertions.assertEquals(500, fired.get());
+        wheel.stop();
+        Assertions.assertTrue(wheel.schedule(fired::incrementAndGet, 1, TimeUnit.MILLISECONDS).isDisposed());
+    }
+
+    @Test
+    void testShutdownRunsAcceptedTasksAndRejectsNew() throws InterruptedException {
+        for (Scheduler scheduler : schedulers()) {
+            Scheduler.Worker worker = scheduler.createWorker();
+            AtomicInteger done = new AtomicInteger();
+            AtomicBoolean delayedRan = new AtomicBoolean();
+            for (int i = 0; i < 100; i++) {
+                worker.schedule(done::incrementAndGet);
+            }
+            worker.schedule(() -> delayedRan.set(true), 10, TimeUnit.SECONDS);
+
+            scheduler.shutdown();
+            Assertions.assertTrue(scheduler.isShutdown());
+            Assertions.assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS),
+                    scheduler.getClass().getSimpleName() + " не остановился");
+            Assertions.assertEquals(100, done.get(), "Принятые задачи выполняются до остановки");
+            Assertions.assertFalse(delayedRan.get(), "Отложенные задачи отбрасываются");
+
+            Assertions.assertTrue(scheduler.createWorker().schedule(done::incrementAndGet).isDisposed(),
+                    "После shutdown Worker не принимает задачи");
+            Assertions.assertThrows(RejectedExecutionException.class, () -> scheduler.execute(() -> {}));
+        }
+    }
+
+    @Test
+    void testSharedSchedulers() throws InterruptedException {
+        Assertions.assertSame(Schedulers.computation(), Schedulers.computation(), "Экземпляр общий");
+        Assertions.assertSame(Schedulers.io(), Schedulers.io());
+
+        // Потоки общих Scheduler'ов — демоны с понятными именами
+        for (Scheduler scheduler : Arrays.asList(Schedulers.computation(), Schedulers.io(), Schedulers.single())) {
+            AtomicReference<Thread> thread = new AtomicReference<>();
+            CountDownLatch latch = new CountDownLatch(1);
+            scheduler.execute(() -> {
+                thread.set(Thread.currentThread());
+                latch.countDown();
+            });
+            Assertions.assertTrue(latch.await(1, TimeUnit.SECONDS));
+            Assertions.assertTrue(thread.get().isDaemon(), thread.get().getName() + " не демон");
+            Assertions.assertTrue(thread.get().getName().startsWith("RxAlt-"), thread.get().getName());
+        }
+
+        // shutdown останавливает общие экземпляры, start заменяет их новыми
+        Scheduler io = Schedulers.io();
+        Schedulers.shutdown();
+        Assertions.assertTrue(Schedulers.awaitTermination(5, TimeUnit.SECONDS));
+        Assertions.assertSame(io, Schedulers.io(), "До start() остаётся остановленный экземпляр");
+        Assertions.assertTrue(io.isShutdown());
+        Schedulers.start();
+        Assertions.assertNotSame(io, Schedulers.io());
+        Assertions.assertFalse(Schedulers.io().isShutdown());
+        Assertions.assertFalse(Schedulers.computation().isShutdown());
+    }
+
+    @Test
+    void testSchedulerFromExecutor() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Scheduler scheduler = Schedulers.from(pool);
+            Scheduler.Worker worker = scheduler.createWorker();
+            List<Integer> result = new ArrayList<>();
+            CountDownLatch latch = new CountDownLatch(1);
+            // Даже на пуле из четырёх потоков задачи Worker'а идут по порядку
+            for (int i = 0; i < 1000; i++) {
+                int value = i;
+                worker.schedule(() -> result.add(value));
+            }
+            worker.schedule(latch::countDown, 20, TimeUnit.MILLISECONDS);
+            Assertions.assertTrue(latch.await(1, TimeUnit.SECONDS));
+            for (int i = 0; i < 1000; i++) {
+                Assertions.assertEquals(i, result.get(i));
+            }
+
+            // Остановка Scheduler'а не трогает чужой пул
+            scheduler.shutdown();
+            Assertions.assertTrue(scheduler.createWorker().schedule(() -> {}).isDisposed());
+            Assertions.assertFalse(pool.isShutdown());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void testDefaultWorkerForExecuteOnlyScheduler() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            // Scheduler, написанный до появления Worker'ов: только execute()
+            Scheduler legacy = pool::execute;
+            Scheduler.Worker worker = legacy.createWorker();
+            List<Integer> result = new ArrayList<>();
+            CountDownLatch latch = new CountDownLatch(1);
+            for (int i = 0; i < 1000; i++) {
+                int value = i;
+                worker.schedule(() -> result.add(value));
+            }
+            worker.schedule(latch::countDown, 20, TimeUnit.MILLISECONDS);
+            Assertions.assertTrue(latch.await(1, TimeUnit.SECONDS));
+            for (int i = 0; i < 1000; i++) {
+                Assertions.assertEquals(i, result.get(i));
+            }
+            worker.dispose();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
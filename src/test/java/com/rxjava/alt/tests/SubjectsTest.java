@@ -0,0 +1,292 @@
+package com.rxjava.alt.tests;
+
+import com.rxjava.alt.core.ConnectableObservable;
+import com.rxjava.alt.core.Disposable;
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import com.rxjava.alt.subjects.BehaviorSubject;
+import com.rxjava.alt.subjects.PublishSubject;
+import com.rxjava.alt.subjects.ReplaySubject;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SubjectsTest {
+
+    // Подписчик, который складывает элементы и сигнал завершения в список
+    static final class Recorder<T> implements Observer<T> {
+        final List<Object> events = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch done = new CountDownLatch(1);
+
+        @Override public void onNext(T item) {
+            events.add(item);
+        }
+        @Override public void onError(Throwable t) {
+            events.add(t);
+            done.countDown();
+        }
+        @Override public void onComplete() {
+            events.add("complete");
+            done.countDown();
+        }
+    }
+
+    @Test
+    void testPublishSubjectDeliversOnlyNewItems() {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        Recorder<Integer> first = new Recorder<>();
+        Recorder<Integer> second = new Recorder<>();
+
+        subject.subscribe(first);
+        subject.onNext(1);
+        Disposable d = subject.subscribe(second);
+        subject.onNext(2);
+        d.dispose();
+        subject.onNext(3);
+        subject.onComplete();
+
+        Recorder<Integer> late = new Recorder<>();
+        subject.subscribe(late);
+
+        Assertions.assertEquals(Arrays.asList(1, 2, 3, "complete"), first.events);
+        Assertions.assertEquals(Arrays.asList(2), second.events);
+        Assertions.assertEquals(Arrays.asList("complete"), late.events);
+        Assertions.assertFalse(subject.hasObservers());
+    }
+
+    @Test
+    void testBehaviorSubjectReplaysLatest() {
+        BehaviorSubject<Integer> subject = BehaviorSubject.createDefault(0);
+        Recorder<Integer> first = new Recorder<>();
+        subject.subscribe(first);
+        subject.onNext(1);
+        subject.onNext(2);
+        Recorder<Integer> second = new Recorder<>();
+        subject.subscribe(second);
+        subject.onNext(3);
+        subject.onComplete();
+
+        Assertions.assertEquals(Arrays.asList(0, 1, 2, 3, "complete"), first.events);
+        Assertions.assertEquals(Arrays.asList(2, 3, "complete"), second.events);
+        Assertions.assertNull(subject.getValue());
+        Assertions.assertTrue(subject.hasComplete());
+    }
+
+    @Test
+    void testBehaviorSubjectConcurrentSubscribe() throws InterruptedException {
+        // Подписки идут параллельно с выпуском: каждый подписчик должен видеть строго возрастающую
+        // последовательность без повторов и пропусков после своего первого элемента
+        BehaviorSubject<Integer> subject = BehaviorSubject.createDefault(0);
+        int subscribers = 50;
+        List<Recorder<Integer>> recorders = new ArrayList<>();
+        Thread producer = new Thread(() -> {
+            for (int i = 1; i <= 20_000; i++) {
+                subject.onNext(i);
+            }
+            subject.onComplete();
+        });
+        producer.start();
+        for (int i = 0; i < subscribers; i++) {
+            Recorder<Integer> r = new Recorder<>();
+            recorders.add(r);
+            subject.subscribe(r);
+        }
+        producer.join();
+
+        for (Recorder<Integer> r : recorders) {
+            Assertions.assertTrue(r.done.await(1, TimeUnit.SECONDS));
+            List<Object> events = r.events;
+            Assertions.assertEquals("complete", events.get(events.size() - 1));
+            for (int i = 1; i < events.size() - 1; i++) {
+                Assertions.assertEquals((Integer) events.get(i - 1) + 1, events.get(i), "Нарушен порядок или повтор");
+            }
+        }
+    }
+
+    @Test
+    void testReplaySubjectSizeBound() {
+        ReplaySubject<Integer> subject = ReplaySubject.createWithSize(2);
+        for (int i = 1; i <= 5; i++) {
+            subject.onNext(i);
+        }
+        Recorder<Integer> r = new Recorder<>();
+        subject.subscribe(r);
+        subject.onNext(6);
+        subject.onComplete();
+
+        Recorder<Integer> late = new Recorder<>();
+        subject.subscribe(late);
+
+        Assertions.assertEquals(Arrays.asList(4, 5, 6, "complete"), r.events);
+        Assertions.assertEquals(Arrays.asList(5, 6, "complete"), late.events);
+    }
+
+    @Test
+    void testReplaySubjectTimeBound() throws InterruptedException {
+        ReplaySubject<Integer> subject = ReplaySubject.createWithTime(50, TimeUnit.MILLISECONDS);
+        subject.onNext(1);
+        subject.onNext(2);
+        Thread.sleep(100);
+        subject.onNext(3);
+        Recorder<Integer> r = new Recorder<>();
+        subject.subscribe(r);
+        Assertions.assertEquals(Arrays.asList(3), r.events);
+
+        Thread.sleep(100);
+        Recorder<Integer> late = new Recorder<>();
+        subject.subscribe(late);
+        Assertions.assertTrue(late.events.isEmpty(), "Устаревшие элементы не должны проигрываться");
+    }
+
+    // Источник, считающий свои запуски
+    static Observable<Integer> counted(AtomicInteger runs, Integer... items) {
+        return Observable.create(emitter -> {
+            runs.incrementAndGet();
+            for (Integer item : items) {
+                emitter.onNext(item);
+            }
+            emitter.onComplete();
+            return () -> {};
+        });
+    }
+
+    @Test
+    void testPublishRunsSourceOnce() {
+        AtomicInteger runs = new AtomicInteger();
+        ConnectableObservable<Integer> published = counted(runs, 1, 2, 3).publish();
+        List<Recorder<Integer>> recorders = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Recorder<Integer> r = new Recorder<>();
+            recorders.add(r);
+            published.subscribe(r);
+        }
+        Assertions.assertEquals(0, runs.get(), "До connect() источник не запускается");
+        published.connect();
+        Assertions.assertEquals(1, runs.get());
+        for (Recorder<Integer> r : recorders) {
+            Assertions.assertEquals(Arrays.asList(1, 2, 3, "complete"), r.events);
+        }
+    }
+
+    @Test
+    void testReplayLateSubscriber() {
+        AtomicInteger runs = new AtomicInteger();
+        ConnectableObservable<Integer> replayed = counted(runs, 1, 2, 3, 4).replay(2);
+        replayed.connect();
+        Recorder<Integer> late = new Recorder<>();
+        replayed.subscribe(late);
+        Assertions.assertEquals(1, runs.get());
+        Assertions.assertEquals(Arrays.asList(3, 4, "complete"), late.events);
+    }
+
+    @Test
+    void testShareConnectsAndDisconnects() {
+        AtomicInteger runs = new AtomicInteger();
+        AtomicBoolean upstreamDisposed = new AtomicBoolean();
+        PublishSubject<Integer> events = PublishSubject.create();
+        Observable<Integer> shared = Observable.<Integer>create(emitter -> {
+            runs.incrementAndGet();
+            Disposable d = events.subscribe(emitter);
+            return () -> {
+                upstreamDisposed.set(true);
+                d.dispose();
+            };
+        }).share();
+
+        Recorder<Integer> a = new Recorder<>();
+        Recorder<Integer> b = new Recorder<>();
+        Disposable da = shared.subscribe(a);
+        Disposable db = shared.subscribe(b);
+        events.onNext(1);
+        da.dispose();
+        events.onNext(2);
+        Assertions.assertFalse(upstreamDisposed.get(), "Источник нужен, пока есть подписчики");
+        db.dispose();
+        Assertions.assertTrue(upstreamDisposed.get(), "После последнего подписчика источник отключается");
+
+        // Новый подписчик снова подключает источник
+        Recorder<Integer> c = new Recorder<>();
+        shared.subscribe(c);
+        events.onNext(3);
+
+        Assertions.assertEquals(2, runs.get());
+        Assertions.assertEquals(Arrays.asList(1), a.events);
+        Assertions.assertEquals(Arrays.asList(1, 2), b.events);
+        Assertions.assertEquals(Arrays.asList(3), c.events);
+    }
+
+    @Test
+    void testShareSynchronousSourceResubscribes() {
+        AtomicInteger runs = new AtomicInteger();
+        Observable<Integer> shared = counted(runs, 1, 2).share();
+        Recorder<Integer> first = new Recorder<>();
+        shared.subscribe(first);
+        Recorder<Integer> second = new Recorder<>();
+        shared.subscribe(second);
+        Assertions.assertEquals(Arrays.asList(1, 2, "complete"), first.events);
+        Assertions.assertEquals(Arrays.asList(1, 2, "complete"), second.events);
+        Assertions.assertEquals(2, runs.get());
+    }
+
+    @Test
+    void testShareSubscribeRacesLastDispose() throws InterruptedException {
+        // Бесконечный асинхронный источник: отдельный поток выдаёт числа, пока его не отменят
+        Observable<Integer> shared = Observable.<Integer>create(emitter -> {
+            AtomicBoolean stopped = new AtomicBoolean();
+            Thread t = new Thread(() -> {
+                int i = 0;
+                while (!stopped.get()) {
+                    emitter.onNext(i++);
+                    Thread.onSpinWait();
+                }
+            });
+            t.setDaemon(true);
+            t.start();
+            // Отмена небыстрая (как закрытие соединения) — это расширяет окно гонки
+            return () -> {
+                stopped.set(true);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            };
+        }).share();
+
+        for (int round = 0; round < 300; round++) {
+            Disposable last = shared.subscribe(new Recorder<>());
+            CountDownLatch start = new CountDownLatch(1);
+            Thread disposer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                last.dispose();
+            });
+            disposer.start();
+
+            CountDownLatch received = new CountDownLatch(1);
+            start.countDown();
+            Disposable next = shared.subscribe(new Observer<Integer>() {
+                @Override public void onNext(Integer item) {
+                    received.countDown();
+                }
+                @Override public void onError(Throwable t) {}
+                @Override public void onComplete() {}
+            });
+            disposer.join();
+            // Как бы ни легли отписка последнего и новая подписка, новый подписчик получает элементы
+            Assertions.assertTrue(received.await(2, TimeUnit.SECONDS), "Подписчик остался в отключённом подключении, раунд " + round);
+            next.dispose();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.rxjava.alt.tests;
+
+import com.rxjava.alt.core.Observable;
+import com.rxjava.alt.core.Observer;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Общие источники и ожидание результата для тестов пакета
+final class TestUtil {
+
+    private TestUtil() {
+    }
+
+    // Синхронный источник 0, 1, ..., count - 1
+    static Observable<Integer> range(int count) {
+        return Observable.create(emitter -> {
+            for (int i = 0; i < count; i++) {
+                emitter.onNext(i);
+            }
+            emitter.onComplete();
+            return () -> {};
+        });
+    }
+
+    // Подписывается, ждёт завершения до 5 секунд и возвращает все элементы; ошибка валит тест
+    static <T> List<T> await(Observable<T> source) throws InterruptedException {
+        List<T> result = Collections.synchronizedList(new ArrayList<>());
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        source.subscribe(new Observer<T>() {
+            @Override public void onNext(T item) {
+                result.add(item);
+            }
+            @Override public void onError(Throwable t) {
+                error.set(t);
+                latch.countDown();
+            }
+            @Override public void onComplete() {
+                latch.countDown();
+            }
+        });
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS), "Поток не завершился вовремя");
+        Assertions.assertNull(error.get(), "Неожиданная ошибка");
+        return result;
+    }
+}